@@ -13,6 +13,9 @@ dependencies {
     compile(project(":compiler:frontend"))
     compile(projectTests(":compiler:tests-common"))
     compile(project(":compiler:cli"))
+    compileOnly(project(":kotlinx-metadata"))
+    compileOnly(project(":kotlinx-metadata-jvm"))
+    runtimeOnly(project(":kotlinx-metadata-jvm"))
     compile(intellijCoreDep()) { includeJars("intellij-core") }
     compile(jpsStandalone()) { includeJars("jps-model") }
     compile(intellijPluginDep("java"))
@@ -13,12 +13,14 @@ import com.intellij.psi.impl.PsiFileFactoryImpl
 import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.testFramework.LightVirtualFile
 import org.jetbrains.kotlin.ObsoleteTestInfrastructure
+import org.jetbrains.kotlin.analyzer.AnalysisResult
 import org.jetbrains.kotlin.asJava.finder.JavaElementFinder
 import org.jetbrains.kotlin.builtins.jvm.JvmBuiltIns
 import org.jetbrains.kotlin.cli.common.CLIConfigurationKeys
 import org.jetbrains.kotlin.cli.common.messages.MessageCollector
 import org.jetbrains.kotlin.cli.jvm.compiler.*
 import org.jetbrains.kotlin.cli.jvm.config.addJvmClasspathRoot
+import org.jetbrains.kotlin.cli.jvm.config.addJvmClasspathRoots
 import org.jetbrains.kotlin.config.*
 import org.jetbrains.kotlin.context.SimpleGlobalContext
 import org.jetbrains.kotlin.context.withModule
@@ -34,6 +36,7 @@ import org.jetbrains.kotlin.fir.resolve.transformers.FirTotalResolveProcessor
 import org.jetbrains.kotlin.idea.KotlinLanguage
 import org.jetbrains.kotlin.name.Name
 import org.jetbrains.kotlin.psi.KtFile
+import org.jetbrains.kotlin.resolve.BindingTrace
 import org.jetbrains.kotlin.storage.ExceptionTracker
 import org.jetbrains.kotlin.storage.LockBasedStorageManager
 import org.jetbrains.kotlin.storage.StorageManager
@@ -56,7 +59,7 @@ private fun createFile(shortName: String, text: String, project: Project): KtFil
 }
 
 private val JDK_PATH = File("${System.getProperty("java.home")!!}/lib/rt.jar")
-private val RUNTIME_JAR = File(System.getProperty("kotlin.runtime.path") ?: "dist/kotlinc/lib/kotlin-runtime.jar")
+internal val RUNTIME_JAR = File(System.getProperty("kotlin.runtime.path") ?: "dist/kotlinc/lib/kotlin-runtime.jar")
 
 private val LANGUAGE_FEATURE_SETTINGS =
     LanguageVersionSettingsImpl(
@@ -64,7 +67,7 @@ private val LANGUAGE_FEATURE_SETTINGS =
         specificFeatures = mapOf(LanguageFeature.NewInference to LanguageFeature.State.ENABLED)
     )
 
-private fun newConfiguration(useNewInference: Boolean): CompilerConfiguration {
+private fun newConfiguration(useNewInference: Boolean, analysisFlags: Map<AnalysisFlag<*>, Any?>): CompilerConfiguration {
     val configuration = CompilerConfiguration()
     configuration.put(CommonConfigurationKeys.MODULE_NAME, "benchmark")
     configuration.put(CLIConfigurationKeys.INTELLIJ_PLUGIN_ROOT, "../compiler/cli/cli-common/resources")
@@ -75,6 +78,7 @@ private fun newConfiguration(useNewInference: Boolean): CompilerConfiguration {
     val newInferenceState = if (useNewInference) LanguageFeature.State.ENABLED else LanguageFeature.State.DISABLED
     configuration.languageVersionSettings = LanguageVersionSettingsImpl(
         LanguageVersion.KOTLIN_1_3, ApiVersion.KOTLIN_1_3,
+        analysisFlags = analysisFlags,
         specificFeatures = mapOf(
             LanguageFeature.NewInference to newInferenceState
         )
@@ -94,12 +98,16 @@ abstract class AbstractSimpleFileBenchmark {
 
     protected open val useNewInference get() = isIR
 
+    protected open val analysisFlags: Map<AnalysisFlag<*>, Any?> get() = emptyMap()
+
+    protected open fun additionalClasspath(): List<File> = emptyList()
+
     @Setup(Level.Trial)
     fun setUp() {
         if (isIR && !useNewInference) error("Invalid configuration")
         env = KotlinCoreEnvironment.createForTests(
             myDisposable,
-            newConfiguration(useNewInference),
+            newConfiguration(useNewInference, analysisFlags).apply { addJvmClasspathRoots(additionalClasspath()) },
             EnvironmentConfigFiles.JVM_CONFIG_FILES
         )
 
@@ -123,6 +131,14 @@ abstract class AbstractSimpleFileBenchmark {
     }
 
     private fun analyzeGreenFileFrontend(bh: Blackhole) {
+        val result = analyzeFileFrontend(NoScopeRecordCliBindingTrace())
+
+        assert(result.bindingContext.diagnostics.none { it.severity == Severity.ERROR })
+
+        bh.consume(result.shouldGenerateCode)
+    }
+
+    protected fun analyzeFileFrontend(trace: BindingTrace): AnalysisResult {
         val tracker = ExceptionTracker()
         val storageManager: StorageManager =
             LockBasedStorageManager.createWithExceptionHandling("benchmarks", tracker)
@@ -135,17 +151,13 @@ abstract class AbstractSimpleFileBenchmark {
             )
         val moduleContext = context.withProject(env.project).withModule(module)
 
-        val result = TopDownAnalyzerFacadeForJVM.analyzeFilesWithJavaIntegration(
+        return TopDownAnalyzerFacadeForJVM.analyzeFilesWithJavaIntegration(
             moduleContext.project,
             listOf(file),
-            NoScopeRecordCliBindingTrace(),
+            trace,
             env.configuration,
             { scope -> JvmPackagePartProvider(LANGUAGE_FEATURE_SETTINGS, scope) }
         )
-
-        assert(result.bindingContext.diagnostics.none { it.severity == Severity.ERROR })
-
-        bh.consume(result.shouldGenerateCode)
     }
 
     @OptIn(ObsoleteTestInfrastructure::class)
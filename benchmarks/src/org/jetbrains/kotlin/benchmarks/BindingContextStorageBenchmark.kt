@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import org.jetbrains.kotlin.cli.jvm.compiler.CliBindingTrace
+import org.jetbrains.kotlin.resolve.BindingContext
+import org.jetbrains.kotlin.resolve.BindingTraceContext
+import org.jetbrains.kotlin.util.slicedMap.ColumnarSlicedMap
+import org.jetbrains.kotlin.util.slicedMap.SlicedMapImpl
+import org.jetbrains.kotlin.util.slicedMap.WritableSlice
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Replays all records made to the binding trace during analysis of a file into [SlicedMapImpl] or [ColumnarSlicedMap]
+ * and reads them back.
+ *
+ * Run with `-prof gc` to compare the allocated memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+open class BindingContextStorageBenchmark : AbstractSimpleFileBenchmark() {
+    private class Record(val slice: WritableSlice<Any?, Any?>, val key: Any?, val value: Any?)
+
+    @Param("100", "1000")
+    private var size: Int = 0
+
+    @Param("false", "true")
+    private var columnar: Boolean = false
+
+    private val records = ArrayList<Record>()
+
+    @Setup(Level.Trial)
+    fun recordBindings() {
+        records.clear()
+        analyzeFileFrontend(object : CliBindingTrace() {
+            override fun <K, V> record(slice: WritableSlice<K, V>, key: K, value: V) {
+                // Same as in the compiler, see NoScopeRecordCliBindingTrace
+                if (slice == BindingContext.LEXICAL_SCOPE || slice == BindingContext.DATA_FLOW_INFO_BEFORE) return
+
+                @Suppress("UNCHECKED_CAST")
+                records.add(Record(slice as WritableSlice<Any?, Any?>, key, value))
+                super.record(slice, key, value)
+            }
+        })
+    }
+
+    @Benchmark
+    fun replay(bh: Blackhole) {
+        val map = if (columnar) ColumnarSlicedMap(true, BindingTraceContext.COLUMN_SLICES) else SlicedMapImpl(true)
+        for (record in records) {
+            map.put(record.slice, record.key, record.value)
+        }
+        for (record in records) {
+            bh.consume(map.get(record.slice, record.key))
+        }
+    }
+
+    override fun buildText(): String =
+        (1..size).joinToString("\n") { i ->
+            """
+            |data class Item$i(val id: Int, val name: String, val tags: List<String>) {
+            |    val title: String get() = name.toUpperCase() + id
+            |
+            |    fun matches(query: String): Boolean =
+            |        tags.any { it.startsWith(query) } || name.contains(query, ignoreCase = true)
+            |}
+            |
+            |fun process$i(items: List<Item$i>, query: String): Map<Int, String> {
+            |    val result = HashMap<Int, String>()
+            |    for (item in items) {
+            |        if (!item.matches(query)) continue
+            |        val value = when {
+            |            item.tags.isEmpty() -> item.title
+            |            item.id % 2 == 0 -> item.tags.joinToString(", ") { it.trim() }
+            |            else -> item.name.substring(0, minOf(3, item.name.length))
+            |        }
+            |        result[item.id] = value
+            |    }
+            |    return result.filterValues { it.isNotEmpty() }
+            |}
+            """.trimMargin()
+        }
+}
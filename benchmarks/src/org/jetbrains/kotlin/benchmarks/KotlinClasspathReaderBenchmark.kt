@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import kotlinx.metadata.jvm.KotlinClassHeader
+import kotlinx.metadata.jvm.KotlinClassMetadata
+import kotlinx.metadata.jvm.KotlinClasspathReader
+import org.jetbrains.kotlin.resolve.BindingContext
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor
+import org.jetbrains.org.objectweb.asm.ClassReader
+import org.jetbrains.org.objectweb.asm.ClassVisitor
+import org.jetbrains.org.objectweb.asm.Opcodes.API_VERSION
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.io.File
+import java.util.concurrent.TimeUnit
+import java.util.zip.ZipFile
+
+/**
+ * Reads Kotlin metadata of all class files in the jar (or directory) with the compiler frontend, several thousand Kotlin classes,
+ * one class at a time with ASM and [KotlinClassMetadata.read], and in bulk with [KotlinClasspathReader] on one and on all threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+open class KotlinClasspathReaderBenchmark {
+    private lateinit var root: File
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        root = File(BindingContext::class.java.protectionDomain.codeSource.location.toURI())
+    }
+
+    @Benchmark
+    fun readWithAsm(bh: Blackhole) {
+        forEachClassFile { bytes ->
+            readHeaderWithAsm(bytes)?.let { bh.consume(KotlinClassMetadata.read(it)) }
+        }
+    }
+
+    @Benchmark
+    fun readWithClasspathReaderSequentially(bh: Blackhole) {
+        for (classFile in KotlinClasspathReader(parallelism = 1).read(listOf(root))) {
+            bh.consume(classFile.metadata)
+        }
+    }
+
+    @Benchmark
+    fun readWithClasspathReaderInParallel(bh: Blackhole) {
+        for (classFile in KotlinClasspathReader().read(listOf(root))) {
+            bh.consume(classFile.metadata)
+        }
+    }
+
+    private inline fun forEachClassFile(block: (ByteArray) -> Unit) {
+        if (root.isDirectory) {
+            root.walk().filter { it.isFile && it.name.endsWith(".class") && !it.toRelativeString(root).startsWith("META-INF") }
+                .forEach { block(it.readBytes()) }
+        } else {
+            ZipFile(root).use { zip ->
+                for (entry in zip.entries()) {
+                    if (!entry.name.endsWith(".class") || entry.name.startsWith("META-INF/")) continue
+                    block(zip.getInputStream(entry).use { it.readBytes() })
+                }
+            }
+        }
+    }
+
+    private fun readHeaderWithAsm(bytes: ByteArray): KotlinClassHeader? {
+        var header: KotlinClassHeader? = null
+        ClassReader(bytes).accept(object : ClassVisitor(API_VERSION) {
+            override fun visitAnnotation(descriptor: String, visible: Boolean): AnnotationVisitor? {
+                if (descriptor != "Lkotlin/Metadata;") return null
+                return MetadataVisitor { header = it }
+            }
+        }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
+        return header
+    }
+
+    private class MetadataVisitor(private val onEnd: (KotlinClassHeader) -> Unit) : AnnotationVisitor(API_VERSION) {
+        private val values = HashMap<String, Any>()
+
+        override fun visit(name: String, value: Any) {
+            values[name] = value
+        }
+
+        override fun visitArray(name: String): AnnotationVisitor = object : AnnotationVisitor(API_VERSION) {
+            private val elements = ArrayList<Any>()
+
+            override fun visit(name: String?, value: Any) {
+                elements.add(value)
+            }
+
+            override fun visitEnd() {
+                values[name] = elements
+            }
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        override fun visitEnd() {
+            onEnd(
+                KotlinClassHeader(
+                    values["k"] as Int?,
+                    // ASM visits arrays of primitives as a single value
+                    values["mv"] as IntArray?,
+                    (values["d1"] as List<String>?)?.toTypedArray(),
+                    (values["d2"] as List<String>?)?.toTypedArray(),
+                    values["xs"] as String?,
+                    values["pn"] as String?,
+                    values["xi"] as Int?
+                )
+            )
+        }
+    }
+}
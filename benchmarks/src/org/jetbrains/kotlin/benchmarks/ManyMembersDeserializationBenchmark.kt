@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import org.jetbrains.kotlin.cli.common.ExitCode
+import org.jetbrains.kotlin.cli.jvm.K2JVMCompiler
+import org.jetbrains.kotlin.config.AnalysisFlag
+import org.jetbrains.kotlin.config.AnalysisFlags
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+/**
+ * Resolves calls to a few members of a library class and package with [size] functions and properties each (think of generated
+ * protobuf or Android R classes), with the members of binary classes parsed eagerly or looked up by name with [lazyMembers].
+ * Only meaningful with `isIR=false`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+open class ManyMembersDeserializationBenchmark : AbstractSimpleFileBenchmark() {
+    @Param("1000", "10000")
+    private var size: Int = 0
+
+    @Param("false", "true")
+    private var lazyMembers: Boolean = false
+
+    override val analysisFlags: Map<AnalysisFlag<*>, Any?>
+        get() = mapOf(AnalysisFlags.lazyMetadataMembers to lazyMembers)
+
+    override fun additionalClasspath(): List<File> {
+        val directory = Files.createTempDirectory("manyMembers").toFile().apply { deleteOnExit() }
+        val source = File(directory, "ManyMembers.kt").apply { writeText(buildLibraryText()) }
+        val output = File(directory, "classes")
+
+        val exitCode = K2JVMCompiler().exec(
+            System.err, "-d", output.path, "-classpath", RUNTIME_JAR.path, "-no-stdlib", "-no-reflect", source.path
+        )
+        check(exitCode == ExitCode.OK) { "Failed to compile the library: $exitCode" }
+        return listOf(output)
+    }
+
+    @Benchmark
+    fun analyze(bh: Blackhole) {
+        analyzeGreenFile(bh)
+    }
+
+    private fun buildLibraryText(): String = buildString {
+        appendLine("package lib")
+        appendLine("class ManyMembers {")
+        for (i in 1..size) {
+            appendLine("    fun function$i(x: Int): Int = x + $i")
+            appendLine("    val property$i: String get() = \"$i\"")
+        }
+        appendLine("}")
+        for (i in 1..size) {
+            appendLine("fun topLevelFunction$i(x: Int): Int = x - $i")
+        }
+    }
+
+    override fun buildText(): String {
+        val i = size / 2
+        return """
+            |import lib.*
+            |
+            |fun test(members: ManyMembers): Int =
+            |    members.function$i(1) + members.property$i.length + topLevelFunction$i(2)
+            """.trimMargin()
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import org.jetbrains.kotlin.cli.jvm.compiler.NoScopeRecordCliBindingTrace
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Analyzes a deep class hierarchy where every class overrides some of [overloads] overloads of the same function, so
+ * overrides are matched in large groups of members with the same name. Only meaningful with `isIR=false`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+open class OverloadedMembersHierarchyBenchmark : AbstractSimpleFileBenchmark() {
+    @Param("50")
+    private var depth: Int = 0
+
+    @Param("10", "100")
+    private var overloads: Int = 0
+
+    @Benchmark
+    fun analyze(bh: Blackhole) {
+        bh.consume(analyzeFileFrontend(NoScopeRecordCliBindingTrace()).bindingContext)
+    }
+
+    override fun buildText(): String = buildString {
+        for (i in 0 until overloads) {
+            appendLine("class P$i")
+        }
+        appendLine("open class C0 {")
+        for (i in 0 until overloads) {
+            appendLine("    open fun f(p: P$i, x: Int): String = \"$i\"")
+        }
+        appendLine("}")
+        for (level in 1 until depth) {
+            appendLine("open class C$level : C${level - 1}() {")
+            for (i in 0 until overloads step 3) {
+                val overload = (i + level) % overloads
+                appendLine("    override fun f(p: P$overload, x: Int): String = \"$level\"")
+            }
+            appendLine("}")
+        }
+        appendLine("fun use(c: C${depth - 1}) = c.f(P0(), 1)")
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import org.jetbrains.kotlin.cli.jvm.compiler.NoScopeRecordCliBindingTrace
+import org.jetbrains.kotlin.config.AnalysisFlag
+import org.jetbrains.kotlin.config.AnalysisFlags
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Analyzes a file with [size] independent functions and properties with the old frontend, resolving their bodies
+ * on [threads] threads. Only meaningful with `isIR=false`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+open class ParallelBodyResolutionBenchmark : AbstractSimpleFileBenchmark() {
+    @Param("1000")
+    private var size: Int = 0
+
+    @Param("1", "2", "4", "8")
+    private var threads: Int = 1
+
+    override val analysisFlags: Map<AnalysisFlag<*>, Any?>
+        get() = mapOf(AnalysisFlags.parallelBodyResolutionThreads to threads)
+
+    @Benchmark
+    fun analyze(bh: Blackhole) {
+        bh.consume(analyzeFileFrontend(NoScopeRecordCliBindingTrace()).bindingContext)
+    }
+
+    override fun buildText(): String =
+        (1..size).joinToString("\n") { i ->
+            """
+            |val table$i: Map<String, List<Int>> = (0 until 10).associate { "k${'$'}it" to List(it) { j -> j * $i } }
+            |
+            |fun compute$i(values: List<Int>, factor: Int): Map<Boolean, List<String>> {
+            |    val filtered = values.filter { it % 3 != 0 }.map { it * factor + $i }
+            |    val total = filtered.fold(0L) { acc, v -> acc + v }
+            |    return filtered
+            |        .sortedByDescending { it }
+            |        .map { v -> if (v > total / 2) "big${'$'}v" else "small${'$'}v" }
+            |        .groupBy { it.startsWith("big") }
+            |}
+            """.trimMargin()
+        }
+}
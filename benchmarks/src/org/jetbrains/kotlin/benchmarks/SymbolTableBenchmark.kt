@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.benchmarks
+
+import org.jetbrains.kotlin.descriptors.ClassDescriptor
+import org.jetbrains.kotlin.descriptors.DeclarationDescriptor
+import org.jetbrains.kotlin.ir.declarations.impl.IrFactoryImpl
+import org.jetbrains.kotlin.ir.util.IdSignature
+import org.jetbrains.kotlin.ir.util.IdSignatureComposer
+import org.jetbrains.kotlin.ir.util.SymbolTable
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+
+/**
+ * References functions by signature from several threads, as it is done when several klibs are deserialized in parallel.
+ * Most of the references are to the functions which are already in the symbol table.
+ *
+ * [referenceUnderLock] emulates the previous implementation where every lookup took the symbol table lock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+open class SymbolTableBenchmark {
+    @Param("1000", "100000")
+    private var size: Int = 0
+
+    private lateinit var symbolTable: SymbolTable
+    private lateinit var signatures: Array<IdSignature>
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        symbolTable = SymbolTable(NoSignatures, IrFactoryImpl)
+        signatures = Array(size) { IdSignature.PublicSignature("benchmark.p${it % 100}", "f$it", it.toLong(), 0) }
+        for (signature in signatures) {
+            symbolTable.referenceSimpleFunctionFromLinker(signature)
+        }
+    }
+
+    @Benchmark
+    fun reference(bh: Blackhole) {
+        val signature = signatures[ThreadLocalRandom.current().nextInt(size)]
+        bh.consume(symbolTable.referenceSimpleFunctionFromLinker(signature))
+    }
+
+    @Benchmark
+    fun referenceUnderLock(bh: Blackhole) {
+        val signature = signatures[ThreadLocalRandom.current().nextInt(size)]
+        synchronized(symbolTable.lock) {
+            bh.consume(symbolTable.referenceSimpleFunctionFromLinker(signature))
+        }
+    }
+
+    private object NoSignatures : IdSignatureComposer {
+        override fun composeSignature(descriptor: DeclarationDescriptor): IdSignature? = null
+        override fun composeEnumEntrySignature(descriptor: ClassDescriptor): IdSignature? = null
+    }
+}
@@ -18,6 +18,7 @@ enum class BuildAttributeKind : Serializable {
 enum class BuildAttribute(val kind: BuildAttributeKind) : Serializable {
     NO_BUILD_HISTORY(BuildAttributeKind.REBUILD_REASON),
     CACHE_CORRUPTION(BuildAttributeKind.REBUILD_REASON),
+    CACHE_STORAGE_FORMAT_CHANGED(BuildAttributeKind.REBUILD_REASON),
     UNKNOWN_CHANGES_IN_GRADLE_INPUTS(BuildAttributeKind.REBUILD_REASON),
     JAVA_CHANGE_UNTRACKED_FILE_IS_REMOVED(BuildAttributeKind.REBUILD_REASON),
     JAVA_CHANGE_UNEXPECTED_PSI(BuildAttributeKind.REBUILD_REASON),
@@ -27,6 +28,7 @@ enum class BuildAttribute(val kind: BuildAttributeKind) : Serializable {
     DEP_CHANGE_HISTORY_CANNOT_BE_READ(BuildAttributeKind.REBUILD_REASON),
     DEP_CHANGE_HISTORY_NO_KNOWN_BUILDS(BuildAttributeKind.REBUILD_REASON),
     DEP_CHANGE_NON_INCREMENTAL_BUILD_IN_DEP(BuildAttributeKind.REBUILD_REASON),
+    DEP_CHANGE_CLASSPATH_SNAPSHOT_IS_NOT_FOUND(BuildAttributeKind.REBUILD_REASON),
     IN_PROCESS_EXECUTION(BuildAttributeKind.REBUILD_REASON),
     OUT_OF_PROCESS_EXECUTION(BuildAttributeKind.REBUILD_REASON),
     IC_IS_NOT_ENABLED(BuildAttributeKind.REBUILD_REASON);
@@ -5,10 +5,15 @@
 
 package org.jetbrains.kotlin.build.report.metrics
 
+import java.lang.management.ManagementFactory
+import java.util.concurrent.TimeUnit
+
 interface BuildMetricsReporter {
     fun startMeasure(metric: BuildTime, startNs: Long)
     fun endMeasure(metric: BuildTime, endNs: Long)
 
+    fun addMetric(metric: BuildPerformanceMetric, value: Long)
+
     fun addAttribute(attribute: BuildAttribute)
 
     fun getMetrics(): BuildMetrics
@@ -25,4 +30,23 @@ inline fun <T> BuildMetricsReporter.measure(metric: BuildTime, fn: () -> T): T {
         val end = System.nanoTime()
         endMeasure(metric, end)
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Reports the number and the time of garbage collections that happened while [fn] was running.
+ * Collections are counted for the whole process, so they include collections caused by other work running at the same time.
+ */
+inline fun <T> BuildMetricsReporter.measureGc(fn: () -> T): T {
+    val garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans()
+    val startCount = garbageCollectors.map { it.collectionCount.coerceAtLeast(0) }.sum()
+    val startTimeMs = garbageCollectors.map { it.collectionTime.coerceAtLeast(0) }.sum()
+
+    try {
+        return fn()
+    } finally {
+        val endCount = garbageCollectors.map { it.collectionCount.coerceAtLeast(0) }.sum()
+        val endTimeMs = garbageCollectors.map { it.collectionTime.coerceAtLeast(0) }.sum()
+        addMetric(BuildPerformanceMetric.GC_COUNT, endCount - startCount)
+        addMetric(BuildPerformanceMetric.GC_TIME, TimeUnit.MILLISECONDS.toNanos(endTimeMs - startTimeMs))
+    }
+}
@@ -13,6 +13,7 @@ class BuildMetricsReporterImpl : BuildMetricsReporter {
             BuildTime::class.java
         )
     private val myBuildTimes = BuildTimes()
+    private val myBuildMetrics = BuildPerformanceMetrics()
     private val myBuildAttributes = BuildAttributes()
 
     override fun startMeasure(metric: BuildTime, startNs: Long) {
@@ -28,6 +29,10 @@ class BuildMetricsReporterImpl : BuildMetricsReporter {
         myBuildTimes.add(metric, durationNs)
     }
 
+    override fun addMetric(metric: BuildPerformanceMetric, value: Long) {
+        myBuildMetrics.add(metric, value)
+    }
+
     override fun addAttribute(attribute: BuildAttribute) {
         myBuildAttributes.add(attribute)
     }
@@ -35,6 +40,7 @@ class BuildMetricsReporterImpl : BuildMetricsReporter {
     override fun getMetrics(): BuildMetrics =
         BuildMetrics(
             buildTimes = myBuildTimes,
+            buildPerformanceMetrics = myBuildMetrics,
             buildAttributes = myBuildAttributes
         )
 
@@ -43,5 +49,6 @@ class BuildMetricsReporterImpl : BuildMetricsReporter {
 
         myBuildAttributes.addAll(metrics.buildAttributes)
         myBuildTimes.addAll(metrics.buildTimes)
+        myBuildMetrics.addAll(metrics.buildPerformanceMetrics)
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.build.report.metrics
+
+import java.io.Serializable
+
+enum class BuildPerformanceMetric(val type: ValueType) : Serializable {
+    COMPILE_ITERATION(ValueType.NUMBER),
+    DIRTY_SOURCE_FILES(ValueType.NUMBER),
+    LOOKUP_CACHE_SIZE(ValueType.BYTES),
+    GC_COUNT(ValueType.NUMBER),
+    GC_TIME(ValueType.NANOSECONDS);
+
+    enum class ValueType {
+        NUMBER,
+        BYTES,
+        NANOSECONDS
+    }
+
+    companion object {
+        const val serialVersionUID = 0L
+    }
+}
@@ -19,11 +19,13 @@ enum class BuildTime(val parent: BuildTime? = null) : Serializable {
             NON_INCREMENTAL_COMPILATION_IN_PROCESS(RUN_COMPILER),
             NON_INCREMENTAL_COMPILATION_OUT_OF_PROCESS(RUN_COMPILER),
             NON_INCREMENTAL_COMPILATION_DAEMON(RUN_COMPILER),
+            DAEMON_QUEUE_WAIT(RUN_COMPILER),
             INCREMENTAL_COMPILATION(RUN_COMPILER),
                 IC_CALCULATE_INITIAL_DIRTY_SET(INCREMENTAL_COMPILATION),
                     IC_ANALYZE_CHANGES_IN_DEPENDENCIES(IC_CALCULATE_INITIAL_DIRTY_SET),
                         IC_FIND_HISTORY_FILES(IC_ANALYZE_CHANGES_IN_DEPENDENCIES),
                         IC_ANALYZE_HISTORY_FILES(IC_ANALYZE_CHANGES_IN_DEPENDENCIES),
+                        IC_SNAPSHOT_CLASSPATH(IC_ANALYZE_CHANGES_IN_DEPENDENCIES),
                     IC_ANALYZE_CHANGES_IN_JAVA_SOURCES(IC_CALCULATE_INITIAL_DIRTY_SET),
                     IC_ANALYZE_CHANGES_IN_ANDROID_LAYOUTS(IC_CALCULATE_INITIAL_DIRTY_SET),
                     IC_DETECT_REMOVED_CLASSES(IC_CALCULATE_INITIAL_DIRTY_SET),
@@ -31,7 +33,9 @@ enum class BuildTime(val parent: BuildTime? = null) : Serializable {
                 IC_UPDATE_CACHES(INCREMENTAL_COMPILATION),
                 INCREMENTAL_ITERATION(INCREMENTAL_COMPILATION),
                 NON_INCREMENTAL_ITERATION(INCREMENTAL_COMPILATION),
-                IC_WRITE_HISTORY_FILE(INCREMENTAL_COMPILATION);
+                IC_WRITE_HISTORY_FILE(INCREMENTAL_COMPILATION),
+                IC_UPDATE_CLASSPATH_SNAPSHOT(INCREMENTAL_COMPILATION),
+                IC_FLUSH_CACHES(INCREMENTAL_COMPILATION);
 
     companion object {
         const val serialVersionUID = 0L
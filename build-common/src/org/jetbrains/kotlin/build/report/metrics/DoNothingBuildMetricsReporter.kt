@@ -12,12 +12,16 @@ object DoNothingBuildMetricsReporter : BuildMetricsReporter {
     override fun endMeasure(metric: BuildTime, endNs: Long) {
     }
 
+    override fun addMetric(metric: BuildPerformanceMetric, value: Long) {
+    }
+
     override fun addAttribute(attribute: BuildAttribute) {
     }
 
     override fun getMetrics(): BuildMetrics =
         BuildMetrics(
             BuildTimes(),
+            BuildPerformanceMetrics(),
             BuildAttributes()
         )
 
@@ -32,7 +32,9 @@ abstract class BasicMap<K : Comparable<K>, V>(
     private val nonCachingStorage = System.getProperty("kotlin.jps.non.caching.storage")?.toBoolean() ?: false
 
     init {
-        storage = if (nonCachingStorage) {
+        storage = if (storageFile.extension == BasicMapsOwner.LOG_STRUCTURED_CACHE_EXTENSION) {
+            LogStructuredLazyStorage(storageFile, keyDescriptor, valueExternalizer)
+        } else if (nonCachingStorage) {
             NonCachingLazyStorage(storageFile, keyDescriptor, valueExternalizer)
         } else {
             CachingLazyStorage(storageFile, keyDescriptor, valueExternalizer)
@@ -25,10 +25,24 @@ open class BasicMapsOwner(val cachesDir: File) {
 
     companion object {
         val CACHE_EXTENSION = "tab"
+
+        /**
+         * Maps stored in files with this extension use [LogStructuredLazyStorage] instead of `PersistentHashMap`.
+         */
+        const val LOG_STRUCTURED_CACHE_EXTENSION = "log"
+
+        private val isLogStructuredStorage: Boolean =
+            System.getProperty("kotlin.incremental.log.structured.storage")?.toBoolean() ?: false
+
+        /**
+         * Identifies the storage of all maps in this process. Caches written with another storage look empty rather than broken,
+         * so build tools must include this value into the version of their caches and rebuild them when it changes.
+         */
+        val STORAGE_FORMAT_VERSION: Int = if (isLogStructuredStorage) 1 else 0
     }
 
     protected val String.storageFile: File
-        get() = File(cachesDir, this + "." + CACHE_EXTENSION)
+        get() = File(cachesDir, this + "." + if (isLogStructuredStorage) LOG_STRUCTURED_CACHE_EXTENSION else CACHE_EXTENSION)
 
     @Synchronized
     protected fun <K, V, M : BasicMap<K, V>> registerMap(map: M): M {
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.storage
+
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.KeyDescriptor
+import java.io.*
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.zip.CRC32
+
+/**
+ * Alternative to [CachingLazyStorage] that keeps the map in a single append-only log instead of [com.intellij.util.io.PersistentHashMap].
+ *
+ * The log is read sequentially and replayed into an in-memory hash table on the first access. Modifications are applied in memory and
+ * appended to the end of the log on [flush] and [close], so a build does sequential writes and a single `fsync`
+ * instead of many random small writes. This is much cheaper on slow (e.g. network) file systems.
+ *
+ * Every record is protected by a checksum. A damaged log is reported with [CorruptedStorageException],
+ * which makes incremental compilation rebuild its caches from scratch.
+ *
+ * The log is compacted on [close] when most of its records are outdated.
+ */
+class LogStructuredLazyStorage<K, V>(
+    private val storageFile: File,
+    private val keyDescriptor: KeyDescriptor<K>,
+    private val valueExternalizer: DataExternalizer<V>
+) : LazyStorage<K, V> {
+    private var entries: HashMap<StorageKey, ValueBuffer>? = null
+
+    private var pendingRecords = ByteArrayOutputStream()
+
+    // Size of the log on disk, without the pending records
+    private var logSize = 0L
+
+    private fun getEntries(): HashMap<StorageKey, ValueBuffer> {
+        entries?.let { return it }
+
+        val result = HashMap<StorageKey, ValueBuffer>()
+        if (storageFile.exists()) {
+            readLog(result)
+        }
+        entries = result
+        return result
+    }
+
+    override val keys: Collection<K>
+        @Synchronized
+        get() = getEntries().keys.map { it.key }
+
+    @Synchronized
+    override operator fun contains(key: K): Boolean =
+        StorageKey(key) in getEntries()
+
+    @Synchronized
+    override operator fun get(key: K): V? =
+        getEntries()[StorageKey(key)]?.let { valueExternalizer.read(DataInputStream(it.inputStream())) }
+
+    @Synchronized
+    override operator fun set(key: K, value: V) {
+        val valueBytes = serializeValue(value)
+        getEntries()[StorageKey(key)] = ValueBuffer(valueBytes)
+        writeRecord(PUT, key, valueBytes)
+    }
+
+    @Synchronized
+    override fun remove(key: K) {
+        if (getEntries().remove(StorageKey(key)) != null) {
+            writeRecord(REMOVE, key, EMPTY_VALUE)
+        }
+    }
+
+    @Synchronized
+    override fun append(key: K, value: V) {
+        val valueBytes = serializeValue(value)
+        getEntries().getOrPut(StorageKey(key)) { ValueBuffer(EMPTY_VALUE) }.write(valueBytes)
+        writeRecord(APPEND, key, valueBytes)
+    }
+
+    @Synchronized
+    override fun clean() {
+        entries = null
+        pendingRecords = ByteArrayOutputStream()
+        logSize = 0
+
+        if (storageFile.exists() && !storageFile.delete()) {
+            throw IOException("Could not delete internal storage: ${storageFile.absolutePath}")
+        }
+    }
+
+    @Synchronized
+    override fun flush(memoryCachesOnly: Boolean) {
+        // The only expensive part is fsync, so it is done once, when the caches are flushed at the end of the build
+        writePendingRecords(sync = !memoryCachesOnly)
+    }
+
+    @Synchronized
+    override fun close() {
+        try {
+            val entries = entries
+            if (entries != null && logSize + pendingRecords.size() > COMPACTION_THRESHOLD && isMostlyOutdated(entries)) {
+                compact(entries)
+            } else {
+                writePendingRecords(sync = true)
+            }
+        } finally {
+            entries = null
+            pendingRecords = ByteArrayOutputStream()
+            logSize = 0
+        }
+    }
+
+    private fun serializeValue(value: V): ByteArray =
+        ByteArrayOutputStream().also { valueExternalizer.save(DataOutputStream(it), value) }.toByteArray()
+
+    private fun serializeKey(key: K): ByteArray =
+        ByteArrayOutputStream().also { keyDescriptor.save(DataOutputStream(it), key) }.toByteArray()
+
+    private fun writeRecord(kind: Byte, key: K, value: ByteArray) {
+        writeRecord(DataOutputStream(pendingRecords), kind, serializeKey(key), value)
+    }
+
+    private fun writeRecord(output: DataOutputStream, kind: Byte, key: ByteArray, value: ByteArray) {
+        output.writeByte(kind.toInt())
+        output.writeInt(key.size)
+        output.write(key)
+        output.writeInt(value.size)
+        output.write(value)
+        output.writeInt(checksum(kind, key, value))
+    }
+
+    private fun writePendingRecords(sync: Boolean) {
+        if (pendingRecords.size() == 0) return
+
+        val isNewLog = !storageFile.exists() || storageFile.length() == 0L
+        if (isNewLog) {
+            storageFile.parentFile?.mkdirs()
+        }
+
+        FileOutputStream(storageFile, true).use { output ->
+            if (isNewLog) {
+                DataOutputStream(output).apply {
+                    writeInt(MAGIC)
+                    writeInt(VERSION)
+                }
+                logSize = HEADER_SIZE.toLong()
+            }
+            pendingRecords.writeTo(output)
+            if (sync) {
+                output.channel.force(false)
+            }
+        }
+
+        logSize += pendingRecords.size()
+        pendingRecords = ByteArrayOutputStream()
+    }
+
+    private fun isMostlyOutdated(entries: Map<StorageKey, ValueBuffer>): Boolean {
+        var liveSize = 0L
+        for ((key, value) in entries) {
+            liveSize += RECORD_OVERHEAD + serializeKey(key.key).size + value.size()
+        }
+        return liveSize * 2 < logSize + pendingRecords.size()
+    }
+
+    private fun compact(entries: Map<StorageKey, ValueBuffer>) {
+        val compactedFile = File(storageFile.parentFile, storageFile.name + ".compacted")
+        FileOutputStream(compactedFile).use { fileOutput ->
+            val output = DataOutputStream(BufferedOutputStream(fileOutput))
+            output.writeInt(MAGIC)
+            output.writeInt(VERSION)
+            for ((key, value) in entries) {
+                writeRecord(output, PUT, serializeKey(key.key), value.toByteArray())
+            }
+            output.flush()
+            fileOutput.channel.force(false)
+        }
+        Files.move(compactedFile.toPath(), storageFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+    }
+
+    private fun readLog(result: HashMap<StorageKey, ValueBuffer>) {
+        val size = storageFile.length()
+        logSize = size
+        if (size == 0L) return
+
+        DataInputStream(BufferedInputStream(FileInputStream(storageFile))).use { input ->
+            try {
+                if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                    throw CorruptedStorageException(storageFile, "unknown format")
+                }
+
+                var position = HEADER_SIZE.toLong()
+                while (position < size) {
+                    val kind = input.readByte()
+                    val keyBytes = input.readBytes(size - position)
+                    val valueBytes = input.readBytes(size - position)
+                    position += RECORD_OVERHEAD + keyBytes.size + valueBytes.size
+                    if (input.readInt() != checksum(kind, keyBytes, valueBytes)) {
+                        throw CorruptedStorageException(storageFile, "checksum mismatch at $position")
+                    }
+
+                    val key = StorageKey(keyDescriptor.read(DataInputStream(ByteArrayInputStream(keyBytes))))
+                    when (kind) {
+                        PUT -> result[key] = ValueBuffer(valueBytes)
+                        APPEND -> result.getOrPut(key) { ValueBuffer(EMPTY_VALUE) }.write(valueBytes)
+                        REMOVE -> result.remove(key)
+                        else -> throw CorruptedStorageException(storageFile, "unknown record kind $kind")
+                    }
+                }
+            } catch (e: EOFException) {
+                throw CorruptedStorageException(storageFile, "unexpected end of file")
+            }
+        }
+    }
+
+    // [remaining] bounds the length, so a damaged length doesn't make us allocate a huge array
+    private fun DataInputStream.readBytes(remaining: Long): ByteArray {
+        val length = readInt()
+        if (length < 0 || length > remaining) throw CorruptedStorageException(storageFile, "invalid record length $length")
+        return ByteArray(length).also { readFully(it) }
+    }
+
+    private fun checksum(kind: Byte, key: ByteArray, value: ByteArray): Int =
+        CRC32().also {
+            it.update(kind.toInt())
+            it.update(key)
+            it.update(value)
+        }.value.toInt()
+
+    /**
+     * Serialized value of a key. Appended values are added to the end of the buffer, which grows geometrically,
+     * so appending many values to a key (e.g. lookups of a symbol) takes linear time.
+     */
+    private class ValueBuffer(bytes: ByteArray) : ByteArrayOutputStream(0) {
+        init {
+            buf = bytes
+            count = bytes.size
+        }
+
+        fun inputStream(): InputStream = ByteArrayInputStream(buf, 0, count)
+    }
+
+    private inner class StorageKey(val key: K) {
+        override fun hashCode(): Int = keyDescriptor.getHashCode(key)
+
+        @Suppress("UNCHECKED_CAST")
+        override fun equals(other: Any?): Boolean =
+            other is LogStructuredLazyStorage<*, *>.StorageKey && keyDescriptor.isEqual(key, other.key as K)
+    }
+
+    private companion object {
+        const val MAGIC = 0x4b4c4f47 // "KLOG"
+        const val VERSION = 1
+        const val HEADER_SIZE = 8
+
+        // kind, key length, value length and checksum
+        const val RECORD_OVERHEAD = 13
+
+        const val COMPACTION_THRESHOLD = 1024 * 1024
+
+        const val PUT: Byte = 0
+        const val APPEND: Byte = 1
+        const val REMOVE: Byte = 2
+
+        val EMPTY_VALUE = ByteArray(0)
+    }
+}
+
+class CorruptedStorageException(storageFile: File, reason: String) :
+    IOException("Incremental cache ${storageFile.absolutePath} is corrupted: $reason")
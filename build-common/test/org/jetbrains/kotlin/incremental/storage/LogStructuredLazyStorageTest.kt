@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.storage
+
+import com.intellij.util.io.EnumeratorStringDescriptor
+import org.jetbrains.kotlin.TestWithWorkingDir
+import org.junit.Test
+import java.io.File
+import java.io.RandomAccessFile
+
+class LogStructuredLazyStorageTest : TestWithWorkingDir() {
+    private val storageFile: File
+        get() = workingDir.resolve("map.log")
+
+    private fun createStorage() =
+        LogStructuredLazyStorage(storageFile, EnumeratorStringDescriptor.INSTANCE, IntCollectionExternalizer)
+
+    @Test
+    fun testReopen() {
+        createStorage().apply {
+            set("a", setOf(1))
+            set("b", setOf(2))
+            append("a", setOf(3))
+            set("c", setOf(4))
+            remove("c")
+            set("b", setOf(5))
+            close()
+        }
+
+        createStorage().apply {
+            assertEquals(setOf("a", "b"), keys.toSet())
+            assertEquals(setOf(1, 3), get("a"))
+            assertEquals(setOf(5), get("b"))
+            assertFalse("c" in this)
+            close()
+        }
+    }
+
+    @Test
+    fun testFlush() {
+        val storage = createStorage()
+        storage.set("a", setOf(1))
+        storage.flush(memoryCachesOnly = false)
+        storage.append("a", setOf(2))
+        storage.flush(memoryCachesOnly = false)
+
+        assertEquals(setOf(1, 2), createStorage().get("a"))
+        storage.close()
+    }
+
+    @Test
+    fun testClean() {
+        createStorage().apply {
+            set("a", setOf(1))
+            close()
+        }
+
+        createStorage().apply {
+            clean()
+            assertFalse(storageFile.exists())
+            assertTrue(keys.isEmpty())
+            close()
+        }
+    }
+
+    @Test
+    fun testManyAppends() {
+        val storage = createStorage()
+        for (i in 0 until 10_000) {
+            storage.append("a", setOf(i))
+            storage.append("b", setOf(i % 10))
+        }
+        storage.set("c", setOf(1))
+        storage.append("c", setOf(2))
+
+        val expected = mapOf("a" to (0 until 10_000).toSet(), "b" to (0 until 10).toSet(), "c" to setOf(1, 2))
+        assertEquals(expected, storage.keys.associateWith { storage.get(it) })
+        storage.close()
+
+        createStorage().apply {
+            assertEquals(expected, keys.associateWith { get(it) })
+            close()
+        }
+    }
+
+    @Test
+    fun testMostlyOutdatedLogIsCompactedOnClose() {
+        val largeValue = (0 until 1000).toSet()
+        createStorage().apply {
+            // a megabyte of records, most of which are overwritten
+            repeat(300) {
+                set("a", largeValue + it)
+                append("b", setOf(it))
+            }
+            set("c", setOf(1))
+            remove("c")
+            flush(memoryCachesOnly = false)
+            assertTrue(storageFile.length() > 1024 * 1024)
+            close()
+        }
+
+        assertTrue(storageFile.length() < 10_000)
+        assertEquals(listOf(storageFile.name), workingDir.list()!!.toList())
+        createStorage().apply {
+            assertEquals(setOf("a", "b"), keys.toSet())
+            assertEquals(largeValue + 299, get("a"))
+            assertEquals((0 until 300).toSet(), get("b"))
+
+            // the compacted log is appended to as usual
+            append("b", setOf(300))
+            close()
+        }
+        assertEquals((0..300).toSet(), createStorage().get("b"))
+    }
+
+    @Test
+    fun testLiveLogIsNotCompacted() {
+        createStorage().apply {
+            repeat(300) { set("a$it", (0 until 1000).toSet()) }
+            close()
+        }
+        val size = storageFile.length()
+
+        createStorage().apply {
+            set("a0", setOf(1))
+            close()
+        }
+        // a single outdated record isn't worth rewriting the log
+        assertTrue(storageFile.length() > size)
+        assertEquals(setOf(1), createStorage().get("a0"))
+    }
+
+    @Test
+    fun testCorruptionIsDetected() {
+        createStorage().apply {
+            set("a", setOf(1))
+            set("b", setOf(2))
+            close()
+        }
+
+        RandomAccessFile(storageFile, "rw").use {
+            val position = it.length() - 6
+            it.seek(position)
+            val value = it.read()
+            it.seek(position)
+            it.write(value xor 0xff)
+        }
+
+        try {
+            createStorage().get("a")
+            fail("Corrupted storage is not detected")
+        } catch (e: CorruptedStorageException) {
+        }
+    }
+
+    @Test
+    fun testTruncationIsDetected() {
+        createStorage().apply {
+            set("a", setOf(1))
+            close()
+        }
+
+        RandomAccessFile(storageFile, "rw").use { it.setLength(it.length() - 2) }
+
+        try {
+            createStorage().keys
+            fail("Truncated storage is not detected")
+        } catch (e: CorruptedStorageException) {
+        }
+    }
+}
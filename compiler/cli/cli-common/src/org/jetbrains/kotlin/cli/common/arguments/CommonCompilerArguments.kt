@@ -194,6 +194,13 @@ abstract class CommonCompilerArguments : CommonToolArguments() {
     )
     var dumpPerf: String? by NullableStringFreezableVar(null)
 
+    @Argument(
+        value = "-Xdump-trace",
+        valueDescription = "<path>",
+        description = "Dump a trace of compiler phases, files and classes to the specified file in the Chrome trace event format"
+    )
+    var dumpTrace: String? by NullableStringFreezableVar(null)
+
     @Argument(
         value = "-Xmetadata-version",
         description = "Change metadata version of the generated binary files"
@@ -365,6 +372,15 @@ abstract class CommonCompilerArguments : CommonToolArguments() {
     )
     var extendedCompilerChecks: Boolean by FreezableVar(false)
 
+    @Argument(
+        value = "-Xparallel-body-resolution-threads",
+        description = "When using the old frontend, resolve function bodies and property initializers in N parallel threads.\n" +
+                "0 means use a thread per processor core.\n" +
+                "Bodies are resolved sequentially in incremental compilation.\n" +
+                "Default value is 1"
+    )
+    var parallelBodyResolutionThreads: String by FreezableVar("1")
+
     open fun configureAnalysisFlags(collector: MessageCollector): MutableMap<AnalysisFlag<*>, Any> {
         return HashMap<AnalysisFlag<*>, Any>().apply {
             put(AnalysisFlags.skipMetadataVersionCheck, skipMetadataVersionCheck)
@@ -384,6 +400,19 @@ abstract class CommonCompilerArguments : CommonToolArguments() {
                 "Unknown value for parameter -Xexplicit-api: '$explicitApi'. Value should be one of ${ExplicitApiMode.availableValues()}"
             )
             put(AnalysisFlags.extendedCompilerChecks, extendedCompilerChecks)
+            val bodyResolutionThreads = parallelBodyResolutionThreads.toIntOrNull()
+            if (bodyResolutionThreads == null || bodyResolutionThreads < 0) {
+                collector.report(
+                    CompilerMessageSeverity.ERROR,
+                    "Unknown value for parameter -Xparallel-body-resolution-threads: '$parallelBodyResolutionThreads'. " +
+                            "Value should be a non-negative number"
+                )
+            } else {
+                put(
+                    AnalysisFlags.parallelBodyResolutionThreads,
+                    if (bodyResolutionThreads == 0) Runtime.getRuntime().availableProcessors() else bodyResolutionThreads
+                )
+            }
         }
     }
 
@@ -226,6 +226,12 @@ class K2JVMCompilerArguments : CommonCompilerArguments() {
     )
     var suppressMissingBuiltinsError: Boolean by FreezableVar(false)
 
+    @Argument(
+        value = "-Xlazy-metadata-members",
+        description = "Parse functions and properties of library classes only when they are looked up by name"
+    )
+    var lazyMetadataMembers: Boolean by FreezableVar(false)
+
     @Argument(
         value = "-Xscript-resolver-environment",
         valueDescription = "<key=value[,]>",
@@ -503,6 +509,7 @@ default: `indy-with-constants` for JVM target 9 or greater, `inline` otherwise""
         result[JvmAnalysisFlags.inheritMultifileParts] = inheritMultifileParts
         result[JvmAnalysisFlags.sanitizeParentheses] = sanitizeParentheses
         result[JvmAnalysisFlags.suppressMissingBuiltinsError] = suppressMissingBuiltinsError
+        result[AnalysisFlags.lazyMetadataMembers] = lazyMetadataMembers
         result[JvmAnalysisFlags.enableJvmPreview] = enableJvmPreview
         result[AnalysisFlags.allowUnstableDependencies] = allowUnstableDependencies || useFir
         result[JvmAnalysisFlags.disableUltraLightClasses] = disableUltraLightClasses
@@ -38,6 +38,7 @@ import org.jetbrains.kotlin.progress.IncrementalNextRoundException
 import org.jetbrains.kotlin.progress.ProgressIndicatorAndCompilationCanceledStatus
 import org.jetbrains.kotlin.utils.KotlinPaths
 import org.jetbrains.kotlin.utils.PathUtil
+import org.jetbrains.kotlin.utils.TraceRecorder
 import java.io.File
 import java.io.PrintStream
 
@@ -62,6 +63,8 @@ abstract class CLICompiler<A : CommonCompilerArguments> : CLITool<A>() {
         if (arguments.reportPerf || arguments.dumpPerf != null) {
             performanceManager.enableCollectingPerformanceStatistics()
         }
+        // Recording may have been started around this compilation already, e.g. by the incremental compilation runner
+        val recordTrace = arguments.dumpTrace != null && TraceRecorder.start()
 
         val configuration = CompilerConfiguration()
 
@@ -101,6 +104,11 @@ abstract class CLICompiler<A : CommonCompilerArguments> : CLITool<A>() {
                     performanceManager.dumpPerformanceReport(File(arguments.dumpPerf!!))
                 }
 
+                if (recordTrace) {
+                    TraceRecorder.stop()
+                    TraceRecorder.dumpChromeTrace(File(arguments.dumpTrace!!))
+                }
+
                 return if (collector.hasErrors()) COMPILATION_ERROR else code
             } catch (e: CompilationCanceledException) {
                 collector.reportCompilationCancelled(e)
@@ -122,6 +130,9 @@ abstract class CLICompiler<A : CommonCompilerArguments> : CLITool<A>() {
             MessageCollectorUtil.reportException(collector, t)
             return INTERNAL_ERROR
         } finally {
+            if (recordTrace) {
+                TraceRecorder.stop()
+            }
             collector.flush()
         }
     }
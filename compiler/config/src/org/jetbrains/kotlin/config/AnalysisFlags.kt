@@ -53,4 +53,10 @@ object AnalysisFlags {
 
     @JvmStatic
     val extendedCompilerChecks by AnalysisFlag.Delegates.Boolean
+
+    @JvmStatic
+    val lazyMetadataMembers by AnalysisFlag.Delegates.Boolean
+
+    @JvmStatic
+    val parallelBodyResolutionThreads by AnalysisFlag.Delegates.NumberOfThreads
 }
@@ -68,7 +68,11 @@ class IncrementalCompilationOptions(
         val outputFiles: List<File>,
     val multiModuleICSettings: MultiModuleICSettings,
     val modulesInfo: IncrementalModuleInfo,
-    kotlinScriptExtensions: Array<String>? = null
+    kotlinScriptExtensions: Array<String>? = null,
+    /**
+     * Detect changes of the classpath by snapshots of its ABI instead of build history files
+     */
+    val useClasspathSnapshot: Boolean = false
 ) : CompilationOptions(
     compilerMode,
     targetPlatform,
@@ -89,7 +93,8 @@ class IncrementalCompilationOptions(
                "deletedFiles=$deletedFiles, " +
                "workingDir=$workingDir, " +
                "multiModuleICSettings=$multiModuleICSettings, " +
-               "usePreciseJavaTracking=$usePreciseJavaTracking" +
+               "usePreciseJavaTracking=$usePreciseJavaTracking, " +
+               "useClasspathSnapshot=$useClasspathSnapshot, " +
                "outputFiles=$outputFiles" +
                ")"
     }
@@ -37,6 +37,7 @@ const val COMPILE_DAEMON_DEFAULT_IDLE_TIMEOUT_S: Int = 7200 // 2 hours
 const val COMPILE_DAEMON_DEFAULT_UNUSED_TIMEOUT_S: Int = 60
 const val COMPILE_DAEMON_DEFAULT_SHUTDOWN_DELAY_MS: Long = 1000L // 1 sec
 const val COMPILE_DAEMON_MEMORY_THRESHOLD_INFINITE: Long = 0L
+const val COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED: Long = 0L
 const val COMPILE_DAEMON_FORCE_SHUTDOWN_DEFAULT_TIMEOUT_MS: Long = 10000L // 10 secs
 const val COMPILE_DAEMON_TIMEOUT_INFINITE_MS: Long = 0L
 const val COMPILE_DAEMON_IS_READY_MESSAGE = "Kotlin compile daemon is ready"
@@ -203,7 +204,8 @@ data class DaemonOptions(
         var shutdownDelayMilliseconds: Long = COMPILE_DAEMON_DEFAULT_SHUTDOWN_DELAY_MS,
         var forceShutdownTimeoutMilliseconds: Long = COMPILE_DAEMON_FORCE_SHUTDOWN_DEFAULT_TIMEOUT_MS,
         var verbose: Boolean = false,
-        var reportPerf: Boolean = false
+        var reportPerf: Boolean = false,
+        var compilationMemoryBudget: Long = COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED
 ) : OptionsGroup {
 
     override val mappers: List<PropMapper<*, *, *>>
@@ -215,7 +217,8 @@ data class DaemonOptions(
                        PropMapper(this, DaemonOptions::shutdownDelayMilliseconds, fromString = String::toLong, skipIf = { it == COMPILE_DAEMON_DEFAULT_SHUTDOWN_DELAY_MS }, mergeDelimiter = "="),
                        PropMapper(this, DaemonOptions::forceShutdownTimeoutMilliseconds, fromString = String::toLong, skipIf = { it == COMPILE_DAEMON_FORCE_SHUTDOWN_DEFAULT_TIMEOUT_MS }, mergeDelimiter = "="),
                        BoolPropMapper(this, DaemonOptions::verbose),
-                       BoolPropMapper(this, DaemonOptions::reportPerf))
+                       BoolPropMapper(this, DaemonOptions::reportPerf),
+                       PropMapper(this, DaemonOptions::compilationMemoryBudget, fromString = String::toLong, skipIf = { it == COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED }, mergeDelimiter = "="))
 }
 
 // TODO: consider implementing generic approach to it or may be replace getters with ones returning default if necessary
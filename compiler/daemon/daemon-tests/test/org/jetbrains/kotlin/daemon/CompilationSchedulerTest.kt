@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.daemon
+
+import junit.framework.TestCase
+import org.jetbrains.kotlin.daemon.common.COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+
+class CompilationSchedulerTest : TestCase() {
+    private val mb = 1024L * 1024L
+
+    fun testUnlimitedBudgetAdmitsAll() {
+        val scheduler = CompilationScheduler(COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED)
+        val tickets = (1..10).map { scheduler.acquire("m$it") }
+        assertTrue(scheduler.getInfo(), scheduler.getInfo().startsWith("compilations: 10 running"))
+        tickets.forEach(scheduler::release)
+    }
+
+    fun testCompilationOverBudgetWaits() {
+        val scheduler = CompilationScheduler(1000 * mb)
+        val first = scheduler.acquire("big")
+        scheduler.onGarbageCollected(800 * mb)
+        scheduler.release(first)
+
+        val running = scheduler.acquire("big")
+        val admitted = CountDownLatch(1)
+        var waitNanos = 0L
+        val waiting = thread {
+            val ticket = scheduler.acquire("big")
+            waitNanos = ticket.waitNanos
+            admitted.countDown()
+            scheduler.release(ticket)
+        }
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS))
+        assertTrue(scheduler.getInfo(), scheduler.getInfo().contains("1 queued"))
+
+        scheduler.release(running)
+        assertTrue(admitted.await(10, TimeUnit.SECONDS))
+        waiting.join()
+        assertTrue(waitNanos >= TimeUnit.MILLISECONDS.toNanos(200))
+    }
+
+    fun testEstimateIsPeakHeapAfterGc() {
+        val scheduler = CompilationScheduler(10_000 * mb)
+        scheduler.onGarbageCollected(100 * mb)
+
+        fun compile(moduleKey: String, vararg heapAfterGcs: Long) {
+            val ticket = scheduler.acquire(moduleKey)
+            heapAfterGcs.forEach { scheduler.onGarbageCollected(it * mb) }
+            scheduler.release(ticket)
+        }
+
+        fun estimateOf(moduleKey: String): Long {
+            val ticket = scheduler.acquire(moduleKey)
+            scheduler.release(ticket)
+            return ticket.estimate / mb
+        }
+
+        compile("a", 300, 500, 200)
+        assertEquals(400, estimateOf("a"))
+
+        // the last compilation replaces the estimate
+        compile("a", 250)
+        assertEquals(50, estimateOf("a"))
+
+        // without a collection there is nothing to measure
+        compile("a")
+        assertEquals(50, estimateOf("a"))
+
+        compile("b", 450)
+        assertEquals(200, estimateOf("b"))
+        assertEquals((50L + 200L) / 2, estimateOf("unknown"))
+    }
+
+    fun testCollectionIsAttributedToOverlappingCompilations() {
+        val scheduler = CompilationScheduler(10_000 * mb)
+        val a = scheduler.acquire("a")
+        scheduler.onGarbageCollected(100 * mb)
+        val b = scheduler.acquire("b")
+        scheduler.onGarbageCollected(300 * mb)
+        scheduler.release(a)
+        scheduler.release(b)
+
+        val next = listOf(scheduler.acquire("a"), scheduler.acquire("b"))
+        assertEquals(listOf(300 * mb, 200 * mb), next.map { it.estimate })
+        next.forEach(scheduler::release)
+    }
+
+    fun testModuleKey() {
+        assertEquals("app:out/classes", CompilationScheduler.moduleKey(arrayOf("a.kt", "-module-name", "app", "-d", "out/classes")))
+        assertEquals("lib:null", CompilationScheduler.moduleKey(arrayOf("-Xir-module-name=lib", "b.kt")))
+    }
+}
@@ -801,7 +801,7 @@ class CompilerDaemonTest : KotlinIntegrationTestBase() {
                         is CompileService.CallResult.Error -> "<error: ${daemonInfoRes.message}>"
                         else -> "?"
                     }
-                    val compiledPort: Int? = daemonInfo.trim().split(" ").last().toIntOrNull()
+                    val compiledPort: Int? = Regex("on port (\\d+)").find(daemonInfo)?.groupValues?.get(1)?.toIntOrNull()
                     appendLine("#$i\tcompiled on $daemonInfo, session ${daemonInfos[i]?.second}, result ${resultCodes[i]}; started daemon on port ${port2logs[i]?.first}, log: ${logFiles[i]?.canonicalPath}")
                     if (resultCodes[i] != 0 || electionLogs[i] == null) {
                         appendLine("--- out $i, result ${resultCodes[i]}:\n${outStreams[i].toByteArray().toString(Charset.defaultCharset())}\n---")
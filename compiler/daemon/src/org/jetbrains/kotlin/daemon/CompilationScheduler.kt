@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.daemon
+
+import com.sun.management.GarbageCollectionNotificationInfo
+import org.jetbrains.kotlin.daemon.common.COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED
+import java.lang.management.ManagementFactory
+import java.lang.management.MemoryType
+import java.util.*
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import javax.management.NotificationEmitter
+import javax.management.openmbean.CompositeData
+import kotlin.concurrent.withLock
+
+/**
+ * Admits compilations from all sessions of the daemon in the order of their requests, so that the sum of heap estimates of
+ * running compilations stays within [memoryBudget] bytes. A compilation is always admitted when nothing else is running,
+ * even if its estimate exceeds the budget.
+ *
+ * The estimate of a module is the peak of the heap used after garbage collections during its last compilation, minus the heap
+ * used after the last collection before it. Unknown modules are estimated by the average over all known modules. The heap is
+ * shared, so a collection during overlapping compilations is attributed to each of them, which only overestimates them.
+ */
+class CompilationScheduler(private val memoryBudget: Long) {
+    class Ticket internal constructor(val moduleKey: String, val estimate: Long) {
+        val enqueuedNanos = System.nanoTime()
+
+        /**
+         * Time the compilation waited in the queue until it was admitted.
+         */
+        var waitNanos = 0L
+            internal set
+
+        internal var heapBeforeStart = 0L
+        internal var peakHeapAfterGc = NO_GC
+    }
+
+    private val lock = ReentrantLock()
+    private val admitted = lock.newCondition()
+    private val queue = ArrayDeque<Ticket>()
+
+    private val estimates = object : LinkedHashMap<String, Long>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Long>?): Boolean = size > MAX_TRACKED_MODULES
+    }
+
+    private val runningTickets = LinkedHashSet<Ticket>()
+    private var heapAfterLastGc = 0L
+    private var reservedMemory = 0L
+    private var admittedCount = 0L
+    private var totalWaitNanos = 0L
+    private var maxWaitNanos = 0L
+
+    val isMemoryAware: Boolean
+        get() = memoryBudget != COMPILE_DAEMON_MEMORY_BUDGET_UNLIMITED
+
+    /**
+     * Waits until the compilation of [moduleKey] can be started, the returned ticket should be passed to [release] after it.
+     */
+    fun acquire(moduleKey: String): Ticket = lock.withLock {
+        val ticket = Ticket(moduleKey, estimate(moduleKey))
+        queue.addLast(ticket)
+        var interrupted = false
+        while (!(queue.peekFirst() === ticket && canAdmit(ticket))) {
+            try {
+                admitted.await()
+            } catch (e: InterruptedException) {
+                interrupted = true
+            }
+        }
+        queue.removeFirst()
+        runningTickets.add(ticket)
+        reservedMemory += ticket.estimate
+        ticket.heapBeforeStart = heapAfterLastGc
+
+        val waitNanos = System.nanoTime() - ticket.enqueuedNanos
+        ticket.waitNanos = waitNanos
+        admittedCount++
+        totalWaitNanos += waitNanos
+        maxWaitNanos = maxOf(maxWaitNanos, waitNanos)
+
+        // the next request in the queue may fit into the budget as well
+        admitted.signalAll()
+        if (interrupted) Thread.currentThread().interrupt()
+        ticket
+    }
+
+    /**
+     * Completes the compilation of [ticket] and updates the estimate of its module, if the heap was collected during it.
+     */
+    fun release(ticket: Ticket) = lock.withLock {
+        runningTickets.remove(ticket)
+        reservedMemory -= ticket.estimate
+        if (ticket.peakHeapAfterGc != NO_GC) {
+            estimates[ticket.moduleKey] = maxOf(ticket.peakHeapAfterGc - ticket.heapBeforeStart, 0L)
+        }
+        admitted.signalAll()
+    }
+
+    /**
+     * Records the heap used after a garbage collection, see [listenToGarbageCollections].
+     */
+    fun onGarbageCollected(usedHeapAfterGc: Long) = lock.withLock {
+        heapAfterLastGc = usedHeapAfterGc
+        for (ticket in runningTickets) {
+            ticket.peakHeapAfterGc = maxOf(ticket.peakHeapAfterGc, usedHeapAfterGc)
+        }
+    }
+
+    /**
+     * Passes the heap usage after each garbage collection of this JVM to [onGarbageCollected], if the JVM reports it.
+     */
+    fun listenToGarbageCollections() {
+        val heapPools = ManagementFactory.getMemoryPoolMXBeans().filter { it.type == MemoryType.HEAP }.mapTo(HashSet()) { it.name }
+        for (collector in ManagementFactory.getGarbageCollectorMXBeans()) {
+            (collector as? NotificationEmitter)?.addNotificationListener({ notification, _ ->
+                if (notification.type == GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION) {
+                    val info = GarbageCollectionNotificationInfo.from(notification.userData as CompositeData)
+                    onGarbageCollected(info.gcInfo.memoryUsageAfterGc.filterKeys { it in heapPools }.values.map { it.used }.sum())
+                }
+            }, null, null)
+        }
+    }
+
+    fun getInfo(): String = lock.withLock {
+        val averageWaitMs = if (admittedCount == 0L) 0L else TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / admittedCount)
+        val budget = if (isMemoryAware) "${memoryBudget / MB} mb" else "unlimited"
+        "compilations: ${runningTickets.size} running (${reservedMemory / MB} mb estimated, budget $budget), ${queue.size} queued; " +
+                "wait time: average $averageWaitMs ms, max ${TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)} ms"
+    }
+
+    private fun canAdmit(ticket: Ticket): Boolean =
+        !isMemoryAware || runningTickets.isEmpty() || reservedMemory + ticket.estimate <= memoryBudget
+
+    private fun estimate(moduleKey: String): Long {
+        if (!isMemoryAware) return 0L
+        estimates[moduleKey]?.let { return it }
+        if (estimates.isEmpty()) return minOf(DEFAULT_ESTIMATE, memoryBudget)
+        return estimates.values.sum() / estimates.size
+    }
+
+    companion object {
+        private const val MB = 1024L * 1024L
+        private const val DEFAULT_ESTIMATE = 256 * MB
+        private const val MAX_TRACKED_MODULES = 1000
+        private const val NO_GC = -1L
+
+        /**
+         * Identifies the module compiled with [compilerArguments] by its name and output, as far as they are specified.
+         */
+        fun moduleKey(compilerArguments: Array<out String>): String {
+            fun valueOf(vararg names: String): String? {
+                for ((index, argument) in compilerArguments.withIndex()) {
+                    for (name in names) {
+                        if (argument == name) return compilerArguments.getOrNull(index + 1)
+                        if (argument.startsWith("$name=")) return argument.substring(name.length + 1)
+                    }
+                }
+                return null
+            }
+
+            val moduleName = valueOf("-module-name", "-Xir-module-name")
+            val output = valueOf("-d", "-output")
+            return if (moduleName == null && output == null) compilerArguments.joinToString(" ") else "$moduleName:$output"
+        }
+    }
+}
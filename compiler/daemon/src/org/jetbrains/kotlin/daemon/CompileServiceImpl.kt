@@ -24,6 +24,8 @@ import org.jetbrains.kotlin.build.DEFAULT_KOTLIN_SOURCE_FILES_EXTENSIONS
 import org.jetbrains.kotlin.build.report.BuildReporter
 import org.jetbrains.kotlin.build.report.RemoteBuildReporter
 import org.jetbrains.kotlin.build.report.RemoteReporter
+import org.jetbrains.kotlin.build.report.metrics.BuildMetricsReporter
+import org.jetbrains.kotlin.build.report.metrics.BuildTime
 import org.jetbrains.kotlin.cli.common.CLICompiler
 import org.jetbrains.kotlin.cli.common.CompilerSystemProperties
 import org.jetbrains.kotlin.cli.common.ExitCode
@@ -124,6 +126,10 @@ abstract class CompileServiceImplBase(
 
     protected val compilationsCounter = AtomicInteger(0)
 
+    protected val compilationScheduler = CompilationScheduler(daemonOptions.compilationMemoryBudget).apply {
+        if (isMemoryAware) listenToGarbageCollections()
+    }
+
     protected val classpathWatcher = LazyClasspathWatcher(compilerId.compilerClasspath)
 
     enum class Aliveness {
@@ -294,6 +300,7 @@ abstract class CompileServiceImplBase(
         val messageCollector = createMessageCollector(servicesFacade, compilationOptions)
         val daemonReporter = createReporter(servicesFacade, compilationOptions)
         val targetPlatform = compilationOptions.targetPlatform
+        val moduleKey = CompilationScheduler.moduleKey(compilerArguments)
         log.info("Starting compilation with args: " + compilerArguments.joinToString(" "))
 
         @Suppress("UNCHECKED_CAST")
@@ -315,14 +322,14 @@ abstract class CompileServiceImplBase(
                 @Suppress("UNCHECKED_CAST")
                 servicesFacade as JpsServicesFacadeT
                 withIC(enabled = servicesFacade.hasIncrementalCaches()) {
-                    doCompile(sessionId, daemonReporter, tracer = null) { eventManger, profiler ->
+                    doCompile(sessionId, moduleKey, daemonReporter, tracer = null) { eventManger, profiler ->
                         val services = createServices(servicesFacade, eventManger, profiler)
                         compiler.exec(messageCollector, services, k2PlatformArgs)
                     }
                 }
             }
             CompilerMode.NON_INCREMENTAL_COMPILER -> {
-                doCompile(sessionId, daemonReporter, tracer = null) { _, _ ->
+                doCompile(sessionId, moduleKey, daemonReporter, tracer = null) { _, _ ->
                     compiler.exec(messageCollector, Services.EMPTY, k2PlatformArgs)
                 }
             }
@@ -332,30 +339,24 @@ abstract class CompileServiceImplBase(
 
                 when (targetPlatform) {
                     CompileService.TargetPlatform.JVM -> withIC {
-                        doCompile(sessionId, daemonReporter, tracer = null) { _, _ ->
+                        val reporter = getICReporter(gradleIncrementalServicesFacade, compilationResults!!, gradleIncrementalArgs)
+                        doCompile(sessionId, moduleKey, daemonReporter, tracer = null, metrics = reporter) { _, _ ->
                             execIncrementalCompiler(
                                 k2PlatformArgs as K2JVMCompilerArguments,
                                 gradleIncrementalArgs,
                                 messageCollector,
-                                getICReporter(
-                                    gradleIncrementalServicesFacade,
-                                    compilationResults!!,
-                                    gradleIncrementalArgs
-                                )
+                                reporter
                             )
                         }
                     }
                     CompileService.TargetPlatform.JS -> withJsIC {
-                        doCompile(sessionId, daemonReporter, tracer = null) { _, _ ->
+                        val reporter = getICReporter(gradleIncrementalServicesFacade, compilationResults!!, gradleIncrementalArgs)
+                        doCompile(sessionId, moduleKey, daemonReporter, tracer = null, metrics = reporter) { _, _ ->
                             execJsIncrementalCompiler(
                                 k2PlatformArgs as K2JSCompilerArguments,
                                 gradleIncrementalArgs,
                                 messageCollector,
-                                getICReporter(
-                                    gradleIncrementalServicesFacade,
-                                    compilationResults!!,
-                                    gradleIncrementalArgs
-                                )
+                                reporter
                             )
                         }
                     }
@@ -370,8 +371,10 @@ abstract class CompileServiceImplBase(
 
     protected inline fun doCompile(
         sessionId: Int,
+        moduleKey: String,
         daemonMessageReporter: DaemonMessageReporter,
         tracer: RemoteOperationsTracer?,
+        metrics: BuildMetricsReporter? = null,
         body: (EventManager, Profiler) -> ExitCode
     ): CompileService.CallResult<Int> = run {
         log.fine("alive!")
@@ -381,7 +384,7 @@ abstract class CompileServiceImplBase(
             val eventManager = EventManagerImpl()
             try {
                 log.fine("trying get exitCode")
-                val exitCode = checkedCompile(daemonMessageReporter, rpcProfiler) {
+                val exitCode = checkedCompile(moduleKey, daemonMessageReporter, rpcProfiler, metrics) {
                     body(eventManager, rpcProfiler).code
                 }
                 CompileService.CallResult.Good(exitCode)
@@ -396,14 +399,25 @@ abstract class CompileServiceImplBase(
     fun Long.kb() = this / 1024
 
     protected inline fun <R> checkedCompile(
+        moduleKey: String,
         daemonMessageReporter: DaemonMessageReporter,
         rpcProfiler: Profiler,
+        metrics: BuildMetricsReporter? = null,
         body: () -> R
     ): R {
         try {
             val profiler = if (daemonOptions.reportPerf) WallAndThreadAndMemoryTotalProfiler(withGC = false) else DummyProfiler()
 
-            val res = profiler.withMeasure(null, body)
+            val ticket = compilationScheduler.acquire(moduleKey)
+            metrics?.run {
+                startMeasure(BuildTime.DAEMON_QUEUE_WAIT, ticket.enqueuedNanos)
+                endMeasure(BuildTime.DAEMON_QUEUE_WAIT, ticket.enqueuedNanos + ticket.waitNanos)
+            }
+            val res = try {
+                profiler.withMeasure(null, body)
+            } finally {
+                compilationScheduler.release(ticket)
+            }
 
             val endMem = if (daemonOptions.reportPerf) usedMemory(withGC = false) else 0L
 
@@ -601,7 +615,8 @@ abstract class CompileServiceImplBase(
             outputFiles = incrementalCompilationOptions.outputFiles,
             usePreciseJavaTracking = incrementalCompilationOptions.usePreciseJavaTracking,
             modulesApiHistory = modulesApiHistory,
-            kotlinSourceFilesExtensions = allKotlinExtensions
+            kotlinSourceFilesExtensions = allKotlinExtensions,
+            useClasspathSnapshot = incrementalCompilationOptions.useClasspathSnapshot
         )
         return try {
             compiler.compile(allKotlinFiles, k2jvmArgs, compilerMessageCollector, changedFiles, projectRoot)
@@ -645,7 +660,7 @@ class CompileServiceImpl(
     // RMI-exposed API
 
     override fun getDaemonInfo(): CompileService.CallResult<String> = ifAlive(minAliveness = Aliveness.Dying) {
-        CompileService.CallResult.Good("Kotlin daemon on port $port")
+        CompileService.CallResult.Good("Kotlin daemon on port $port; ${compilationScheduler.getInfo()}")
     }
 
     override fun getDaemonOptions(): CompileService.CallResult<DaemonOptions> = ifAlive {
@@ -1166,7 +1181,7 @@ class CompileServiceImpl(
                     if (args.none())
                         throw IllegalArgumentException("Error: empty arguments list.")
                     log.info("Starting compilation with args: " + args.joinToString(" "))
-                    val exitCode = checkedCompile(compileServiceReporter, rpcProfiler) {
+                    val exitCode = checkedCompile(CompilationScheduler.moduleKey(args), compileServiceReporter, rpcProfiler) {
                         body(compilerMessagesStream, eventManger, rpcProfiler).code
                     }
                     CompileService.CallResult.Good(exitCode)
@@ -226,7 +226,7 @@ class CompileServiceServerSideImpl(
 
     override suspend fun getDaemonInfo(): CompileService.CallResult<String> =
         ifAlive(minAliveness = Aliveness.Dying) {
-            CompileService.CallResult.Good("Kotlin daemon on socketPort $port")
+            CompileService.CallResult.Good("Kotlin daemon on socketPort $port; ${compilationScheduler.getInfo()}")
         }
 
     override suspend fun getDaemonOptions(): CompileService.CallResult<DaemonOptions> = ifAlive {
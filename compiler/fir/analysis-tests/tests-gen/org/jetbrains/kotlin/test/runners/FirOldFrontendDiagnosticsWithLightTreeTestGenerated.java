@@ -20409,6 +20409,12 @@ public class FirOldFrontendDiagnosticsWithLightTreeTestGenerated extends Abstrac
                 runTest("compiler/testData/diagnostics/tests/override/kt8990.kt");
             }
 
+            @Test
+            @TestMetadata("LargeOverloadGroups.kt")
+            public void testLargeOverloadGroups() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/override/LargeOverloadGroups.kt");
+            }
+
             @Test
             @TestMetadata("MissingDelegate.kt")
             public void testMissingDelegate() throws Exception {
@@ -9,6 +9,7 @@ import org.jetbrains.kotlin.fir.FirSession
 import org.jetbrains.kotlin.fir.declarations.FirFile
 import org.jetbrains.kotlin.fir.declarations.FirResolvePhase
 import org.jetbrains.kotlin.fir.resolve.ScopeSession
+import org.jetbrains.kotlin.utils.TraceRecorder
 
 class FirTotalResolveProcessor(session: FirSession) {
     val scopeSession: ScopeSession = ScopeSession()
@@ -17,14 +18,18 @@ class FirTotalResolveProcessor(session: FirSession) {
 
     fun process(files: List<FirFile>) {
         for (processor in processors) {
-            when (processor) {
-                is FirTransformerBasedResolveProcessor -> {
-                    for (file in files) {
-                        processor.processFile(file)
+            TraceRecorder.span(processor.javaClass.simpleName, "frontend") {
+                when (processor) {
+                    is FirTransformerBasedResolveProcessor -> {
+                        for (file in files) {
+                            TraceRecorder.span(file.name, "file") {
+                                processor.processFile(file)
+                            }
+                        }
+                    }
+                    is FirGlobalResolveProcessor -> {
+                        processor.process(files)
                     }
-                }
-                is FirGlobalResolveProcessor -> {
-                    processor.process(files)
                 }
             }
         }
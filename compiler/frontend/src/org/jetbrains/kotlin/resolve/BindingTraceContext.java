@@ -30,13 +30,31 @@ import org.jetbrains.kotlin.types.expressions.KotlinTypeInfo;
 import org.jetbrains.kotlin.types.expressions.typeInfoFactory.TypeInfoFactoryKt;
 import org.jetbrains.kotlin.util.slicedMap.*;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 public class BindingTraceContext implements BindingTrace {
     // These flags are used for debugging of "Rewrite at slice..." exceptions
     /* package */ final static boolean TRACK_REWRITES = false;
     /* package */ final static boolean TRACK_WITH_STACK_TRACES = true;
 
+    // Store the most frequently written slices in separate tables, see ColumnarSlicedMap
+    private final static boolean COLUMNAR_STORAGE = Boolean.getBoolean("kotlin.binding.context.columnar");
+
+    public final static List<WritableSlice<?, ?>> COLUMN_SLICES = Arrays.asList(
+            BindingContext.EXPRESSION_TYPE_INFO,
+            BindingContext.DATA_FLOW_INFO_BEFORE,
+            BindingContext.EXPECTED_EXPRESSION_TYPE,
+            BindingContext.REFERENCE_TARGET,
+            BindingContext.RESOLVED_CALL,
+            BindingContext.CALL,
+            BindingContext.QUALIFIER,
+            BindingContext.LEXICAL_SCOPE,
+            BindingContext.PROCESSED,
+            BindingContext.USED_AS_EXPRESSION
+    );
+
     private final MutableSlicedMap map;
     private final MutableDiagnosticsWithSuppression mutableDiagnostics;
 
@@ -91,7 +109,12 @@ public class BindingTraceContext implements BindingTrace {
     }
 
     public BindingTraceContext(BindingTraceFilter filter, boolean allowSliceRewrite) {
-        this(TRACK_REWRITES && !allowSliceRewrite ? new TrackingSlicedMap(TRACK_WITH_STACK_TRACES) : new SlicedMapImpl(allowSliceRewrite), filter);
+        this(TRACK_REWRITES && !allowSliceRewrite ? new TrackingSlicedMap(TRACK_WITH_STACK_TRACES) : createSlicedMap(allowSliceRewrite), filter);
+    }
+
+    @NotNull
+    private static MutableSlicedMap createSlicedMap(boolean allowSliceRewrite) {
+        return COLUMNAR_STORAGE ? new ColumnarSlicedMap(allowSliceRewrite, COLUMN_SLICES) : new SlicedMapImpl(allowSliceRewrite);
     }
 
     private BindingTraceContext(@NotNull MutableSlicedMap map, BindingTraceFilter filter) {
@@ -28,11 +28,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.kotlin.builtins.FunctionTypesKt;
 import org.jetbrains.kotlin.builtins.KotlinBuiltIns;
+import org.jetbrains.kotlin.config.AnalysisFlags;
 import org.jetbrains.kotlin.config.LanguageFeature;
 import org.jetbrains.kotlin.config.LanguageVersionSettings;
 import org.jetbrains.kotlin.descriptors.*;
 import org.jetbrains.kotlin.descriptors.impl.SyntheticFieldDescriptor;
 import org.jetbrains.kotlin.diagnostics.Errors;
+import org.jetbrains.kotlin.incremental.components.ExpectActualTracker;
+import org.jetbrains.kotlin.incremental.components.LookupTracker;
 import org.jetbrains.kotlin.lexer.KtTokens;
 import org.jetbrains.kotlin.psi.*;
 import org.jetbrains.kotlin.psi.psiUtil.PsiUtilsKt;
@@ -46,6 +49,7 @@ import org.jetbrains.kotlin.resolve.descriptorUtil.DescriptorUtilsKt;
 import org.jetbrains.kotlin.resolve.lazy.ForceResolveUtil;
 import org.jetbrains.kotlin.resolve.multiplatform.ExpectedActualResolver;
 import org.jetbrains.kotlin.resolve.scopes.*;
+import org.jetbrains.kotlin.storage.StorageManager;
 import org.jetbrains.kotlin.types.*;
 import org.jetbrains.kotlin.types.expressions.ExpressionTypingContext;
 import org.jetbrains.kotlin.types.expressions.ExpressionTypingServices;
@@ -80,6 +84,7 @@ public class BodyResolver {
     @NotNull private final KotlinBuiltIns builtIns;
     @NotNull private final OverloadChecker overloadChecker;
     @NotNull private final LanguageVersionSettings languageVersionSettings;
+    @NotNull private final ParallelBodiesResolver parallelBodiesResolver;
 
     public BodyResolver(
             @NotNull Project project,
@@ -96,7 +101,10 @@ public class BodyResolver {
             @NotNull AnnotationChecker annotationChecker,
             @NotNull KotlinBuiltIns builtIns,
             @NotNull OverloadChecker overloadChecker,
-            @NotNull LanguageVersionSettings languageVersionSettings
+            @NotNull LanguageVersionSettings languageVersionSettings,
+            @NotNull StorageManager storageManager,
+            @NotNull LookupTracker lookupTracker,
+            @NotNull ExpectActualTracker expectActualTracker
     ) {
         this.project = project;
         this.annotationResolver = annotationResolver;
@@ -113,6 +121,10 @@ public class BodyResolver {
         this.valueParameterResolver = valueParameterResolver;
         this.builtIns = builtIns;
         this.languageVersionSettings = languageVersionSettings;
+        this.parallelBodiesResolver = new ParallelBodiesResolver(
+                storageManager, languageVersionSettings.getFlag(AnalysisFlags.getParallelBodyResolutionThreads()),
+                lookupTracker, expectActualTracker
+        );
     }
 
     private void resolveBehaviorDeclarationBodies(@NotNull BodiesResolveContext c) {
@@ -785,6 +797,16 @@ public class BodyResolver {
             @NotNull BodiesResolveContext c,
             @NotNull KtProperty property,
             @NotNull PropertyDescriptor propertyDescriptor
+    ) {
+        resolvePropertyInitializerAndDelegate(c, trace, property, propertyDescriptor);
+        resolvePropertyAccessorsAndAnnotations(c, property, propertyDescriptor);
+    }
+
+    private void resolvePropertyInitializerAndDelegate(
+            @NotNull BodiesResolveContext c,
+            @NotNull BindingTrace trace,
+            @NotNull KtProperty property,
+            @NotNull PropertyDescriptor propertyDescriptor
     ) {
         computeDeferredType(propertyDescriptor.getReturnType());
 
@@ -795,7 +817,7 @@ public class BodyResolver {
 
         if (initializer != null) {
             resolvePropertyInitializer(
-                    c.getOuterDataFlowInfo(), property, propertyDescriptor,
+                    c.getOuterDataFlowInfo(), trace, property, propertyDescriptor,
                     initializer, propertyHeaderScope, context != null ? context.inferenceSession : null
             );
         }
@@ -804,11 +826,17 @@ public class BodyResolver {
         if (delegateExpression != null) {
             assert initializer == null : "Initializer should be null for delegated property : " + property.getText();
             resolvePropertyDelegate(
-                    c.getOuterDataFlowInfo(), property, propertyDescriptor,
+                    c.getOuterDataFlowInfo(), trace, property, propertyDescriptor,
                     delegateExpression, propertyHeaderScope, context != null ? context.inferenceSession : null
             );
         }
+    }
 
+    private void resolvePropertyAccessorsAndAnnotations(
+            @NotNull BodiesResolveContext c,
+            @NotNull KtProperty property,
+            @NotNull PropertyDescriptor propertyDescriptor
+    ) {
         resolvePropertyAccessors(c, property, propertyDescriptor);
 
         ForceResolveUtil.forceResolveAllContents(propertyDescriptor.getAnnotations());
@@ -838,13 +866,27 @@ public class BodyResolver {
         }
 
         // Top-level properties & properties of objects
+        List<Map.Entry<KtProperty, PropertyDescriptor>> properties = new ArrayList<>();
         for (Map.Entry<KtProperty, PropertyDescriptor> entry : c.getProperties().entrySet()) {
-            KtProperty property = entry.getKey();
-            if (processed.contains(property)) continue;
-
-            PropertyDescriptor propertyDescriptor = entry.getValue();
+            if (!processed.contains(entry.getKey())) {
+                properties.add(entry);
+            }
+        }
 
-            resolveProperty(c, property, propertyDescriptor);
+        if (parallelBodiesResolver.isEnabled() && !c.getTopDownAnalysisMode().isLocalDeclarations()) {
+            // Initializers and delegates are resolved independently, accessors track backing field usages in the shared trace
+            parallelBodiesResolver.resolve(
+                    properties, trace,
+                    (entry, bodyTrace) -> resolvePropertyInitializerAndDelegate(c, bodyTrace, entry.getKey(), entry.getValue())
+            );
+            for (Map.Entry<KtProperty, PropertyDescriptor> entry : properties) {
+                resolvePropertyAccessorsAndAnnotations(c, entry.getKey(), entry.getValue());
+            }
+        }
+        else {
+            for (Map.Entry<KtProperty, PropertyDescriptor> entry : properties) {
+                resolveProperty(c, entry.getKey(), entry.getValue());
+            }
         }
     }
 
@@ -912,6 +954,7 @@ public class BodyResolver {
 
     private void resolvePropertyDelegate(
             @NotNull DataFlowInfo outerDataFlowInfo,
+            @NotNull BindingTrace trace,
             @NotNull KtProperty property,
             @NotNull PropertyDescriptor propertyDescriptor,
             @NotNull KtExpression delegateExpression,
@@ -929,6 +972,7 @@ public class BodyResolver {
 
     private void resolvePropertyInitializer(
             @NotNull DataFlowInfo outerDataFlowInfo,
+            @NotNull BindingTrace trace,
             @NotNull KtProperty property,
             @NotNull PropertyDescriptor propertyDescriptor,
             @NotNull KtExpression initializer,
@@ -953,22 +997,40 @@ public class BodyResolver {
     }
 
     private void resolveFunctionBodies(@NotNull BodiesResolveContext c) {
+        if (parallelBodiesResolver.isEnabled() && !c.getTopDownAnalysisMode().isLocalDeclarations() &&
+            (bodyResolveCache instanceof BodyResolveCache.ThrowException || expressionTypingServices.getStatementFilter() == StatementFilter.NONE)) {
+            parallelBodiesResolver.resolve(
+                    c.getFunctions().entrySet(), trace,
+                    (entry, bodyTrace) -> resolveFunctionBody(c, bodyTrace, entry.getKey(), entry.getValue())
+            );
+            return;
+        }
+
         for (Map.Entry<KtNamedFunction, SimpleFunctionDescriptor> entry : c.getFunctions().entrySet()) {
             KtNamedFunction declaration = entry.getKey();
 
-            LexicalScope scope = c.getDeclaringScope(declaration);
-            assert scope != null : "Scope is null: " + PsiUtilsKt.getElementTextWithContext(declaration);
-
             if (!c.getTopDownAnalysisMode().isLocalDeclarations() && !(bodyResolveCache instanceof BodyResolveCache.ThrowException) &&
                 expressionTypingServices.getStatementFilter() != StatementFilter.NONE) {
                 bodyResolveCache.resolveFunctionBody(declaration).addOwnDataTo(trace, true);
             }
             else {
-                resolveFunctionBody(c.getOuterDataFlowInfo(), trace, declaration, entry.getValue(), scope, c.getLocalContext());
+                resolveFunctionBody(c, trace, declaration, entry.getValue());
             }
         }
     }
 
+    private void resolveFunctionBody(
+            @NotNull BodiesResolveContext c,
+            @NotNull BindingTrace trace,
+            @NotNull KtNamedFunction declaration,
+            @NotNull SimpleFunctionDescriptor descriptor
+    ) {
+        LexicalScope scope = c.getDeclaringScope(declaration);
+        assert scope != null : "Scope is null: " + PsiUtilsKt.getElementTextWithContext(declaration);
+
+        resolveFunctionBody(c.getOuterDataFlowInfo(), trace, declaration, descriptor, scope, c.getLocalContext());
+    }
+
     public void resolveFunctionBody(
             @NotNull DataFlowInfo outerDataFlowInfo,
             @NotNull BindingTrace trace,
@@ -34,6 +34,7 @@ import org.jetbrains.kotlin.resolve.deprecation.DeprecationResolver
 import org.jetbrains.kotlin.resolve.lazy.*
 import org.jetbrains.kotlin.resolve.lazy.descriptors.LazyClassDescriptor
 import org.jetbrains.kotlin.types.expressions.ExpressionTypingContext
+import org.jetbrains.kotlin.utils.TraceRecorder
 import java.util.*
 
 class LazyTopDownAnalyzer(
@@ -203,39 +204,52 @@ class LazyTopDownAnalyzer(
             declaration.accept(visitor)
         }
 
-        createFunctionDescriptors(c, functions)
+        c.traceSpan("Declarations") {
+            createFunctionDescriptors(c, functions)
 
-        createPropertyDescriptors(c, topLevelFqNames, properties)
+            createPropertyDescriptors(c, topLevelFqNames, properties)
 
-        createPropertiesFromDestructuringDeclarations(c, topLevelFqNames, destructuringDeclarations)
+            createPropertiesFromDestructuringDeclarations(c, topLevelFqNames, destructuringDeclarations)
 
-        createTypeAliasDescriptors(c, topLevelFqNames, typeAliases)
+            createTypeAliasDescriptors(c, topLevelFqNames, typeAliases)
 
-        resolveAllHeadersInClasses(c)
+            resolveAllHeadersInClasses(c)
+        }
 
-        declarationResolver.checkRedeclarationsInPackages(topLevelDescriptorProvider, topLevelFqNames)
-        declarationResolver.checkRedeclarations(c)
+        c.traceSpan("Declaration checks") {
+            declarationResolver.checkRedeclarationsInPackages(topLevelDescriptorProvider, topLevelFqNames)
+            declarationResolver.checkRedeclarations(c)
 
-        overrideResolver.check(c)
+            overrideResolver.check(c)
 
-        varianceChecker.check(c)
+            varianceChecker.check(c)
 
-        declarationResolver.resolveAnnotationsOnFiles(c, fileScopeProvider)
+            declarationResolver.resolveAnnotationsOnFiles(c, fileScopeProvider)
 
-        overloadResolver.checkOverloads(c)
+            overloadResolver.checkOverloads(c)
+        }
 
-        bodyResolver.resolveBodies(c)
+        c.traceSpan("Bodies") {
+            bodyResolver.resolveBodies(c)
+        }
 
-        resolveImportsInAllFiles(c)
+        c.traceSpan("Imports and classifier usages") {
+            resolveImportsInAllFiles(c)
 
-        checkClassifierUsages(
-            declarations, classifierUsageCheckers,
-            ClassifierUsageCheckerContext(trace, languageVersionSettings, deprecationResolver, moduleDescriptor)
-        )
+            checkClassifierUsages(
+                declarations, classifierUsageCheckers,
+                ClassifierUsageCheckerContext(trace, languageVersionSettings, deprecationResolver, moduleDescriptor)
+            )
+        }
 
         return c
     }
 
+    // Local declarations are analyzed too often to be worth separate spans
+    private inline fun TopDownAnalysisContext.traceSpan(name: String, body: () -> Unit) {
+        if (topDownAnalysisMode.isLocalDeclarations) body() else TraceRecorder.span(name, "frontend", body)
+    }
+
     private fun resolveAllHeadersInClasses(c: TopDownAnalysisContext) {
         for (classDescriptor in c.allClasses) {
             (classDescriptor as LazyClassDescriptor).resolveMemberHeaders()
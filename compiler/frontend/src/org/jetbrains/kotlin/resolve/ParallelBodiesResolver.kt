@@ -0,0 +1,95 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.resolve
+
+import org.jetbrains.kotlin.incremental.components.ExpectActualTracker
+import org.jetbrains.kotlin.incremental.components.LookupTracker
+import org.jetbrains.kotlin.storage.LockBasedLazyResolveStorageManager
+import org.jetbrains.kotlin.storage.StorageManager
+import java.util.concurrent.*
+import java.util.function.BiConsumer
+
+/**
+ * Resolves bodies of declarations, which are independent once their signatures are known, on [threads] worker threads,
+ * see [org.jetbrains.kotlin.config.AnalysisFlags.parallelBodyResolutionThreads].
+ *
+ * Every body is resolved into its own trace, which reads the shared trace under the lock of [storageManager], as lazy declaration
+ * resolution writes to it under the same lock. The traces are merged into the shared trace in the order of declarations,
+ * so the binding context and diagnostics don't depend on the scheduling.
+ *
+ * Incremental compilation trackers record lookups from bodies and aren't thread-safe, so bodies are resolved sequentially
+ * when any of them is registered.
+ */
+class ParallelBodiesResolver(
+    private val storageManager: StorageManager,
+    threads: Int,
+    lookupTracker: LookupTracker,
+    expectActualTracker: ExpectActualTracker
+) {
+    private val threads =
+        if (lookupTracker === LookupTracker.DO_NOTHING && expectActualTracker === ExpectActualTracker.DoNothing) threads else 1
+
+    /**
+     * If false, callers should keep resolving declarations in their usual order, e.g. a property's initializer right before its accessors.
+     */
+    val isEnabled: Boolean
+        get() = threads > 1
+
+    fun <D> resolve(declarations: Collection<D>, trace: BindingTrace, resolve: BiConsumer<D, BindingTrace>) {
+        // A body resolved on a worker thread must not wait for other bodies queued behind it in the same pool
+        if (!isEnabled || declarations.size <= 1 || Thread.currentThread() is WorkerThread) {
+            declarations.forEach { resolve.accept(it, trace) }
+            return
+        }
+
+        val parentContext = LockBasedLazyResolveStorageManager(storageManager).createSafeTrace(trace).bindingContext
+        val executor = executor(threads)
+        val futures = declarations.map { declaration ->
+            executor.submit<DelegatingBindingTrace> {
+                DelegatingBindingTrace(parentContext, "Parallel body resolution", withParentDiagnostics = false).also {
+                    resolve.accept(declaration, it)
+                }
+            }
+        }
+        val bodyTraces = try {
+            futures.map { it.getOrRethrow() }
+        } finally {
+            // if a body failed, the bodies that haven't started yet aren't needed
+            futures.forEach { it.cancel(false) }
+        }
+
+        for (bodyTrace in bodyTraces) {
+            bodyTrace.addOwnDataTo(trace, commitDiagnostics = true)
+        }
+    }
+
+    private fun <T> Future<T>.getOrRethrow(): T =
+        try {
+            get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+
+    private class WorkerThread(runnable: Runnable) : Thread(runnable, "Kotlin body resolution") {
+        init {
+            isDaemon = true
+        }
+    }
+
+    private companion object {
+        private const val IDLE_THREAD_KEEP_ALIVE_SECONDS = 60L
+
+        // Shared by all compilations in the process, so that threads aren't started on every call
+        private val executors = ConcurrentHashMap<Int, ExecutorService>()
+
+        fun executor(threads: Int): ExecutorService =
+            executors.computeIfAbsent(threads) {
+                ThreadPoolExecutor(
+                    threads, threads, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue(), ::WorkerThread
+                ).apply { allowCoreThreadTimeOut(true) }
+            }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.util.slicedMap
+
+import com.google.common.collect.ImmutableMap
+import com.intellij.openapi.util.Key
+import java.util.*
+
+/**
+ * [SlicedMapImpl] which stores the values of [columnSlices] in separate hash tables, one per slice.
+ *
+ * [SlicedMapImpl] keeps all slices of a key in one persistent `KeyFMap` which is copied on every `put`. This is a good fit
+ * for rarely used slices, but for the slices written for almost every expression (types, calls, reference targets) the
+ * `KeyFMap` instances and their copies take a considerable part of the heap. A per-slice table costs two array slots per value.
+ *
+ * Slices which are not in [columnSlices] are stored as in [SlicedMapImpl]. The table has no removal, so a `null` value is stored
+ * as a marker and is then indistinguishable from a missing one.
+ */
+class ColumnarSlicedMap(
+    private val alwaysAllowRewrite: Boolean,
+    columnSlices: Collection<WritableSlice<*, *>>
+) : SlicedMapImpl(alwaysAllowRewrite) {
+    private class Column(val slice: WritableSlice<*, *>) {
+        var values: OpenAddressLinearProbingHashTable<Any, Any>? = null
+    }
+
+    private val columns: Map<Key<*>, Column> = IdentityHashMap<Key<*>, Column>().apply {
+        for (slice in columnSlices) {
+            require(!slice.isCollective) { "Keys of collective slices can't be stored in a column: $slice" }
+            put(slice.key, Column(slice))
+        }
+    }
+
+    override fun <K, V> put(slice: WritableSlice<K, V>, key: K, value: V) {
+        val column = columns[slice.key] ?: return super.put(slice, key, value)
+
+        if (!slice.check(key, value)) return
+
+        val values = column.values ?: OpenAddressLinearProbingHashTable<Any, Any>().also { column.values = it }
+
+        val rewritePolicy = slice.rewritePolicy
+        if (!alwaysAllowRewrite && rewritePolicy.rewriteProcessingNeeded(key)) {
+            val oldValue = values.valueOf<V>(key)
+            if (oldValue != null && !rewritePolicy.processRewrite(slice, key, oldValue, value)) {
+                return
+            }
+        }
+
+        values[key as Any] = value ?: NULL_VALUE
+        slice.afterPut(this, key, value)
+    }
+
+    override fun <K, V> get(slice: ReadOnlySlice<K, V>, key: K): V {
+        val column = columns[slice.key] ?: return super.get(slice, key)
+
+        val value = column.values?.valueOf<V>(key)
+        return slice.computeValue(this, key, value, value == null)
+    }
+
+    override fun clear() {
+        super.clear()
+        for (column in columns.values) {
+            column.values = null
+        }
+    }
+
+    override fun forEach(f: (WritableSlice<*, *>, Any?, Any?) -> Void?) {
+        super.forEach(f)
+        for (column in columns.values) {
+            column.values?.forEach { key, value ->
+                if (value !== NULL_VALUE) f(column.slice, key, value)
+            }
+        }
+    }
+
+    override fun <K, V> getSliceContents(slice: ReadOnlySlice<K, V>): ImmutableMap<K, V> {
+        val column = columns[slice.key] ?: return super.getSliceContents(slice)
+
+        val builder = ImmutableMap.builder<K, V>()
+        @Suppress("UNCHECKED_CAST")
+        column.values?.forEach { key, value ->
+            if (value !== NULL_VALUE) builder.put(key as K, value as V)
+        }
+        return builder.build()
+    }
+
+    private companion object {
+        val NULL_VALUE = Any()
+
+        @Suppress("UNCHECKED_CAST")
+        fun <V> OpenAddressLinearProbingHashTable<Any, Any>.valueOf(key: Any?): V? =
+            get(key as Any)?.takeIf { it !== NULL_VALUE } as V?
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental
+
+import org.jetbrains.kotlin.build.report.ICReporter
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.attribute.BasicFileAttributes
+import java.util.zip.CRC32
+
+/**
+ * Read-only view of build history files of other modules, shared by all compilations in the same process (e.g. a daemon).
+ *
+ * When Gradle compiles many modules in parallel, each of them reads history files of its dependencies. The files are
+ * only read again when they are changed (see [BuildDiffsStorage.writeToFile], which replaces the whole file).
+ * Only the [MAX_SNAPSHOTS] most recently read files are kept. The returned lists must not be modified.
+ */
+object BuildDiffsSnapshots {
+    internal const val MAX_SNAPSHOTS = 256
+
+    private class Snapshot(val stamp: Stamp, val diffs: List<BuildDifference>)
+
+    /**
+     * A replaced file is detected by its [fileKey] (e.g. the inode). File systems which don't provide it may keep the
+     * modification time of a file replaced within its timestamp granularity, so the content is compared instead.
+     */
+    private data class Stamp(val fileKey: Any?, val lastModified: Long, val size: Long, val contentChecksum: Long?)
+
+    private val snapshots = object : LinkedHashMap<File, Snapshot>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<File, Snapshot>?): Boolean = size > MAX_SNAPSHOTS
+    }
+
+    fun readDiffs(file: File, reporter: ICReporter?): List<BuildDifference>? {
+        val absoluteFile = file.absoluteFile
+        val stamp = stamp(absoluteFile)
+        if (stamp == null) {
+            synchronized(snapshots) { snapshots.remove(absoluteFile) }
+            return BuildDiffsStorage.readDiffsFromFile(absoluteFile, reporter)
+        }
+
+        synchronized(snapshots) { snapshots[absoluteFile] }?.let { if (it.stamp == stamp) return it.diffs }
+
+        val diffs = BuildDiffsStorage.readDiffsFromFile(absoluteFile, reporter) ?: return null
+        // Don't cache the file if it has been changed while it was read
+        if (stamp(absoluteFile) == stamp) {
+            synchronized(snapshots) { snapshots[absoluteFile] = Snapshot(stamp, diffs) }
+        }
+        return diffs
+    }
+
+    fun clear() {
+        synchronized(snapshots) { snapshots.clear() }
+    }
+
+    private fun stamp(file: File): Stamp? =
+        try {
+            val attributes = Files.readAttributes(file.toPath(), BasicFileAttributes::class.java)
+            val fileKey = attributes.fileKey()
+            val contentChecksum = if (fileKey == null) CRC32().apply { update(file.readBytes()) }.value else null
+            Stamp(fileKey, attributes.lastModifiedTime().toMillis(), attributes.size(), contentChecksum)
+        } catch (e: IOException) {
+            null
+        }
+}
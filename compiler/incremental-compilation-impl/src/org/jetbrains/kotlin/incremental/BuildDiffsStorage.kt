@@ -23,6 +23,9 @@ import java.io.File
 import java.io.IOException
 import java.io.ObjectInputStream
 import java.io.ObjectOutputStream
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
 
 data class BuildDifference(val ts: Long, val isIncremental: Boolean, val dirtyData: DirtyData)
 
@@ -63,11 +66,18 @@ data class BuildDiffsStorage(val buildDiffs: List<BuildDifference>) {
             return null
         }
 
-        fun writeToFile(file: File, storage: BuildDiffsStorage, reporter: ICReporter?) {
+        /**
+         * Replaces the history in [file]. If it can't be replaced, the history is deleted, so that dependent modules are rebuilt
+         * instead of missing the changes, and an [IOException] is thrown.
+         */
+        fun writeToFile(file: File, storage: BuildDiffsStorage) {
             file.parentFile.mkdirs()
 
+            // The file can be read and written by compilations of other modules at the same time, so every writer
+            // writes its own temporary file and then atomically replaces the history with it
+            val tmpFile = File.createTempFile(file.name, ".tmp", file.parentFile)
             try {
-                ObjectOutputStream(file.outputStream().buffered()).use { output ->
+                ObjectOutputStream(tmpFile.outputStream().buffered()).use { output ->
                     output.writeInt(CURRENT_VERSION)
 
                     val diffsToWrite = storage.buildDiffs.sortedBy { it.ts }.takeLast(MAX_DIFFS_ENTRIES)
@@ -76,8 +86,34 @@ data class BuildDiffsStorage(val buildDiffs: List<BuildDifference>) {
                         output.writeBuildDifference(diff)
                     }
                 }
+                replaceWithRetries(tmpFile, file)
             } catch (e: IOException) {
-                reporter?.report { "Could not write diff to file $file: $e" }
+                file.delete()
+                throw IOException("Could not write build history to $file", e)
+            } finally {
+                tmpFile.delete()
+            }
+        }
+
+        private fun replaceWithRetries(source: File, target: File) {
+            var attempt = 1
+            while (true) {
+                try {
+                    moveAtomically(source, target)
+                    return
+                } catch (e: IOException) {
+                    // e.g. on Windows, a file can't be replaced while another compilation is reading it
+                    if (attempt == MAX_REPLACE_ATTEMPTS) throw e
+                    Thread.sleep(REPLACE_RETRY_DELAY_MS * attempt++)
+                }
+            }
+        }
+
+        private fun moveAtomically(source: File, target: File) {
+            try {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+            } catch (e: AtomicMoveNotSupportedException) {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING)
             }
         }
 
@@ -130,6 +166,9 @@ data class BuildDiffsStorage(val buildDiffs: List<BuildDifference>) {
 
         internal const val MAX_DIFFS_ENTRIES: Int = 10
 
+        private const val MAX_REPLACE_ATTEMPTS = 10
+        private const val REPLACE_RETRY_DELAY_MS = 10L
+
         @set:TestOnly
         var CURRENT_VERSION: Int = 0
     }
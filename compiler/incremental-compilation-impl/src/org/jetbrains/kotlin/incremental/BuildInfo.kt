@@ -16,9 +16,13 @@
 
 package org.jetbrains.kotlin.incremental
 
+import org.jetbrains.kotlin.incremental.storage.BasicMapsOwner
 import java.io.*
 
-data class BuildInfo(val startTS: Long) : Serializable {
+/**
+ * [cacheStorageFormat] is the [BasicMapsOwner.STORAGE_FORMAT_VERSION] the caches were written with.
+ */
+data class BuildInfo(val startTS: Long, val cacheStorageFormat: Int = BasicMapsOwner.STORAGE_FORMAT_VERSION) : Serializable {
     companion object {
         fun read(file: File): BuildInfo? =
             try {
@@ -20,6 +20,7 @@ import org.jetbrains.kotlin.build.report.ICReporter
 import org.jetbrains.kotlin.incremental.storage.BasicMapsOwner
 import org.jetbrains.kotlin.incremental.storage.IncrementalFileToPathConverter
 import org.jetbrains.kotlin.serialization.SerializerExtensionProtocol
+import org.jetbrains.kotlin.utils.TraceRecorder
 import java.io.File
 
 
@@ -31,7 +32,9 @@ abstract class IncrementalCachesManager<PlatformCache : AbstractIncrementalCache
     val pathConverter = IncrementalFileToPathConverter(rootProjectDir)
     private val caches = arrayListOf<BasicMapsOwner>()
 
+    @Volatile
     var isClosed = false
+        private set
 
     @Synchronized
     protected fun <T : BasicMapsOwner> T.registerCache() {
@@ -46,6 +49,12 @@ abstract class IncrementalCachesManager<PlatformCache : AbstractIncrementalCache
     val lookupCache: LookupStorage = LookupStorage(lookupCacheDir, pathConverter).apply { registerCache() }
     abstract val platformCache: PlatformCache
 
+    /**
+     * Size of the lookup cache on disk in bytes, it is up to date after the caches are closed.
+     */
+    val lookupCacheSize: Long
+        get() = lookupCacheDir.walk().filter { it.isFile }.map { it.length() }.sum()
+
     @Synchronized
     fun close(flush: Boolean = false): Boolean {
         if (isClosed) {
@@ -55,7 +64,9 @@ abstract class IncrementalCachesManager<PlatformCache : AbstractIncrementalCache
         for (cache in caches) {
             if (flush) {
                 try {
-                    cache.flush(false)
+                    TraceRecorder.span("Flush cache", "ic") {
+                        cache.flush(false)
+                    }
                 } catch (e: Throwable) {
                     successful = false
                     reporter.report { "Exception when flushing cache ${cache.javaClass}: $e" }
@@ -63,7 +74,9 @@ abstract class IncrementalCachesManager<PlatformCache : AbstractIncrementalCache
             }
 
             try {
-                cache.close()
+                TraceRecorder.span("Close cache", "ic") {
+                    cache.close()
+                }
             } catch (e: Throwable) {
                 successful = false
                 reporter.report { "Exception when closing cache ${cache.javaClass}: $e" }
@@ -21,7 +21,9 @@ import org.jetbrains.kotlin.build.GeneratedFile
 import org.jetbrains.kotlin.build.report.BuildReporter
 import org.jetbrains.kotlin.build.report.metrics.BuildTime
 import org.jetbrains.kotlin.build.report.metrics.BuildAttribute
+import org.jetbrains.kotlin.build.report.metrics.BuildPerformanceMetric
 import org.jetbrains.kotlin.build.report.metrics.measure
+import org.jetbrains.kotlin.build.report.metrics.measureGc
 import org.jetbrains.kotlin.cli.common.ExitCode
 import org.jetbrains.kotlin.cli.common.arguments.CommonCompilerArguments
 import org.jetbrains.kotlin.cli.common.messages.MessageCollector
@@ -36,6 +38,7 @@ import org.jetbrains.kotlin.incremental.parsing.classesFqNames
 import org.jetbrains.kotlin.incremental.util.BufferingMessageCollector
 import org.jetbrains.kotlin.name.FqName
 import org.jetbrains.kotlin.progress.CompilationCanceledStatus
+import org.jetbrains.kotlin.utils.TraceRecorder
 import java.io.File
 import java.io.IOException
 import java.util.*
@@ -70,8 +73,13 @@ abstract class IncrementalCompilerRunner<
         // otherwise we track source files changes ourselves.
         providedChangedFiles: ChangedFiles?,
         projectDir: File? = null
-    ): ExitCode = reporter.measure(BuildTime.INCREMENTAL_COMPILATION) {
-        compileImpl(allSourceFiles, args, messageCollector, providedChangedFiles, projectDir)
+    ): ExitCode = TraceRecorder.withRecording(args.dumpTrace?.let(::File)) {
+        // Recording covers all iterations of the compiler and the cache updates after them, see CLICompiler
+        reporter.measure(BuildTime.INCREMENTAL_COMPILATION) {
+            reporter.measureGc {
+                compileImpl(allSourceFiles, args, messageCollector, providedChangedFiles, projectDir)
+            }
+        }
     }
 
     private fun compileImpl(
@@ -125,7 +133,9 @@ abstract class IncrementalCompilerRunner<
                 }
             }
 
-            if (!caches.close(flush = true)) throw RuntimeException("Could not flush caches")
+            val cachesClosed = reporter.measure(BuildTime.IC_FLUSH_CACHES) { caches.close(flush = true) }
+            if (!cachesClosed) throw RuntimeException("Could not flush caches")
+            reporter.addMetric(BuildPerformanceMetric.LOOKUP_CACHE_SIZE, caches.lookupCacheSize)
             // Here we should analyze exit code of compiler. E.g. compiler failure should lead to caches rebuild,
             // but now JsKlib compiler reports invalid exit code.
             cachesMayBeCorrupted = false
@@ -218,6 +228,7 @@ abstract class IncrementalCompilerRunner<
     )
 
     protected open fun preBuildHook(args: Args, compilationMode: CompilationMode) {}
+    protected open fun postBuildHook(args: Args, exitCode: ExitCode) {}
     protected open fun additionalDirtyFiles(caches: CacheManager, generatedFiles: List<GeneratedFile>, services: Services): Iterable<File> =
         emptyList()
 
@@ -316,6 +327,8 @@ abstract class IncrementalCompilerRunner<
             }
 
             reporter.reportCompileIteration(compilationMode is CompilationMode.Incremental, sourcesToCompile, exitCode)
+            reporter.addMetric(BuildPerformanceMetric.COMPILE_ITERATION, 1)
+            reporter.addMetric(BuildPerformanceMetric.DIRTY_SOURCE_FILES, sourcesToCompile.size.toLong())
             bufferingMessageCollector.flush(originalMessageCollector)
 
             if (exitCode != ExitCode.OK) break
@@ -324,10 +337,12 @@ abstract class IncrementalCompilerRunner<
 
             val changesCollector = ChangesCollector()
             reporter.measure(BuildTime.IC_UPDATE_CACHES) {
-                caches.platformCache.updateComplementaryFiles(dirtySources, expectActualTracker)
-                caches.inputsCache.registerOutputForSourceFiles(generatedFiles)
-                caches.lookupCache.update(lookupTracker, sourcesToCompile, removedKotlinSources)
-                updateCaches(services, caches, generatedFiles, changesCollector)
+                TraceRecorder.span("Update caches", "ic") {
+                    caches.platformCache.updateComplementaryFiles(dirtySources, expectActualTracker)
+                    caches.inputsCache.registerOutputForSourceFiles(generatedFiles)
+                    caches.lookupCache.update(lookupTracker, sourcesToCompile, removedKotlinSources)
+                    updateCaches(services, caches, generatedFiles, changesCollector)
+                }
             }
             if (compilationMode is CompilationMode.Rebuild) break
 
@@ -358,6 +373,7 @@ abstract class IncrementalCompilerRunner<
         if (exitCode == ExitCode.OK) {
             BuildInfo.write(currentBuildInfo, lastBuildInfoFile)
         }
+        postBuildHook(args, exitCode)
         if (exitCode == ExitCode.OK && compilationMode is CompilationMode.Incremental) {
             buildDirtyLookupSymbols.addAll(additionalDirtyLookupSymbols())
         }
@@ -407,7 +423,7 @@ abstract class IncrementalCompilerRunner<
             BuildDifference(currentBuildInfo.startTS, false, emptyDirtyData)
         }
 
-        BuildDiffsStorage.writeToFile(buildHistoryFile, BuildDiffsStorage(prevDiffs + newDiff), reporter)
+        BuildDiffsStorage.writeToFile(buildHistoryFile, BuildDiffsStorage(prevDiffs + newDiff))
     }
 
     companion object {
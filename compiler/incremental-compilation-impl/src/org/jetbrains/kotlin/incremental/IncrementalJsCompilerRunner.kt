@@ -33,6 +33,7 @@ import org.jetbrains.kotlin.incremental.components.LookupTracker
 import org.jetbrains.kotlin.incremental.js.*
 import org.jetbrains.kotlin.incremental.multiproject.EmptyModulesApiHistory
 import org.jetbrains.kotlin.incremental.multiproject.ModulesApiHistory
+import org.jetbrains.kotlin.incremental.storage.BasicMapsOwner
 import org.jetbrains.kotlin.library.metadata.KlibMetadataSerializerProtocol
 import org.jetbrains.kotlin.serialization.js.JsSerializerProtocol
 import java.io.File
@@ -105,6 +106,9 @@ class IncrementalJsCompilerRunner(
     ): CompilationMode {
         val lastBuildInfo = BuildInfo.read(lastBuildInfoFile)
             ?: return CompilationMode.Rebuild(BuildAttribute.NO_BUILD_HISTORY)
+        if (lastBuildInfo.cacheStorageFormat != BasicMapsOwner.STORAGE_FORMAT_VERSION) {
+            return CompilationMode.Rebuild(BuildAttribute.CACHE_STORAGE_FORMAT_CHANGED)
+        }
 
         val dirtyFiles = DirtyFilesContainer(caches, reporter, kotlinSourceFilesExtensions)
         initDirtyFiles(dirtyFiles, changedFiles)
@@ -40,10 +40,14 @@ import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
 import org.jetbrains.kotlin.config.CompilerConfiguration
 import org.jetbrains.kotlin.config.IncrementalCompilation
 import org.jetbrains.kotlin.config.Services
+import org.jetbrains.kotlin.incremental.classpathDiff.ClasspathEntryFingerprint
+import org.jetbrains.kotlin.incremental.classpathDiff.ClasspathSnapshotStorage
+import org.jetbrains.kotlin.incremental.classpathDiff.getClasspathChangesFromSnapshots
 import org.jetbrains.kotlin.incremental.components.ExpectActualTracker
 import org.jetbrains.kotlin.incremental.components.LookupTracker
 import org.jetbrains.kotlin.incremental.multiproject.EmptyModulesApiHistory
 import org.jetbrains.kotlin.incremental.multiproject.ModulesApiHistory
+import org.jetbrains.kotlin.incremental.storage.BasicMapsOwner
 import org.jetbrains.kotlin.incremental.util.BufferingMessageCollector
 import org.jetbrains.kotlin.load.java.JavaClassesTracker
 import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader
@@ -114,7 +118,8 @@ class IncrementalJvmCompilerRunner(
     buildHistoryFile: File,
     outputFiles: Collection<File>,
     private val modulesApiHistory: ModulesApiHistory,
-    override val kotlinSourceFilesExtensions: List<String> = DEFAULT_KOTLIN_SOURCE_FILES_EXTENSIONS
+    override val kotlinSourceFilesExtensions: List<String> = DEFAULT_KOTLIN_SOURCE_FILES_EXTENSIONS,
+    useClasspathSnapshot: Boolean = false
 ) : IncrementalCompilerRunner<K2JVMCompilerArguments, IncrementalJvmCachesManager>(
     workingDir,
     "caches-jvm",
@@ -134,6 +139,12 @@ class IncrementalJvmCompilerRunner(
 
     private var dirtyClasspathChanges: Collection<FqName> = emptySet()
 
+    private val classpathSnapshotStorage =
+        if (useClasspathSnapshot) ClasspathSnapshotStorage(File(workingDir, "classpath-snapshot"), reporter) else null
+
+    // computed before the destination directory is added to the classpath by preBuildHook
+    private var classpathFingerprints: List<ClasspathEntryFingerprint>? = null
+
     private val psiFileProvider = object {
         val messageCollector = BufferingMessageCollector()
 
@@ -183,9 +194,18 @@ class IncrementalJvmCompilerRunner(
 
         val lastBuildInfo = BuildInfo.read(lastBuildInfoFile) ?: return CompilationMode.Rebuild(BuildAttribute.NO_BUILD_HISTORY)
         reporter.reportVerbose { "Last Kotlin Build info -- $lastBuildInfo" }
+        if (lastBuildInfo.cacheStorageFormat != BasicMapsOwner.STORAGE_FORMAT_VERSION) {
+            return CompilationMode.Rebuild(BuildAttribute.CACHE_STORAGE_FORMAT_CHANGED)
+        }
 
         val classpathChanges = reporter.measure(BuildTime.IC_ANALYZE_CHANGES_IN_DEPENDENCIES) {
-            getClasspathChanges(args.classpathAsList, changedFiles, lastBuildInfo, modulesApiHistory, reporter)
+            if (classpathSnapshotStorage != null) {
+                val fingerprints = classpathSnapshotStorage.fingerprints(args.classpathAsList, changedFiles)
+                classpathFingerprints = fingerprints
+                getClasspathChangesFromSnapshots(fingerprints, classpathSnapshotStorage, listOf(caches.platformCache), reporter)
+            } else {
+                getClasspathChanges(args.classpathAsList, changedFiles, lastBuildInfo, modulesApiHistory, reporter)
+            }
         }
 
         @Suppress("UNUSED_VARIABLE") // for sealed when
@@ -291,6 +311,15 @@ class IncrementalJvmCompilerRunner(
         }
     }
 
+    override fun postBuildHook(args: K2JVMCompilerArguments, exitCode: ExitCode) {
+        if (classpathSnapshotStorage == null || exitCode != ExitCode.OK) return
+
+        reporter.measure(BuildTime.IC_UPDATE_CLASSPATH_SNAPSHOT) {
+            val fingerprints = classpathFingerprints ?: classpathSnapshotStorage.fingerprints(args.classpathAsList)
+            classpathSnapshotStorage.saveBuild(fingerprints)
+        }
+    }
+
     override fun updateCaches(
         services: Services,
         caches: IncrementalJvmCachesManager,
@@ -59,7 +59,7 @@ internal fun getClasspathChanges(
 
     fun analyzeHistoryFiles(): ChangesEither {
         for (historyFile in historyFiles) {
-            val allBuilds = BuildDiffsStorage.readDiffsFromFile(historyFile, reporter = reporter)
+            val allBuilds = BuildDiffsSnapshots.readDiffs(historyFile, reporter = reporter)
                 ?: return run {
                     reporter.report { "Could not read diffs from $historyFile" }
                     ChangesEither.Unknown(BuildAttribute.DEP_CHANGE_HISTORY_CANNOT_BE_READ)
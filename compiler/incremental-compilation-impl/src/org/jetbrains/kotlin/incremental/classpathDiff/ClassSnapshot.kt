@@ -0,0 +1,204 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.classpathDiff
+
+import org.jetbrains.kotlin.incremental.md5
+import org.jetbrains.kotlin.incremental.storage.ProtoMapValue
+import org.jetbrains.kotlin.inline.inlineFunctionsJvmNames
+import org.jetbrains.kotlin.load.kotlin.FileBasedKotlinClass
+import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader
+import org.jetbrains.kotlin.metadata.jvm.deserialization.BitEncoding
+import org.jetbrains.kotlin.resolve.jvm.AsmTypes
+import org.jetbrains.org.objectweb.asm.*
+import java.io.File
+import java.util.zip.ZipFile
+
+/**
+ * ABI of a class on the classpath: the part of the class that can affect the compilation of sources using it.
+ *
+ * A Kotlin class is described by its metadata [kotlinProto], which is compared like the metadata of compiled sources, and by
+ * [memberHashes] of its constants and inline functions, because their values and bodies are copied into the callers.
+ * A Java class is described by [classHash] of its header and by [memberHashes] of its non-private fields and methods,
+ * bodies of methods and private members are stripped like in ABI jars.
+ */
+class ClassSnapshot(
+    val internalName: String,
+    val kotlinProto: ProtoMapValue?,
+    val classHash: Long,
+    val memberHashes: Map<String, Long>
+)
+
+/**
+ * Snapshots of classes of a classpath entry (a jar or a directory) by their internal names.
+ */
+class ClasspathEntrySnapshot(val classSnapshots: Map<String, ClassSnapshot>) {
+    companion object {
+        val EMPTY = ClasspathEntrySnapshot(emptyMap())
+    }
+}
+
+object ClasspathEntrySnapshotter {
+    fun snapshot(entry: File): ClasspathEntrySnapshot {
+        val classSnapshots = HashMap<String, ClassSnapshot>()
+        fun add(bytes: ByteArray) {
+            val snapshot = snapshotClass(bytes) ?: return
+            classSnapshots.putIfAbsent(snapshot.internalName, snapshot)
+        }
+
+        when {
+            entry.isDirectory -> {
+                entry.walk().filter { it.isFile && it.isClassFile(it.toRelativeString(entry)) }.forEach { add(it.readBytes()) }
+            }
+            entry.isFile -> ZipFile(entry).use { zip ->
+                for (zipEntry in zip.entries()) {
+                    if (zipEntry.isDirectory || !File(zipEntry.name).isClassFile(zipEntry.name)) continue
+                    add(zip.getInputStream(zipEntry).use { it.readBytes() })
+                }
+            }
+        }
+
+        return ClasspathEntrySnapshot(classSnapshots)
+    }
+
+    fun snapshotClass(bytes: ByteArray): ClassSnapshot? {
+        val kotlinClass = FileBasedKotlinClass.create(bytes) { classId, _, header, _ -> classId to header }
+        val header = kotlinClass?.second
+        if (header?.data == null || header.strings == null) return snapshotJavaClass(bytes)
+
+        return when (header.kind) {
+            KotlinClassHeader.Kind.CLASS, KotlinClassHeader.Kind.FILE_FACADE, KotlinClassHeader.Kind.MULTIFILE_CLASS_PART ->
+                snapshotKotlinClass(header, bytes)
+            // members of synthetic classes and multifile class facades are described by the metadata of other classes
+            else -> null
+        }
+    }
+
+    private fun File.isClassFile(relativePath: String): Boolean =
+        extension.equals("class", ignoreCase = true) && name != MODULE_INFO_FILE_NAME &&
+                !relativePath.replace(File.separatorChar, '/').startsWith(META_INF_PREFIX)
+
+    private fun snapshotKotlinClass(header: KotlinClassHeader, bytes: ByteArray): ClassSnapshot {
+        val proto = ProtoMapValue(header.kind != KotlinClassHeader.Kind.CLASS, BitEncoding.decodeBytes(header.data!!), header.strings!!)
+        val inlineFunctions = inlineFunctionsJvmNames(header)
+        val memberHashes = MemberHashes()
+        var className = ""
+        var classVersion = 0
+
+        ClassReader(bytes).accept(object : ClassVisitor(Opcodes.API_VERSION) {
+            override fun visit(version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<out String>?) {
+                className = name
+                classVersion = version
+            }
+
+            override fun visitField(access: Int, name: String, desc: String, signature: String?, value: Any?): FieldVisitor? {
+                val constant = Opcodes.ACC_STATIC or Opcodes.ACC_FINAL
+                if (value != null && access and (constant or Opcodes.ACC_PRIVATE) == constant) {
+                    memberHashes.add(name, "$desc=$value")
+                }
+                return null
+            }
+
+            override fun visitMethod(access: Int, name: String, desc: String, signature: String?, exceptions: Array<out String>?): MethodVisitor? {
+                if (name + desc !in inlineFunctions) return null
+
+                // the body of an inline function is hashed together with its signature, the same way as in the incremental caches
+                val methodWriter = ClassWriter(0)
+                methodWriter.visit(classVersion, 0, "dummy", null, AsmTypes.OBJECT_TYPE.internalName, null)
+                return object : MethodVisitor(Opcodes.API_VERSION, methodWriter.visitMethod(0, name, desc, null, exceptions)) {
+                    override fun visitEnd() {
+                        super.visitEnd()
+                        memberHashes.add(name, methodWriter.toByteArray().md5().toString())
+                    }
+                }
+            }
+        }, ClassReader.SKIP_FRAMES)
+
+        return ClassSnapshot(className, proto, classHash = 0L, memberHashes = memberHashes.build())
+    }
+
+    private fun snapshotJavaClass(bytes: ByteArray): ClassSnapshot? {
+        var className: String? = null
+        val classAbi = StringBuilder()
+        val memberHashes = MemberHashes()
+
+        ClassReader(bytes).accept(object : ClassVisitor(Opcodes.API_VERSION) {
+            override fun visit(version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<out String>?) {
+                if (access and Opcodes.ACC_SYNTHETIC != 0) return
+                className = name
+                classAbi.append(access).append(' ').append(name).append(' ').append(signature)
+                    .append(' ').append(superName).append(' ').append(interfaces?.joinToString())
+            }
+
+            override fun visitAnnotation(desc: String, visible: Boolean): AnnotationVisitor? {
+                classAbi.append(" @").append(desc)
+                return null
+            }
+
+            override fun visitField(access: Int, name: String, desc: String, signature: String?, value: Any?): FieldVisitor? {
+                if (access and (Opcodes.ACC_PRIVATE or Opcodes.ACC_SYNTHETIC) != 0) return null
+
+                val fieldAbi = StringBuilder().append(access).append(' ').append(desc).append(' ').append(signature).append(' ').append(value)
+                return object : FieldVisitor(Opcodes.API_VERSION) {
+                    override fun visitAnnotation(desc: String, visible: Boolean): AnnotationVisitor? {
+                        fieldAbi.append(" @").append(desc)
+                        return null
+                    }
+
+                    override fun visitEnd() {
+                        memberHashes.add(name, fieldAbi.toString())
+                    }
+                }
+            }
+
+            override fun visitMethod(access: Int, name: String, desc: String, signature: String?, exceptions: Array<out String>?): MethodVisitor? {
+                if (access and (Opcodes.ACC_PRIVATE or Opcodes.ACC_SYNTHETIC) != 0 || name == "<clinit>") return null
+
+                val methodAbi = StringBuilder().append(access).append(' ').append(desc).append(' ').append(signature)
+                    .append(' ').append(exceptions?.joinToString())
+                return object : MethodVisitor(Opcodes.API_VERSION) {
+                    override fun visitAnnotation(desc: String, visible: Boolean): AnnotationVisitor? {
+                        methodAbi.append(" @").append(desc)
+                        return null
+                    }
+
+                    override fun visitParameterAnnotation(parameter: Int, desc: String, visible: Boolean): AnnotationVisitor? {
+                        methodAbi.append(" @").append(parameter).append(desc)
+                        return null
+                    }
+
+                    override fun visitEnd() {
+                        // constructors are not looked up by name, so they are a part of the class header
+                        if (name == "<init>") {
+                            classAbi.append(" <init>").append(methodAbi)
+                        } else {
+                            memberHashes.add(name, methodAbi.toString())
+                        }
+                    }
+                }
+            }
+        }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
+
+        val name = className ?: return null
+        return ClassSnapshot(name, kotlinProto = null, classHash = classAbi.toString().toByteArray().md5(), memberHashes = memberHashes.build())
+    }
+
+    /**
+     * Combines ABI of overloads, because members are looked up by names.
+     */
+    private class MemberHashes {
+        private val abiByName = HashMap<String, MutableList<String>>()
+
+        fun add(name: String, abi: String) {
+            abiByName.getOrPut(name) { ArrayList() }.add(abi)
+        }
+
+        fun build(): Map<String, Long> =
+            abiByName.mapValues { (_, abis) -> abis.sorted().joinToString("\n").toByteArray().md5() }
+    }
+
+    private const val MODULE_INFO_FILE_NAME = "module-info.class"
+    private const val META_INF_PREFIX = "META-INF/"
+}
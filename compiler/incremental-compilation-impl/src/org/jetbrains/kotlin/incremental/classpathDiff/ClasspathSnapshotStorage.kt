@@ -0,0 +1,176 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.classpathDiff
+
+import org.jetbrains.kotlin.build.report.ICReporter
+import org.jetbrains.kotlin.incremental.ChangedFiles
+import org.jetbrains.kotlin.incremental.storage.ProtoMapValueExternalizer
+import org.jetbrains.kotlin.incremental.storage.StringToLongMapExternalizer
+import java.io.*
+import java.security.MessageDigest
+
+/**
+ * Identifies the content of a classpath [entry] by the paths, sizes and modification times of its files, like build tools do.
+ */
+class ClasspathEntryFingerprint(val entry: File, val hash: String)
+
+/**
+ * Stores snapshots of classpath entries in [storageDir] by their fingerprints, so that an entry is snapshotted only once after
+ * it's changed, and the fingerprints of the classpath of the last successful build.
+ */
+class ClasspathSnapshotStorage(private val storageDir: File, private val reporter: ICReporter) {
+    private val lastBuildClasspathFile = File(storageDir, LAST_BUILD_CLASSPATH_FILE_NAME)
+
+    /**
+     * Fingerprints all entries of [classpath], e.g. when the changed files are unknown.
+     */
+    fun fingerprints(classpath: List<File>): List<ClasspathEntryFingerprint> =
+        classpath.map(::fingerprint)
+
+    /**
+     * Fingerprints only the entries of [classpath] that contain files from [changedFiles] or are new since the last build.
+     * Other entries keep their fingerprints of the last build, so they aren't walked again.
+     */
+    fun fingerprints(classpath: List<File>, changedFiles: ChangedFiles.Known): List<ClasspathEntryFingerprint> {
+        val lastBuildByEntry = readLastBuildFingerprints()?.associateBy { it.entry.absoluteFile } ?: return fingerprints(classpath)
+
+        // a changed file is either an entry itself or a file under a directory entry
+        val changedEntries = HashSet<File>()
+        for (file in changedFiles.modified + changedFiles.removed) {
+            var current: File? = file.absoluteFile
+            while (current != null && changedEntries.add(current)) {
+                current = current.parentFile
+            }
+        }
+
+        return classpath.map { entry ->
+            val absoluteEntry = entry.absoluteFile
+            lastBuildByEntry[absoluteEntry]?.takeIf { absoluteEntry !in changedEntries } ?: fingerprint(entry)
+        }
+    }
+
+    private fun fingerprint(entry: File): ClasspathEntryFingerprint {
+        val digest = MessageDigest.getInstance("MD5")
+        fun add(value: String) {
+            digest.update(value.toByteArray(Charsets.UTF_8))
+            digest.update(0)
+        }
+
+        add(entry.absolutePath)
+        val files = if (entry.isDirectory) entry.walk().filter { it.isFile }.sortedBy { it.path } else sequenceOf(entry)
+        for (file in files) {
+            add(file.toRelativeString(entry))
+            add(file.length().toString())
+            add(file.lastModified().toString())
+        }
+        return ClasspathEntryFingerprint(entry, digest.digest().joinToString("") { "%02x".format(it) })
+    }
+
+    fun readLastBuildFingerprints(): List<ClasspathEntryFingerprint>? =
+        read(lastBuildClasspathFile) { input ->
+            List(input.readInt()) { ClasspathEntryFingerprint(File(input.readUTF()), input.readUTF()) }
+        }
+
+    fun readSnapshot(fingerprint: ClasspathEntryFingerprint): ClasspathEntrySnapshot? =
+        read(snapshotFile(fingerprint)) { input -> readEntrySnapshot(input) }
+
+    fun getOrCreateSnapshot(fingerprint: ClasspathEntryFingerprint): ClasspathEntrySnapshot {
+        readSnapshot(fingerprint)?.let { return it }
+
+        val snapshot = ClasspathEntrySnapshotter.snapshot(fingerprint.entry)
+        write(snapshotFile(fingerprint)) { output -> writeEntrySnapshot(output, snapshot) }
+        return snapshot
+    }
+
+    /**
+     * Remembers [fingerprints] of the classpath of a successful build and drops snapshots of other entries.
+     * If the snapshots can't be stored, the next build has to be a rebuild.
+     */
+    fun saveBuild(fingerprints: List<ClasspathEntryFingerprint>) {
+        try {
+            for (fingerprint in fingerprints) {
+                if (!snapshotFile(fingerprint).exists()) {
+                    getOrCreateSnapshot(fingerprint)
+                }
+            }
+
+            write(lastBuildClasspathFile) { output ->
+                output.writeInt(fingerprints.size)
+                for (fingerprint in fingerprints) {
+                    output.writeUTF(fingerprint.entry.absolutePath)
+                    output.writeUTF(fingerprint.hash)
+                }
+            }
+
+            val usedSnapshotFiles = fingerprints.mapTo(HashSet()) { snapshotFile(it).name }
+            storageDir.listFiles { file -> file.name.endsWith(SNAPSHOT_FILE_EXTENSION) && file.name !in usedSnapshotFiles }
+                ?.forEach { it.delete() }
+        } catch (e: IOException) {
+            reporter.report { "Could not save classpath snapshot: $e" }
+            lastBuildClasspathFile.delete()
+        }
+    }
+
+    private fun snapshotFile(fingerprint: ClasspathEntryFingerprint): File =
+        File(storageDir, fingerprint.hash + SNAPSHOT_FILE_EXTENSION)
+
+    private fun <T> read(file: File, readValue: (DataInput) -> T): T? {
+        if (!file.exists()) return null
+
+        try {
+            DataInputStream(file.inputStream().buffered()).use { input ->
+                val version = input.readInt()
+                if (version != CURRENT_VERSION) {
+                    reporter.report { "Could not read $file: incompatible version $version, actual version is $CURRENT_VERSION" }
+                    return null
+                }
+                return readValue(input)
+            }
+        } catch (e: IOException) {
+            reporter.report { "Could not read $file: $e" }
+        }
+
+        return null
+    }
+
+    private fun write(file: File, writeValue: (DataOutput) -> Unit) {
+        storageDir.mkdirs()
+        DataOutputStream(file.outputStream().buffered()).use { output ->
+            output.writeInt(CURRENT_VERSION)
+            writeValue(output)
+        }
+    }
+
+    private fun writeEntrySnapshot(output: DataOutput, snapshot: ClasspathEntrySnapshot) {
+        output.writeInt(snapshot.classSnapshots.size)
+        for (classSnapshot in snapshot.classSnapshots.values) {
+            output.writeUTF(classSnapshot.internalName)
+            output.writeBoolean(classSnapshot.kotlinProto != null)
+            classSnapshot.kotlinProto?.let { ProtoMapValueExternalizer.save(output, it) }
+            output.writeLong(classSnapshot.classHash)
+            StringToLongMapExternalizer.save(output, classSnapshot.memberHashes)
+        }
+    }
+
+    private fun readEntrySnapshot(input: DataInput): ClasspathEntrySnapshot {
+        val size = input.readInt()
+        val classSnapshots = HashMap<String, ClassSnapshot>(size)
+        repeat(size) {
+            val internalName = input.readUTF()
+            val kotlinProto = if (input.readBoolean()) ProtoMapValueExternalizer.read(input) else null
+            val classHash = input.readLong()
+            val memberHashes = StringToLongMapExternalizer.read(input)!!
+            classSnapshots[internalName] = ClassSnapshot(internalName, kotlinProto, classHash, memberHashes)
+        }
+        return ClasspathEntrySnapshot(classSnapshots)
+    }
+
+    companion object {
+        private const val CURRENT_VERSION = 0
+        private const val LAST_BUILD_CLASSPATH_FILE_NAME = "last-build-classpath.bin"
+        private const val SNAPSHOT_FILE_EXTENSION = ".snapshot"
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.classpathDiff
+
+import org.jetbrains.kotlin.build.report.BuildReporter
+import org.jetbrains.kotlin.build.report.metrics.BuildAttribute
+import org.jetbrains.kotlin.build.report.metrics.BuildTime
+import org.jetbrains.kotlin.build.report.metrics.measure
+import org.jetbrains.kotlin.incremental.ChangesCollector
+import org.jetbrains.kotlin.incremental.ChangesEither
+import org.jetbrains.kotlin.incremental.IncrementalCacheCommon
+import org.jetbrains.kotlin.incremental.getDirtyData
+import org.jetbrains.kotlin.incremental.toProtoData
+import org.jetbrains.kotlin.name.SpecialNames
+import org.jetbrains.kotlin.resolve.jvm.JvmClassName
+import java.io.IOException
+
+/**
+ * Computes changes of the classpath since the last successful build by comparing snapshots of the changed classpath entries,
+ * so that only sources using the changed ABI are recompiled, even if the changed entries have no build history.
+ *
+ * A class is compared with the class of the same name in the same entry, so moving a class between entries is seen as
+ * its removal and addition, and duplicate classes in different entries are not resolved in the order of the classpath.
+ */
+internal fun getClasspathChangesFromSnapshots(
+    currentFingerprints: List<ClasspathEntryFingerprint>,
+    storage: ClasspathSnapshotStorage,
+    caches: Iterable<IncrementalCacheCommon>,
+    reporter: BuildReporter
+): ChangesEither {
+    val lastBuildFingerprints = storage.readLastBuildFingerprints()
+        ?: return ChangesEither.Unknown(BuildAttribute.DEP_CHANGE_CLASSPATH_SNAPSHOT_IS_NOT_FOUND)
+
+    val lastBuildByEntry = lastBuildFingerprints.associateBy { it.entry.absoluteFile }
+    val currentByEntry = currentFingerprints.associateBy { it.entry.absoluteFile }
+    val changesCollector = ChangesCollector()
+
+    for (entry in lastBuildByEntry.keys + currentByEntry.keys) {
+        val lastBuildFingerprint = lastBuildByEntry[entry]
+        val currentFingerprint = currentByEntry[entry]
+        if (lastBuildFingerprint?.hash == currentFingerprint?.hash) continue
+
+        reporter.reportVerbose { "Classpath entry is changed: $entry" }
+        val lastBuildSnapshot = if (lastBuildFingerprint == null) ClasspathEntrySnapshot.EMPTY else {
+            storage.readSnapshot(lastBuildFingerprint) ?: run {
+                reporter.report { "Could not find snapshot of $entry from the last build" }
+                return ChangesEither.Unknown(BuildAttribute.DEP_CHANGE_CLASSPATH_SNAPSHOT_IS_NOT_FOUND)
+            }
+        }
+        val currentSnapshot = if (currentFingerprint == null) ClasspathEntrySnapshot.EMPTY else {
+            try {
+                reporter.measure(BuildTime.IC_SNAPSHOT_CLASSPATH) {
+                    storage.getOrCreateSnapshot(currentFingerprint)
+                }
+            } catch (e: IOException) {
+                reporter.report { "Could not snapshot $entry: $e" }
+                return ChangesEither.Unknown(BuildAttribute.DEP_CHANGE_CLASSPATH_SNAPSHOT_IS_NOT_FOUND)
+            }
+        }
+
+        changesCollector.collectClasspathEntryChanges(lastBuildSnapshot, currentSnapshot)
+    }
+
+    val dirtyData = changesCollector.getDirtyData(caches, reporter)
+    return ChangesEither.Known(dirtyData.dirtyLookupSymbols, dirtyData.dirtyClassesFqNames)
+}
+
+internal fun ChangesCollector.collectClasspathEntryChanges(lastBuild: ClasspathEntrySnapshot, current: ClasspathEntrySnapshot) {
+    for (internalName in lastBuild.classSnapshots.keys + current.classSnapshots.keys) {
+        collectClassChanges(lastBuild.classSnapshots[internalName], current.classSnapshots[internalName])
+    }
+}
+
+private fun ChangesCollector.collectClassChanges(lastBuild: ClassSnapshot?, current: ClassSnapshot?) {
+    if (lastBuild != null && current != null && (lastBuild.kotlinProto == null) != (current.kotlinProto == null)) {
+        // a Java class is replaced with a Kotlin class or vice versa
+        collectClassChanges(lastBuild, null)
+        collectClassChanges(null, current)
+        return
+    }
+
+    val className = JvmClassName.byInternalName((current ?: lastBuild)!!.internalName)
+    if ((current ?: lastBuild)!!.kotlinProto != null) {
+        collectKotlinClassChanges(className, lastBuild, current)
+    } else {
+        collectJavaClassChanges(className, lastBuild, current)
+    }
+}
+
+private fun ChangesCollector.collectKotlinClassChanges(className: JvmClassName, lastBuild: ClassSnapshot?, current: ClassSnapshot?) {
+    val lastBuildProto = lastBuild?.kotlinProto
+    val currentProto = current?.kotlinProto
+    val packageFqName = className.packageFqName
+    if (lastBuildProto == null || currentProto == null ||
+        !(lastBuildProto.bytes contentEquals currentProto.bytes && lastBuildProto.strings contentEquals currentProto.strings)
+    ) {
+        collectProtoChanges(lastBuildProto?.toProtoData(packageFqName), currentProto?.toProtoData(packageFqName))
+    }
+
+    val isPackageFacade = (currentProto ?: lastBuildProto)!!.isPackageFacade
+    val scope = if (isPackageFacade) packageFqName else className.fqNameForClassNameWithoutDollars
+    collectMemberHashChanges(lastBuild, current) { name, lastBuildHash, currentHash ->
+        collectMemberIfValueWasChanged(scope, name, lastBuildHash, currentHash)
+        if (!isPackageFacade) {
+            // constants of companion objects are stored in their containing classes
+            collectMemberIfValueWasChanged(scope.child(SpecialNames.DEFAULT_NAME_FOR_COMPANION_OBJECT), name, lastBuildHash, currentHash)
+        }
+    }
+}
+
+private fun ChangesCollector.collectJavaClassChanges(className: JvmClassName, lastBuild: ClassSnapshot?, current: ClassSnapshot?) {
+    val fqName = className.fqNameForClassNameWithoutDollars
+    if (lastBuild?.classHash != current?.classHash) {
+        collectSignature(fqName, areSubclassesAffected = lastBuild != null)
+    }
+
+    collectMemberHashChanges(lastBuild, current) { name, lastBuildHash, currentHash ->
+        collectMemberIfValueWasChanged(fqName, name, lastBuildHash, currentHash)
+    }
+}
+
+private inline fun collectMemberHashChanges(
+    lastBuild: ClassSnapshot?,
+    current: ClassSnapshot?,
+    collect: (name: String, lastBuildHash: Long?, currentHash: Long?) -> Unit
+) {
+    val lastBuildHashes = lastBuild?.memberHashes.orEmpty()
+    val currentHashes = current?.memberHashes.orEmpty()
+    for (name in lastBuildHashes.keys + currentHashes.keys) {
+        val lastBuildHash = lastBuildHashes[name]
+        val currentHash = currentHashes[name]
+        if (lastBuildHash != currentHash) {
+            collect(name, lastBuildHash, currentHash)
+        }
+    }
+}
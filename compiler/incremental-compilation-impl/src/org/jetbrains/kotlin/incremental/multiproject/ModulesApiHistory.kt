@@ -10,6 +10,7 @@ import org.jetbrains.kotlin.incremental.util.Either
 import java.io.File
 import java.nio.file.Path
 import java.nio.file.Paths
+import java.util.concurrent.ConcurrentHashMap
 import java.util.zip.ZipFile
 
 interface ModulesApiHistory {
@@ -30,7 +31,8 @@ abstract class ModulesApiHistoryBase(protected val modulesInfo: IncrementalModul
         Paths.get(modulesInfo.rootProjectBuildDir.parentFile.absolutePath),
         Paths.get(modulesInfo.projectRoot.absolutePath)
     )
-    private val dirToHistoryFileCache = HashMap<File, Set<File>>()
+    // The same instance can be used by several compilations running in parallel
+    private val dirToHistoryFileCache = ConcurrentHashMap<File, Set<File>>()
 
     override fun historyFilesForChangedFiles(changedFiles: Set<File>): Either<Set<File>> {
         val result = HashSet<File>()
@@ -22,6 +22,7 @@ import org.junit.Assert
 import org.junit.Before
 import org.junit.Test
 import java.io.File
+import java.io.IOException
 import java.nio.file.Files
 import java.util.*
 
@@ -37,6 +38,7 @@ class BuildDiffsStorageTest {
     @After
     fun tearDown() {
         storageFile.delete()
+        BuildDiffsSnapshots.clear()
     }
 
     @Test
@@ -54,7 +56,7 @@ class BuildDiffsStorageTest {
     @Test
     fun writeReadSimple() {
         val diffs = BuildDiffsStorage(listOf(getRandomDiff()))
-        BuildDiffsStorage.writeToFile(storageFile, diffs, reporter = null)
+        BuildDiffsStorage.writeToFile(storageFile, diffs)
 
         val diffsDeserialized = BuildDiffsStorage.readFromFile(storageFile, reporter = null)
         Assert.assertEquals(diffs.toString(), diffsDeserialized.toString())
@@ -64,7 +66,7 @@ class BuildDiffsStorageTest {
     fun writeReadMany() {
         val generated = Array(20) { getRandomDiff() }.toList()
         val diffs = BuildDiffsStorage(generated)
-        BuildDiffsStorage.writeToFile(storageFile, diffs, reporter = null)
+        BuildDiffsStorage.writeToFile(storageFile, diffs)
 
         val diffsDeserialized = BuildDiffsStorage.readFromFile(storageFile, reporter = null)
         val expected = generated.sortedBy { it.ts }.takeLast(BuildDiffsStorage.MAX_DIFFS_ENTRIES).toTypedArray()
@@ -82,7 +84,7 @@ class BuildDiffsStorageTest {
     @Test
     fun versionChanged() {
         val diffs = BuildDiffsStorage(listOf(getRandomDiff()))
-        BuildDiffsStorage.writeToFile(storageFile, diffs, reporter = null)
+        BuildDiffsStorage.writeToFile(storageFile, diffs)
 
         val versionBackup = BuildDiffsStorage.CURRENT_VERSION
         try {
@@ -94,6 +96,87 @@ class BuildDiffsStorageTest {
         }
     }
 
+    @Test
+    fun snapshotIsReused() {
+        BuildDiffsStorage.writeToFile(storageFile, BuildDiffsStorage(listOf(getRandomDiff())))
+
+        val first = BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+        val second = BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+        Assert.assertNotNull(first)
+        Assert.assertSame(first, second)
+    }
+
+    @Test
+    fun snapshotIsUpdatedAfterWrite() {
+        BuildDiffsStorage.writeToFile(storageFile, BuildDiffsStorage(listOf(getRandomDiff())))
+        BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+
+        val generated = listOf(getRandomDiff(), getRandomDiff())
+        BuildDiffsStorage.writeToFile(storageFile, BuildDiffsStorage(generated))
+
+        val diffs = BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+        Assert.assertArrayEquals(generated.sortedBy { it.ts }.toTypedArray(), diffs?.toTypedArray())
+    }
+
+    @Test
+    fun leastRecentlyReadSnapshotIsEvicted() {
+        BuildDiffsStorage.writeToFile(storageFile, BuildDiffsStorage(listOf(getRandomDiff())))
+        val first = BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+
+        val otherFiles = List(BuildDiffsSnapshots.MAX_SNAPSHOTS) { Files.createTempFile("BuildDiffsStorageTest", "storage").toFile() }
+        try {
+            for (file in otherFiles) {
+                BuildDiffsStorage.writeToFile(file, BuildDiffsStorage(listOf(getRandomDiff())))
+                BuildDiffsSnapshots.readDiffs(file, reporter = null)
+            }
+
+            val second = BuildDiffsSnapshots.readDiffs(storageFile, reporter = null)
+            Assert.assertEquals(first, second)
+            Assert.assertNotSame(first, second)
+        } finally {
+            otherFiles.forEach { it.delete() }
+        }
+    }
+
+    @Test
+    fun concurrentWritersDontInterfere() {
+        val dir = Files.createTempDirectory("BuildDiffsStorageTest").toFile()
+        try {
+            val file = File(dir, "build-history.bin")
+            val writers = List(8) {
+                val diffs = BuildDiffsStorage(List(BuildDiffsStorage.MAX_DIFFS_ENTRIES) { getRandomDiff() })
+                Thread { repeat(20) { BuildDiffsStorage.writeToFile(file, diffs) } }
+            }
+            writers.forEach { it.start() }
+            writers.forEach { it.join() }
+
+            val diffs = BuildDiffsStorage.readFromFile(file, reporter = null)
+            Assert.assertEquals(BuildDiffsStorage.MAX_DIFFS_ENTRIES, diffs?.buildDiffs?.size)
+            Assert.assertArrayEquals(arrayOf(file.name), dir.list())
+        } finally {
+            dir.deleteRecursively()
+        }
+    }
+
+    @Test
+    fun failedWriteIsReported() {
+        val dir = Files.createTempDirectory("BuildDiffsStorageTest").toFile()
+        try {
+            // a non-empty directory can't be replaced with the written history
+            val file = File(dir, "build-history.bin")
+            File(file, "child").apply { parentFile.mkdirs() }.writeText("")
+
+            try {
+                BuildDiffsStorage.writeToFile(file, BuildDiffsStorage(listOf(getRandomDiff())))
+                Assert.fail("Failed write wasn't reported")
+            } catch (e: IOException) {
+            }
+            Assert.assertArrayEquals(arrayOf(file.name), dir.list())
+        } finally {
+            dir.deleteRecursively()
+        }
+    }
+
     private fun getRandomDiff(): BuildDifference {
         val ts = random.nextLong()
         val lookupSymbols = listOf(LookupSymbol("foo", "bar"))
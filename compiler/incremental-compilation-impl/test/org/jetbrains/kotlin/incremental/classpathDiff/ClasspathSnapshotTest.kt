@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.incremental.classpathDiff
+
+import org.jetbrains.kotlin.build.report.BuildReporter
+import org.jetbrains.kotlin.build.report.metrics.BuildAttribute
+import org.jetbrains.kotlin.build.report.metrics.DoNothingBuildMetricsReporter
+import org.jetbrains.kotlin.incremental.*
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.resolve.sam.SAM_LOOKUP_NAME
+import org.jetbrains.org.objectweb.asm.ClassWriter
+import org.jetbrains.org.objectweb.asm.Opcodes
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.nio.file.Files
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ClasspathSnapshotTest {
+    private lateinit var workingDir: File
+    private val reporter = BuildReporter(icReporter = EmptyICReporter, buildMetricsReporter = DoNothingBuildMetricsReporter)
+
+    @Before
+    fun setUp() {
+        workingDir = Files.createTempDirectory("ClasspathSnapshotTest").toFile()
+    }
+
+    @After
+    fun tearDown() {
+        workingDir.deleteRecursively()
+    }
+
+    @Test
+    fun publicMethodChanged() {
+        val changes = diff(
+            javaClass("foo/Bar", publicMethod = "()V", privateMethod = "()V"),
+            javaClass("foo/Bar", publicMethod = "(I)V", privateMethod = "()V")
+        )
+        Assert.assertEquals(changedPublicMethod("foo.Bar"), changes.dirtyLookupSymbols.toSet())
+        Assert.assertEquals(setOf(FqName("foo.Bar")), changes.dirtyClassesFqNames.toSet())
+    }
+
+    @Test
+    fun privateMethodChanged() {
+        val changes = diff(
+            javaClass("foo/Bar", publicMethod = "()V", privateMethod = "()V"),
+            javaClass("foo/Bar", publicMethod = "()V", privateMethod = "(I)V")
+        )
+        Assert.assertEquals(emptySet<LookupSymbol>(), changes.dirtyLookupSymbols.toSet())
+        Assert.assertEquals(emptySet<FqName>(), changes.dirtyClassesFqNames.toSet())
+    }
+
+    @Test
+    fun classRemoved() {
+        val changes = diff(javaClass("foo/Bar", publicMethod = "()V", privateMethod = "()V"), null)
+        Assert.assertEquals(setOf(FqName("foo.Bar")), changes.dirtyClassesFqNames.toSet())
+        Assert.assertTrue(LookupSymbol("publicMethod", "foo.Bar") in changes.dirtyLookupSymbols)
+    }
+
+    @Test
+    fun changesAreDetectedBySavedSnapshots() {
+        val jar = File(workingDir, "lib.jar")
+        val storage = ClasspathSnapshotStorage(File(workingDir, "snapshot"), EmptyICReporter)
+
+        writeJar(jar, javaClass("foo/Bar", publicMethod = "()V", privateMethod = "()V"), lastModified = 1000L)
+        Assert.assertEquals(
+            BuildAttribute.DEP_CHANGE_CLASSPATH_SNAPSHOT_IS_NOT_FOUND,
+            (getClasspathChangesFromSnapshots(storage.fingerprints(listOf(jar)), storage, emptyList(), reporter) as ChangesEither.Unknown).reason
+        )
+        storage.saveBuild(storage.fingerprints(listOf(jar)))
+
+        val unchanged = getClasspathChangesFromSnapshots(storage.fingerprints(listOf(jar)), storage, emptyList(), reporter)
+        Assert.assertEquals(emptyList<LookupSymbol>(), (unchanged as ChangesEither.Known).lookupSymbols.toList())
+
+        writeJar(jar, javaClass("foo/Bar", publicMethod = "(J)V", privateMethod = "()V"), lastModified = 2000L)
+        val changed = getClasspathChangesFromSnapshots(storage.fingerprints(listOf(jar)), storage, emptyList(), reporter)
+        Assert.assertEquals(changedPublicMethod("foo.Bar"), (changed as ChangesEither.Known).lookupSymbols.toSet())
+    }
+
+    @Test
+    fun onlyChangedEntriesAreFingerprinted() {
+        val jar = File(workingDir, "lib.jar")
+        val classesDir = File(workingDir, "classes")
+        val classFile = File(classesDir, "foo/Baz.class")
+        val storage = ClasspathSnapshotStorage(File(workingDir, "snapshot"), EmptyICReporter)
+
+        writeJar(jar, javaClass("foo/Bar", publicMethod = "()V", privateMethod = "()V"), lastModified = 1000L)
+        writeClass(classFile, javaClass("foo/Baz", publicMethod = "()V", privateMethod = "()V"), lastModified = 1000L)
+        val classpath = listOf(jar, classesDir)
+        storage.saveBuild(storage.fingerprints(classpath))
+
+        writeJar(jar, javaClass("foo/Bar", publicMethod = "(J)V", privateMethod = "()V"), lastModified = 2000L)
+        writeClass(classFile, javaClass("foo/Baz", publicMethod = "(J)V", privateMethod = "()V"), lastModified = 2000L)
+
+        fun changedLookupSymbols(vararg changedFiles: File): Set<LookupSymbol> {
+            val fingerprints = storage.fingerprints(classpath, ChangedFiles.Known(changedFiles.toList(), emptyList()))
+            val changes = getClasspathChangesFromSnapshots(fingerprints, storage, emptyList(), reporter)
+            return (changes as ChangesEither.Known).lookupSymbols.toSet()
+        }
+
+        // entries without changed files keep the fingerprints of the last build
+        Assert.assertEquals(emptySet<LookupSymbol>(), changedLookupSymbols())
+        Assert.assertEquals(emptySet<LookupSymbol>(), changedLookupSymbols(File(workingDir, "src/A.kt")))
+        Assert.assertEquals(changedPublicMethod("foo.Bar"), changedLookupSymbols(jar))
+        Assert.assertEquals(changedPublicMethod("foo.Baz"), changedLookupSymbols(classFile))
+    }
+
+    // a changed member also dirties SAM constructors of the class
+    private fun changedPublicMethod(fqName: String): Set<LookupSymbol> =
+        setOf(LookupSymbol("publicMethod", fqName), LookupSymbol(SAM_LOOKUP_NAME.asString(), fqName))
+
+    private fun diff(lastBuild: Pair<String, ByteArray>?, current: Pair<String, ByteArray>?): DirtyData {
+        fun snapshot(classFile: Pair<String, ByteArray>?): ClasspathEntrySnapshot {
+            val classSnapshot = classFile?.let { ClasspathEntrySnapshotter.snapshotClass(it.second) } ?: return ClasspathEntrySnapshot.EMPTY
+            return ClasspathEntrySnapshot(mapOf(classSnapshot.internalName to classSnapshot))
+        }
+
+        val changesCollector = ChangesCollector()
+        changesCollector.collectClasspathEntryChanges(snapshot(lastBuild), snapshot(current))
+        return changesCollector.getDirtyData(emptyList(), EmptyICReporter)
+    }
+
+    private fun javaClass(internalName: String, publicMethod: String, privateMethod: String): Pair<String, ByteArray> {
+        val writer = ClassWriter(0)
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC or Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null)
+        writer.visitMethod(Opcodes.ACC_PUBLIC, "publicMethod", publicMethod, null, null).visitEnd()
+        writer.visitMethod(Opcodes.ACC_PRIVATE, "privateMethod", privateMethod, null, null).visitEnd()
+        writer.visitEnd()
+        return "$internalName.class" to writer.toByteArray()
+    }
+
+    private fun writeClass(file: File, classFile: Pair<String, ByteArray>, lastModified: Long) {
+        file.parentFile.mkdirs()
+        file.writeBytes(classFile.second)
+        file.setLastModified(lastModified)
+    }
+
+    private fun writeJar(jar: File, classFile: Pair<String, ByteArray>, lastModified: Long) {
+        ZipOutputStream(jar.outputStream()).use { zip ->
+            zip.putNextEntry(ZipEntry(classFile.first))
+            zip.write(classFile.second)
+            zip.closeEntry()
+        }
+        jar.setLastModified(lastModified)
+    }
+}
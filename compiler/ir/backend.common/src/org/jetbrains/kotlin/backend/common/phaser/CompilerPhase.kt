@@ -6,6 +6,7 @@
 package org.jetbrains.kotlin.backend.common.phaser
 
 import org.jetbrains.kotlin.backend.common.CommonBackendContext
+import org.jetbrains.kotlin.utils.TraceRecorder
 import kotlin.system.measureTimeMillis
 
 class PhaserState<Data>(
@@ -89,11 +90,13 @@ class NamedCompilerPhase<in Context : CommonBackendContext, Data>(
         context.inVerbosePhase = this in phaseConfig.verbose
 
         runBefore(phaseConfig, phaserState, context, input)
-        val output = if (phaseConfig.needProfiling) {
-            runAndProfile(phaseConfig, phaserState, context, input)
-        } else {
-            phaserState.downlevel(nlevels) {
-                lower.invoke(phaseConfig, phaserState, context, input)
+        val output = TraceRecorder.span(name, "phase") {
+            if (phaseConfig.needProfiling) {
+                runAndProfile(phaseConfig, phaserState, context, input)
+            } else {
+                phaserState.downlevel(nlevels) {
+                    lower.invoke(phaseConfig, phaserState, context, input)
+                }
             }
         }
         runAfter(phaseConfig, phaserState, context, output)
@@ -23,6 +23,7 @@ import org.jetbrains.kotlin.ir.util.copyTypeAndValueArgumentsFrom
 import org.jetbrains.kotlin.ir.util.deepCopySavingMetadata
 import org.jetbrains.kotlin.ir.visitors.IrElementTransformerVoid
 import org.jetbrains.kotlin.ir.visitors.transformChildrenVoid
+import org.jetbrains.kotlin.utils.TraceRecorder
 import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicReference
@@ -61,8 +62,10 @@ private class PerformByIrFilePhase<Context : CommonBackendContext>(
         for (irFile in input.files) {
             try {
                 val filePhaserState = phaserState.changeType<IrModuleFragment, IrFile>()
-                for (phase in lower) {
-                    phase.invoke(phaseConfig, filePhaserState, context, irFile)
+                TraceRecorder.span(irFile.name, "file") {
+                    for (phase in lower) {
+                        phase.invoke(phaseConfig, filePhaserState, context, irFile)
+                    }
                 }
             } catch (e: Throwable) {
                 CodegenUtil.reportBackendException(e, "IR lowering", irFile.fileEntry.name)
@@ -98,8 +101,10 @@ private class PerformByIrFilePhase<Context : CommonBackendContext>(
             executor.execute {
                 try {
                     val filePhaserState = state.changeType<IrModuleFragment, IrFile>()
-                    for (phase in lower) {
-                        phase.invoke(phaseConfig, filePhaserState, context, irFile)
+                    TraceRecorder.span(irFile.name, "file") {
+                        for (phase in lower) {
+                            phase.invoke(phaseConfig, filePhaserState, context, irFile)
+                        }
                     }
                 } catch (e: Throwable) {
                     thrownFromThread.set(Pair(e, irFile))
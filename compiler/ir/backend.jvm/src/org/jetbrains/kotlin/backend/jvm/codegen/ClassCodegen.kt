@@ -47,6 +47,7 @@ import org.jetbrains.kotlin.resolve.jvm.annotations.VOLATILE_ANNOTATION_FQ_NAME
 import org.jetbrains.kotlin.resolve.jvm.checkers.JvmSimpleNameBacktickChecker
 import org.jetbrains.kotlin.resolve.jvm.diagnostics.*
 import org.jetbrains.kotlin.resolve.jvm.jvmSignature.JvmClassSignature
+import org.jetbrains.kotlin.utils.TraceRecorder
 import org.jetbrains.kotlin.utils.addToStdlib.cast
 import org.jetbrains.kotlin.utils.addToStdlib.firstIsInstanceOrNull
 import org.jetbrains.kotlin.utils.addToStdlib.safeAs
@@ -120,6 +121,12 @@ class ClassCodegen private constructor(
         if (generated) return
         generated = true
 
+        TraceRecorder.span(irClass.name.asString(), "codegen") {
+            generateClass()
+        }
+    }
+
+    private fun generateClass() {
         // We remove reads of `$$delegatedProperties` (and the field itself) if they are not in fact used for anything.
         val delegatedProperties = irClass.fields.singleOrNull { it.origin == JvmLoweredDeclarationOrigin.GENERATED_PROPERTY_REFERENCE }
         val delegatedPropertyOptimizer = if (delegatedProperties != null) DelegatedPropertyOptimizer() else null
@@ -33,6 +33,7 @@ import org.jetbrains.kotlin.psi2ir.generators.ModuleGenerator
 import org.jetbrains.kotlin.psi2ir.generators.TypeTranslatorImpl
 import org.jetbrains.kotlin.resolve.BindingContext
 import org.jetbrains.kotlin.utils.SmartList
+import org.jetbrains.kotlin.utils.TraceRecorder
 
 fun interface Psi2IrPostprocessingStep {
     fun invoke(irModuleFragment: IrModuleFragment)
@@ -76,12 +77,16 @@ class Psi2IrTranslator(
         expectDescriptorToSymbol: MutableMap<DeclarationDescriptor, IrSymbol>? = null
     ): IrModuleFragment {
         val moduleGenerator = ModuleGenerator(context, expectDescriptorToSymbol)
-        val irModule = moduleGenerator.generateModuleFragment(ktFiles)
+        val irModule = TraceRecorder.span("Psi2Ir", "psi2ir") {
+            moduleGenerator.generateModuleFragment(ktFiles)
+        }
 
         val deserializers = irProviders.filterIsInstance<IrDeserializer>()
         deserializers.forEach { it.init(irModule, linkerExtensions) }
 
-        moduleGenerator.generateUnboundSymbolsAsDependencies(irProviders)
+        TraceRecorder.span("Psi2Ir: dependencies", "psi2ir") {
+            moduleGenerator.generateUnboundSymbolsAsDependencies(irProviders)
+        }
 
         deserializers.forEach { it.postProcess() }
         context.symbolTable.noUnboundLeft("Unbound symbols not allowed\n")
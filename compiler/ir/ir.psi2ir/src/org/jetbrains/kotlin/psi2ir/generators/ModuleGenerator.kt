@@ -35,6 +35,7 @@ import org.jetbrains.kotlin.psi.KtFile
 import org.jetbrains.kotlin.psi2ir.transformations.insertImplicitCasts
 import org.jetbrains.kotlin.resolve.BindingContext
 import org.jetbrains.kotlin.resolve.lazy.descriptors.findPackageFragmentForFile
+import org.jetbrains.kotlin.utils.TraceRecorder
 import org.jetbrains.kotlin.utils.addIfNotNull
 
 class ModuleGenerator(
@@ -47,7 +48,9 @@ class ModuleGenerator(
         IrModuleFragmentImpl(context.moduleDescriptor, context.irBuiltIns).also { irModule ->
             val irDeclarationGenerator = DeclarationGenerator(context)
             ktFiles.toSet().mapTo(irModule.files) { ktFile ->
-                generateSingleFile(irDeclarationGenerator, ktFile, irModule)
+                TraceRecorder.span(ktFile.name, "file") {
+                    generateSingleFile(irDeclarationGenerator, ktFile, irModule)
+                }
             }
         }
 
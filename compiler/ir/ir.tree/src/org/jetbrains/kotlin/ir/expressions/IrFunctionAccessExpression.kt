@@ -14,7 +14,8 @@ abstract class IrFunctionAccessExpression(
     typeArgumentsCount: Int,
     valueArgumentsCount: Int,
 ) : IrMemberAccessExpression<IrFunctionSymbol>(typeArgumentsCount) {
-    private val argumentsByParameterIndex: Array<IrExpression?> = arrayOfNulls(valueArgumentsCount)
+    private val argumentsByParameterIndex: Array<IrExpression?> =
+        if (valueArgumentsCount == 0) EMPTY_VALUE_ARGUMENTS else arrayOfNulls(valueArgumentsCount)
 
     final override val valueArgumentsCount: Int
         get() = argumentsByParameterIndex.size
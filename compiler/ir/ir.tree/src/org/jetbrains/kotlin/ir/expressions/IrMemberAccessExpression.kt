@@ -33,7 +33,7 @@ abstract class IrMemberAccessExpression<S : IrSymbol>(typeArgumentsCount: Int) :
     abstract fun putValueArgument(index: Int, valueArgument: IrExpression?)
     abstract fun removeValueArgument(index: Int)
 
-    private val typeArgumentsByIndex = arrayOfNulls<IrType>(typeArgumentsCount)
+    private val typeArgumentsByIndex = if (typeArgumentsCount == 0) EMPTY_TYPE_ARGUMENTS else arrayOfNulls<IrType>(typeArgumentsCount)
 
     val typeArgumentsCount: Int get() = typeArgumentsByIndex.size
 
@@ -62,6 +62,11 @@ abstract class IrMemberAccessExpression<S : IrSymbol>(typeArgumentsCount: Int) :
     }
 }
 
+// Most calls have no type arguments or no value arguments, so all of them share the same empty array
+private val EMPTY_TYPE_ARGUMENTS = arrayOfNulls<IrType>(0)
+
+internal val EMPTY_VALUE_ARGUMENTS = arrayOfNulls<IrExpression>(0)
+
 internal fun IrMemberAccessExpression<*>.throwNoSuchArgumentSlotException(kind: String, index: Int, total: Int): Nothing {
     throw AssertionError(
         "No such $kind argument slot in ${this::class.java.simpleName}: $index (total=$total)" +
@@ -17,6 +17,7 @@
 package org.jetbrains.kotlin.ir.expressions.impl
 
 import org.jetbrains.kotlin.ir.ObsoleteDescriptorBasedAPI
+import org.jetbrains.kotlin.ir.expressions.EMPTY_VALUE_ARGUMENTS
 import org.jetbrains.kotlin.ir.expressions.IrExpression
 import org.jetbrains.kotlin.ir.expressions.IrFunctionReference
 import org.jetbrains.kotlin.ir.expressions.IrStatementOrigin
@@ -39,7 +40,8 @@ class IrFunctionReferenceImpl(
     override val referencedName: Name
         get() = symbol.owner.name
 
-    private val argumentsByParameterIndex: Array<IrExpression?> = arrayOfNulls(valueArgumentsCount)
+    private val argumentsByParameterIndex: Array<IrExpression?> =
+        if (valueArgumentsCount == 0) EMPTY_VALUE_ARGUMENTS else arrayOfNulls(valueArgumentsCount)
 
     override fun getValueArgument(index: Int): IrExpression? {
         if (index >= valueArgumentsCount) {
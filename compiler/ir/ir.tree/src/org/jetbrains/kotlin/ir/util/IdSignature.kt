@@ -85,11 +85,20 @@ sealed class IdSignature {
         override fun asPublic(): PublicSignature? = this
 
         override fun equals(other: Any?): Boolean =
-            other is PublicSignature && packageFqName == other.packageFqName && declarationFqName == other.declarationFqName &&
+            this === other ||
+                    other is PublicSignature && hashCode() == other.hashCode() &&
+                    packageFqName == other.packageFqName && declarationFqName == other.declarationFqName &&
                     id == other.id && mask == other.mask
 
-        override fun hashCode(): Int =
-            ((packageFqName.hashCode() * 31 + declarationFqName.hashCode()) * 31 + id.hashCode()) * 31 + mask.hashCode()
+        // Signatures are hashed on every symbol table and declaration table lookup
+        private var cachedHashCode = 0
+
+        override fun hashCode(): Int {
+            if (cachedHashCode == 0) {
+                cachedHashCode = ((packageFqName.hashCode() * 31 + declarationFqName.hashCode()) * 31 + id.hashCode()) * 31 + mask.hashCode()
+            }
+            return cachedHashCode
+        }
     }
 
     class AccessorSignature(val propertySignature: IdSignature, val accessorSignature: PublicSignature) : IdSignature() {
@@ -193,7 +202,7 @@ sealed class IdSignature {
         override fun render(): String = "${container.render()}:$id"
 
         override fun equals(other: Any?): Boolean =
-            other is FileLocalSignature && id == other.id && container == other.container
+            this === other || other is FileLocalSignature && id == other.id && container == other.container
 
         override fun hashCode(): Int = container.hashCode() * 31 + id.hashCode()
     }
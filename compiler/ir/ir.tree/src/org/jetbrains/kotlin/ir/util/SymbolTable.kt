@@ -21,6 +21,7 @@ import org.jetbrains.kotlin.ir.types.IrType
 import org.jetbrains.kotlin.name.Name
 import org.jetbrains.kotlin.resolve.descriptorUtil.isEffectivelyExternal
 import org.jetbrains.kotlin.utils.threadLocal
+import java.util.concurrent.ConcurrentHashMap
 
 interface ReferenceSymbolTable {
     fun referenceClass(descriptor: ClassDescriptor): IrClassSymbol
@@ -78,6 +79,15 @@ class SymbolTable(
         abstract fun set(s: S)
         abstract fun get(sig: IdSignature): S?
 
+        /**
+         * Returns the symbol for [sig] if it can be looked up without holding [lock], see [FlatSymbolTable].
+         *
+         * The returned symbol is safely published: everything done to it before it was added to the table is visible to the caller.
+         * This doesn't hold for its binding, which may happen later under [lock], so the caller must not rely on `isBound` or `owner`
+         * without taking [lock].
+         */
+        open fun getWithoutLock(sig: IdSignature): S? = null
+
         inline fun declare(d: D, createSymbol: () -> S, createOwner: (S) -> B): B {
             synchronized(lock) {
                 @Suppress("UNCHECKED_CAST")
@@ -177,6 +187,7 @@ class SymbolTable(
 
         @OptIn(ObsoleteDescriptorBasedAPI::class)
         inline fun referenced(sig: IdSignature, orElse: () -> S): S {
+            getWithoutLock(sig)?.let { return it }
             synchronized(lock) {
                 return get(sig) ?: run {
                     val new = orElse()
@@ -190,10 +201,18 @@ class SymbolTable(
         }
     }
 
+    /**
+     * Symbols with signatures are kept in a concurrent map and are only ever added, so a symbol which is already in the table
+     * is found by [getWithoutLock] without taking [lock]. This makes referencing declarations from many threads
+     * (e.g. while deserializing several klibs) cheap, because most of the references are to already known declarations.
+     * All modifications still happen under [lock]. The map doesn't keep the insertion order, so it's kept in [signatures]
+     * for [forEachPublicSymbol].
+     */
     private open inner class FlatSymbolTable<D : DeclarationDescriptor, B : IrSymbolOwner, S : IrBindableSymbol<D, B>> :
         SymbolTableBase<D, B, S>(lock) {
         val descriptorToSymbol = linkedMapOf<D, S>()
-        val idSigToSymbol = linkedMapOf<IdSignature, S>()
+        val idSigToSymbol = ConcurrentHashMap<IdSignature, S>()
+        val signatures = arrayListOf<IdSignature>()
 
         protected open fun signature(descriptor: D): IdSignature? = signaturer.composeSignature(descriptor)
 
@@ -210,13 +229,17 @@ class SymbolTable(
         override fun set(s: S) {
             val signature = s.signature
             if (signature != null) {
-                idSigToSymbol[signature] = s
+                if (idSigToSymbol.put(signature, s) == null) {
+                    signatures.add(signature)
+                }
             } else if (s.hasDescriptor) {
                 descriptorToSymbol[s.descriptor] = s
             }
         }
 
         override fun get(sig: IdSignature): S? = idSigToSymbol[sig]
+
+        override fun getWithoutLock(sig: IdSignature): S? = idSigToSymbol[sig]
     }
 
     private inner class EnumEntrySymbolTable : FlatSymbolTable<ClassDescriptor, IrEnumEntry, IrEnumEntrySymbol>() {
@@ -1057,7 +1080,8 @@ class SymbolTable(
     private inline fun <D : DeclarationDescriptor, IR : IrSymbolOwner, S : IrBindableSymbol<D, IR>> FlatSymbolTable<D, IR, S>.forEachPublicSymbolImpl(
         block: (IrSymbol) -> Unit
     ) {
-        idSigToSymbol.forEach { (_, sym) ->
+        for (signature in signatures) {
+            val sym = idSigToSymbol.getValue(signature)
             assert(sym.isPublicApi)
             block(sym)
         }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.backend.common.serialization
+
+import org.jetbrains.kotlin.ir.util.IdSignature
+
+/**
+ * Maps equal [IdSignature]s to one canonical instance and a dense int id.
+ *
+ * Every reference to a declaration in a klib file decodes its signature from the signature table of the file, so the same
+ * signatures are created and hashed many times during linking. Interned signatures are shared by all files, and maps keyed by
+ * canonical signatures mostly compare them by identity.
+ *
+ * Lookups don't allocate: the table is an open addressing array of ids probed by [IdSignature.hashCode].
+ * Ids are only used by [IrSymbolDeserializer] to remember the signatures of a file it has already decoded, the linker
+ * itself still looks declarations up by signature.
+ *
+ * Not thread-safe, the linker interns signatures on one thread.
+ */
+class IdSignatureInterner {
+    private var signatures = arrayOfNulls<IdSignature>(INITIAL_CAPACITY)
+    private var table = IntArray(INITIAL_CAPACITY * 2) { NO_ID }
+
+    var size: Int = 0
+        private set
+
+    fun intern(signature: IdSignature): Int {
+        val mask = table.size - 1
+        var slot = signature.hashCode() and mask
+        while (true) {
+            val id = table[slot]
+            if (id == NO_ID) break
+            val candidate = signatures[id]!!
+            // Accessor signatures are equal to the public signatures of their accessors, but they are not interchangeable
+            if (candidate.javaClass == signature.javaClass && candidate == signature) return id
+            slot = (slot + 1) and mask
+        }
+
+        val id = size++
+        if (id == signatures.size) {
+            signatures = signatures.copyOf(id * 2)
+        }
+        signatures[id] = signature
+        table[slot] = id
+
+        if (size * 2 > table.size) rehash()
+        return id
+    }
+
+    fun signature(id: Int): IdSignature = signatures[id] ?: throw IndexOutOfBoundsException("No signature with id $id")
+
+    fun canonicalize(signature: IdSignature): IdSignature = signature(intern(signature))
+
+    private fun rehash() {
+        val newTable = IntArray(table.size * 2) { NO_ID }
+        val mask = newTable.size - 1
+        for (id in 0 until size) {
+            var slot = signatures[id]!!.hashCode() and mask
+            while (newTable[slot] != NO_ID) {
+                slot = (slot + 1) and mask
+            }
+            newTable[slot] = id
+        }
+        table = newTable
+    }
+
+    private companion object {
+        const val INITIAL_CAPACITY = 1024
+        const val NO_ID = -1
+    }
+}
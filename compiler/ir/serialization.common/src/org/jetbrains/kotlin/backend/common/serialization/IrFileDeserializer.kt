@@ -70,7 +70,8 @@ class FileDeserializationState(
 
     val symbolDeserializer =
         IrSymbolDeserializer(
-            linker.symbolTable, fileReader, fileProto.actualList, ::addIdSignature, linker::handleExpectActualMapping
+            linker.symbolTable, fileReader, fileProto.actualList, ::addIdSignature, linker::handleExpectActualMapping,
+            linker.signatureInterner
         ) { idSig, symbolKind ->
             assert(idSig.isPublic)
 
@@ -27,9 +27,13 @@ class IrSymbolDeserializer(
     val actuals: List<Actual>,
     val enqueueLocalTopLevelDeclaration: (IdSignature) -> Unit,
     val handleExpectActualMapping: (IdSignature, IrSymbol) -> IrSymbol,
+    val signatureInterner: IdSignatureInterner,
     val deserializePublicSymbol: (IdSignature, BinarySymbolData.SymbolKind) -> IrSymbol,
 ) {
 
+    // Index in the signature table of the file -> id in [signatureInterner] + 1, 0 if the signature isn't deserialized yet
+    private var signatureIds = IntArray(0)
+
     val deserializedSymbols = mutableMapOf<IdSignature, IrSymbol>()
 
     fun deserializeIrSymbol(idSig: IdSignature, symbolKind: BinarySymbolData.SymbolKind): IrSymbol {
@@ -106,9 +110,21 @@ class IrSymbolDeserializer(
         return ProtoIdSignature.parseFrom(readSignature(index), ExtensionRegistryLite.newInstance())
     }
 
-    fun deserializeIdSignature(index: Int): IdSignature {
-        val sigData = loadSignatureProto(index)
-        return deserializeSignatureData(sigData)
+    fun deserializeIdSignature(index: Int): IdSignature =
+        signatureInterner.signature(deserializeIdSignatureId(index))
+
+    // Each signature of the file is decoded only once
+    private fun deserializeIdSignatureId(index: Int): Int {
+        if (index < signatureIds.size) {
+            val id = signatureIds[index]
+            if (id != 0) return id - 1
+        } else {
+            signatureIds = signatureIds.copyOf(maxOf(index + 1, signatureIds.size * 2))
+        }
+
+        val id = signatureInterner.intern(deserializeSignatureData(loadSignatureProto(index)))
+        signatureIds[index] = id + 1
+        return id
     }
 
     /* -------------------------------------------------------------- */
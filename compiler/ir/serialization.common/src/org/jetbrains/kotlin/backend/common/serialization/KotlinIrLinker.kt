@@ -51,6 +51,11 @@ abstract class KotlinIrLinker(
 
     abstract val translationPluginContext: TranslationPluginContext?
 
+    /**
+     * Signatures of all deserialized files, equal signatures from different files and libraries are shared.
+     */
+    val signatureInterner = IdSignatureInterner()
+
     internal val triedToDeserializeDeclarationForSymbol = mutableSetOf<IrSymbol>()
     internal val deserializedSymbols = mutableSetOf<IrSymbol>()
 
@@ -0,0 +1,120 @@
+// SKIP_TXT
+// FILE: JavaOverloads.java
+import java.util.List;
+
+public interface JavaOverloads {
+    void take(String s);
+    void take(int i);
+    void take(List<String> list);
+    void take(String s, Object o);
+    void take(Integer i, String s);
+}
+
+// FILE: main.kt
+interface Overloads {
+    fun foo(x: Int): Int
+    fun foo(x: Long): Int
+    fun foo(x: String): Int
+    fun foo(x: List<String>): Int
+    fun foo(x: Array<String>): Int
+    fun foo(x: IntArray): Int
+    fun foo(x: Int, y: Int): Int
+    fun foo(x: Int, y: String): Int
+    fun foo(x: String, y: Int): Int
+    fun Long.foo(x: Long): Int
+    fun String.foo(x: Long): Int
+}
+
+class OverloadsImpl : Overloads {
+    override fun foo(x: Int): Int = 0
+    override fun foo(x: Long): Int = 0
+    override fun foo(x: String): Int = 0
+    override fun foo(x: List<String>): Int = 0
+    override fun foo(x: Array<String>): Int = 0
+    override fun foo(x: IntArray): Int = 0
+    override fun foo(x: Int, y: Int): Int = 0
+    override fun foo(x: Int, y: String): Int = 0
+    override fun foo(x: String, y: Int): Int = 0
+    override fun Long.foo(x: Long): Int = 0
+    override fun String.foo(x: Long): Int = 0
+}
+
+<!ABSTRACT_MEMBER_NOT_IMPLEMENTED!>class MissingOverload<!> : Overloads {
+    override fun foo(x: Int): Int = 0
+    override fun foo(x: Long): Int = 0
+    override fun foo(x: String): Int = 0
+    override fun foo(x: List<String>): Int = 0
+    override fun foo(x: Array<String>): Int = 0
+    override fun foo(x: Int, y: Int): Int = 0
+    override fun foo(x: Int, y: String): Int = 0
+    override fun foo(x: String, y: Int): Int = 0
+    override fun Long.foo(x: Long): Int = 0
+    override fun String.foo(x: Long): Int = 0
+}
+
+abstract class MismatchedOverloads : Overloads {
+    override fun foo(x: Int): Int = 0
+    override fun foo(x: Long): <!RETURN_TYPE_MISMATCH_ON_OVERRIDE!>String<!> = ""
+    override fun foo(x: List<String>): Int = 0
+    fun <!VIRTUAL_MEMBER_HIDDEN!>foo<!>(x: IntArray): Int = 0
+    <!CONFLICTING_OVERLOADS!>fun <T> foo(x: String)<!> = 0
+    override fun foo(x: Int, y: String): <!RETURN_TYPE_MISMATCH_ON_OVERRIDE!>Any<!> = 0
+    <!NOTHING_TO_OVERRIDE!>override<!> fun foo(x: Short): Int = 0
+    <!NOTHING_TO_OVERRIDE!>override<!> fun foo(x: Long, y: Int): Int = 0
+    override fun String.foo(x: Long): Int = 0
+}
+
+interface GenericOverloads<T> {
+    fun bar(x: T)
+    fun bar(x: List<T>)
+    fun bar(x: Int)
+    fun bar(x: T, y: Int)
+    fun bar(x: String, y: T)
+    fun <R> bar(x: R, y: String)
+    fun <R : CharSequence> bar(x: R, y: Long)
+}
+
+class SubstitutedOverloads : GenericOverloads<String> {
+    override fun bar(x: String) {}
+    override fun bar(x: List<String>) {}
+    override fun bar(x: Int) {}
+    override fun bar(x: String, y: Int) {}
+    override fun bar(x: String, y: String) {}
+    override fun <R> bar(x: R, y: String) {}
+    override fun <R : CharSequence> bar(x: R, y: Long) {}
+}
+
+class TypeParameterOverloads<T> : GenericOverloads<T> {
+    override fun bar(x: T) {}
+    override fun bar(x: List<T>) {}
+    override fun bar(x: Int) {}
+    override fun bar(x: T, y: Int) {}
+    override fun bar(x: String, y: T) {}
+    override fun <S> bar(x: S, y: String) {}
+    override fun <S : CharSequence> bar(x: S, y: Long) {}
+}
+
+abstract class MismatchedTypeParameterOverloads<T> : GenericOverloads<T> {
+    override fun bar(x: T): <!RETURN_TYPE_MISMATCH_ON_OVERRIDE!>Int<!> = 0
+    override fun bar(x: List<T>) {}
+    override fun bar(x: Int) {}
+    fun <!VIRTUAL_MEMBER_HIDDEN!>bar<!>(x: T, y: Int) {}
+    <!CONFLICTING_OVERLOADS!>fun <S> bar(x: String, y: T)<!> {}
+    override fun <S> bar(x: S, y: String): <!RETURN_TYPE_MISMATCH_ON_OVERRIDE!>S<!> = x
+}
+
+class JavaImpl : JavaOverloads {
+    override fun take(s: String) {}
+    override fun take(i: Int) {}
+    override fun take(list: List<String>) {}
+    override fun take(s: String?, o: Any?) {}
+    override fun take(i: Int?, s: String) {}
+}
+
+abstract class MismatchedJavaImpl : JavaOverloads {
+    override fun take(s: String?) {}
+    override fun take(i: Int): <!RETURN_TYPE_MISMATCH_ON_OVERRIDE!>Int<!> = i
+    override fun take(list: MutableList<String?>) {}
+    fun <!VIRTUAL_MEMBER_HIDDEN!>take<!>(s: String, o: Any) {}
+    <!NOTHING_TO_OVERRIDE!>override<!> fun take(i: Long) {}
+}
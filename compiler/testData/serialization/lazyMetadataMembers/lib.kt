@@ -0,0 +1,48 @@
+package test
+
+typealias Handler = (String) -> Unit
+
+class Members<T>(val value: T) {
+    fun foo(): Int = 1
+    fun foo(x: Int): Int = x
+    fun foo(x: String): String = x
+    fun <R> foo(x: T, transform: (T) -> R): R = transform(x)
+
+    val bar: String = ""
+    var baz: List<T> = emptyList()
+    val String.extension: Int get() = length
+
+    fun handler(): Handler = {}
+
+    companion object {
+        fun create(): Members<String> = Members("")
+        const val CONSTANT = 42
+    }
+}
+
+enum class Kind {
+    FIRST {
+        override fun describe(): String = "first"
+    },
+    SECOND {
+        override fun describe(): String = "second"
+    };
+
+    abstract fun describe(): String
+    val next: Kind get() = values()[(ordinal + 1) % 2]
+}
+
+interface Base {
+    fun inherited(): Int = 0
+    val inheritedProperty: String
+}
+
+class Derived : Base {
+    override val inheritedProperty: String get() = ""
+    fun own(): Int = 1
+}
+
+fun topLevel(): Int = 1
+fun topLevel(x: Int): Int = x
+val topLevelProperty: String = ""
+fun Members<*>.topLevelExtension(): Int = 0
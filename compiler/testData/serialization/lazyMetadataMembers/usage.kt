@@ -0,0 +1,26 @@
+package usage
+
+import test.*
+
+fun use(members: Members<Int>, kind: Kind, derived: Derived, handler: Handler): Int {
+    handler("")
+    members.foo()
+    members.foo(1)
+    members.foo("")
+    members.foo(1) { it.toString() }
+    members.bar
+    members.baz = listOf(1)
+    members.handler()
+    members.topLevelExtension()
+    Members.create()
+    kind.describe()
+    kind.next
+    Kind.FIRST
+    Kind.valueOf("SECOND")
+    derived.inherited()
+    derived.inheritedProperty
+    derived.own()
+    topLevelProperty
+    topLevel(topLevel())
+    return Members.CONSTANT
+}
@@ -20415,6 +20415,12 @@ public class DiagnosticTestGenerated extends AbstractDiagnosticTest {
                 runTest("compiler/testData/diagnostics/tests/override/kt8990.kt");
             }
 
+            @Test
+            @TestMetadata("LargeOverloadGroups.kt")
+            public void testLargeOverloadGroups() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/override/LargeOverloadGroups.kt");
+            }
+
             @Test
             @TestMetadata("MissingDelegate.kt")
             public void testMissingDelegate() throws Exception {
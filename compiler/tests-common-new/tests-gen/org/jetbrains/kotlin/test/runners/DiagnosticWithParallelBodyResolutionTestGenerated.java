@@ -0,0 +1,1295 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.test.runners;
+
+import com.intellij.testFramework.TestDataPath;
+import org.jetbrains.kotlin.test.util.KtTestUtil;
+import org.jetbrains.kotlin.test.TestMetadata;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+/** This class is generated by {@link GenerateNewCompilerTests.kt}. DO NOT MODIFY MANUALLY */
+@SuppressWarnings("all")
+public class DiagnosticWithParallelBodyResolutionTestGenerated extends AbstractDiagnosticWithParallelBodyResolutionTest {
+    @Nested
+    @TestMetadata("compiler/testData/diagnostics/tests/controlFlowAnalysis")
+    @TestDataPath("$PROJECT_ROOT")
+    public class ControlFlowAnalysis {
+        @Test
+        public void testAllFilesPresentInControlFlowAnalysis() throws Exception {
+            KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/controlFlowAnalysis"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+        }
+
+        @Test
+        @TestMetadata("assignedInFinally.kt")
+        public void testAssignedInFinally() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/assignedInFinally.kt");
+        }
+
+        @Test
+        @TestMetadata("assignedInIfElse.kt")
+        public void testAssignedInIfElse() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/assignedInIfElse.kt");
+        }
+
+        @Test
+        @TestMetadata("assignedInTryWithCatch.kt")
+        public void testAssignedInTryWithCatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/assignedInTryWithCatch.kt");
+        }
+
+        @Test
+        @TestMetadata("assignedInTryWithoutCatch.kt")
+        public void testAssignedInTryWithoutCatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/assignedInTryWithoutCatch.kt");
+        }
+
+        @Test
+        @TestMetadata("assignmentInLocalsInConstructor.kt")
+        public void testAssignmentInLocalsInConstructor() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/assignmentInLocalsInConstructor.kt");
+        }
+
+        @Test
+        @TestMetadata("backingFieldInsideGetter_after.kt")
+        public void testBackingFieldInsideGetter_after() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/backingFieldInsideGetter_after.kt");
+        }
+
+        @Test
+        @TestMetadata("backingFieldInsideGetter_before.kt")
+        public void testBackingFieldInsideGetter_before() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/backingFieldInsideGetter_before.kt");
+        }
+
+        @Test
+        @TestMetadata("breakContinueInTryFinally.kt")
+        public void testBreakContinueInTryFinally() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/breakContinueInTryFinally.kt");
+        }
+
+        @Test
+        @TestMetadata("breakInsideLocal.kt")
+        public void testBreakInsideLocal() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/breakInsideLocal.kt");
+        }
+
+        @Test
+        @TestMetadata("breakOrContinueInLoopCondition.kt")
+        public void testBreakOrContinueInLoopCondition() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/breakOrContinueInLoopCondition.kt");
+        }
+
+        @Test
+        @TestMetadata("checkInnerLocalDeclarations.kt")
+        public void testCheckInnerLocalDeclarations() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/checkInnerLocalDeclarations.kt");
+        }
+
+        @Test
+        @TestMetadata("checkPropertyAccessor.kt")
+        public void testCheckPropertyAccessor() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/checkPropertyAccessor.kt");
+        }
+
+        @Test
+        @TestMetadata("constructorPropertyInterdependence.kt")
+        public void testConstructorPropertyInterdependence() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/constructorPropertyInterdependence.kt");
+        }
+
+        @Test
+        @TestMetadata("definiteReturnInWhen.kt")
+        public void testDefiniteReturnInWhen() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturnInWhen.kt");
+        }
+
+        @Test
+        @TestMetadata("delegatedPropertyEarlyAccess.kt")
+        public void testDelegatedPropertyEarlyAccess() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/delegatedPropertyEarlyAccess.kt");
+        }
+
+        @Test
+        @TestMetadata("doWhileAssignment.kt")
+        public void testDoWhileAssignment() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/doWhileAssignment.kt");
+        }
+
+        @Test
+        @TestMetadata("doWhileNotDefined.kt")
+        public void testDoWhileNotDefined() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/doWhileNotDefined.kt");
+        }
+
+        @Test
+        @TestMetadata("elvisNotProcessed.kt")
+        public void testElvisNotProcessed() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/elvisNotProcessed.kt");
+        }
+
+        @Test
+        @TestMetadata("enumCompanionInterdependence.kt")
+        public void testEnumCompanionInterdependence() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/enumCompanionInterdependence.kt");
+        }
+
+        @Test
+        @TestMetadata("enumInterdependence.kt")
+        public void testEnumInterdependence() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/enumInterdependence.kt");
+        }
+
+        @Test
+        @TestMetadata("fieldAsClassDelegate.kt")
+        public void testFieldAsClassDelegate() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/fieldAsClassDelegate.kt");
+        }
+
+        @Test
+        @TestMetadata("fieldInitialization.kt")
+        public void testFieldInitialization() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/fieldInitialization.kt");
+        }
+
+        @Test
+        @TestMetadata("infiniteLoops.kt")
+        public void testInfiniteLoops() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/infiniteLoops.kt");
+        }
+
+        @Test
+        @TestMetadata("initializationInLambda.kt")
+        public void testInitializationInLambda() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/initializationInLambda.kt");
+        }
+
+        @Test
+        @TestMetadata("initializationInLocalClass.kt")
+        public void testInitializationInLocalClass() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/initializationInLocalClass.kt");
+        }
+
+        @Test
+        @TestMetadata("initializationInLocalFun.kt")
+        public void testInitializationInLocalFun() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/initializationInLocalFun.kt");
+        }
+
+        @Test
+        @TestMetadata("initializationInLocalViaExplicitThis_after.kt")
+        public void testInitializationInLocalViaExplicitThis_after() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/initializationInLocalViaExplicitThis_after.kt");
+        }
+
+        @Test
+        @TestMetadata("initializationInLocalViaExplicitThis_before.kt")
+        public void testInitializationInLocalViaExplicitThis_before() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/initializationInLocalViaExplicitThis_before.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1001.kt")
+        public void testKt1001() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1001.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1027.kt")
+        public void testKt1027() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1027.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1066.kt")
+        public void testKt1066() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1066.kt");
+        }
+
+        @Test
+        @TestMetadata("kt10805.kt")
+        public void testKt10805() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt10805.kt");
+        }
+
+        @Test
+        @TestMetadata("kt10823.kt")
+        public void testKt10823() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt10823.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1156.kt")
+        public void testKt1156() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1156.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1185enums.kt")
+        public void testKt1185enums() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1185enums.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1189.kt")
+        public void testKt1189() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1189.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1191.kt")
+        public void testKt1191() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1191.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1219.1301.kt")
+        public void testKt1219_1301() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1219.1301.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1571.kt")
+        public void testKt1571() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1571.kt");
+        }
+
+        @Test
+        @TestMetadata("kt1977.kt")
+        public void testKt1977() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt1977.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2166_kt2103.kt")
+        public void testKt2166_kt2103() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2166_kt2103.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2226.kt")
+        public void testKt2226() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2226.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2330.kt")
+        public void testKt2330() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2330.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2334.kt")
+        public void testKt2334() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2334.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2369.kt")
+        public void testKt2369() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2369.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2845.kt")
+        public void testKt2845() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2845.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2960.kt")
+        public void testKt2960() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2960.kt");
+        }
+
+        @Test
+        @TestMetadata("kt2972.kt")
+        public void testKt2972() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt2972.kt");
+        }
+
+        @Test
+        @TestMetadata("kt3444.kt")
+        public void testKt3444() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt3444.kt");
+        }
+
+        @Test
+        @TestMetadata("kt3501.kt")
+        public void testKt3501() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt3501.kt");
+        }
+
+        @Test
+        @TestMetadata("kt4126.kt")
+        public void testKt4126() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt4126.kt");
+        }
+
+        @Test
+        @TestMetadata("kt4405.kt")
+        public void testKt4405() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt4405.kt");
+        }
+
+        @Test
+        @TestMetadata("kt510.kt")
+        public void testKt510() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt510.kt");
+        }
+
+        @Test
+        @TestMetadata("kt607.kt")
+        public void testKt607() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt607.kt");
+        }
+
+        @Test
+        @TestMetadata("kt609.kt")
+        public void testKt609() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt609.kt");
+        }
+
+        @Test
+        @TestMetadata("kt610.kt")
+        public void testKt610() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt610.kt");
+        }
+
+        @Test
+        @TestMetadata("kt6788.kt")
+        public void testKt6788() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt6788.kt");
+        }
+
+        @Test
+        @TestMetadata("kt776.kt")
+        public void testKt776() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt776.kt");
+        }
+
+        @Test
+        @TestMetadata("kt843.kt")
+        public void testKt843() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt843.kt");
+        }
+
+        @Test
+        @TestMetadata("kt897.kt")
+        public void testKt897() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/kt897.kt");
+        }
+
+        @Test
+        @TestMetadata("localClasses.kt")
+        public void testLocalClasses() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/localClasses.kt");
+        }
+
+        @Test
+        @TestMetadata("localObjectInConstructor.kt")
+        public void testLocalObjectInConstructor() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/localObjectInConstructor.kt");
+        }
+
+        @Test
+        @TestMetadata("mainWithWarningOnUnusedParam.kt")
+        public void testMainWithWarningOnUnusedParam() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/mainWithWarningOnUnusedParam.kt");
+        }
+
+        @Test
+        @TestMetadata("mainWithoutWarningOnUnusedParam.kt")
+        public void testMainWithoutWarningOnUnusedParam() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/mainWithoutWarningOnUnusedParam.kt");
+        }
+
+        @Test
+        @TestMetadata("nestedTryFinally.kt")
+        public void testNestedTryFinally() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/nestedTryFinally.kt");
+        }
+
+        @Test
+        @TestMetadata("nonLocalReturnUnreachable.kt")
+        public void testNonLocalReturnUnreachable() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/nonLocalReturnUnreachable.kt");
+        }
+
+        @Test
+        @TestMetadata("nonLocalReturnWithFinally.kt")
+        public void testNonLocalReturnWithFinally() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/nonLocalReturnWithFinally.kt");
+        }
+
+        @Test
+        @TestMetadata("privateSetter.kt")
+        public void testPrivateSetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/privateSetter.kt");
+        }
+
+        @Test
+        @TestMetadata("propertiesInitWithOtherInstance.kt")
+        public void testPropertiesInitWithOtherInstance() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/propertiesInitWithOtherInstance.kt");
+        }
+
+        @Test
+        @TestMetadata("propertiesInitWithOtherInstanceInner.kt")
+        public void testPropertiesInitWithOtherInstanceInner() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/propertiesInitWithOtherInstanceInner.kt");
+        }
+
+        @Test
+        @TestMetadata("propertiesInitWithOtherInstanceThisLabel.kt")
+        public void testPropertiesInitWithOtherInstanceThisLabel() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/propertiesInitWithOtherInstanceThisLabel.kt");
+        }
+
+        @Test
+        @TestMetadata("propertiesOrderInPackage.kt")
+        public void testPropertiesOrderInPackage() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/propertiesOrderInPackage.kt");
+        }
+
+        @Test
+        @TestMetadata("reassignmentInTryCatch.kt")
+        public void testReassignmentInTryCatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/reassignmentInTryCatch.kt");
+        }
+
+        @Test
+        @TestMetadata("reassignmentInTryCatchWithJumps.kt")
+        public void testReassignmentInTryCatchWithJumps() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/reassignmentInTryCatchWithJumps.kt");
+        }
+
+        @Test
+        @TestMetadata("referenceToPropertyInitializer.kt")
+        public void testReferenceToPropertyInitializer() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/referenceToPropertyInitializer.kt");
+        }
+
+        @Test
+        @TestMetadata("repeatUnitializedErrorOnlyForLocalVars.kt")
+        public void testRepeatUnitializedErrorOnlyForLocalVars() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/repeatUnitializedErrorOnlyForLocalVars.kt");
+        }
+
+        @Test
+        @TestMetadata("scopeOfAnonymousInitializer.kt")
+        public void testScopeOfAnonymousInitializer() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/scopeOfAnonymousInitializer.kt");
+        }
+
+        @Test
+        @TestMetadata("throwInLambda.kt")
+        public void testThrowInLambda() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/throwInLambda.kt");
+        }
+
+        @Test
+        @TestMetadata("tryWithAssignmentUsedInCatch.kt")
+        public void testTryWithAssignmentUsedInCatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/tryWithAssignmentUsedInCatch.kt");
+        }
+
+        @Test
+        @TestMetadata("uninitializedInLocalDeclarations.kt")
+        public void testUninitializedInLocalDeclarations() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/uninitializedInLocalDeclarations.kt");
+        }
+
+        @Test
+        @TestMetadata("UninitializedOrReassignedVariables.kt")
+        public void testUninitializedOrReassignedVariables() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/UninitializedOrReassignedVariables.kt");
+        }
+
+        @Test
+        @TestMetadata("unmappedArgs.kt")
+        public void testUnmappedArgs() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unmappedArgs.kt");
+        }
+
+        @Test
+        @TestMetadata("unresolvedReference.kt")
+        public void testUnresolvedReference() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unresolvedReference.kt");
+        }
+
+        @Test
+        @TestMetadata("unusedInAnonymous.kt")
+        public void testUnusedInAnonymous() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unusedInAnonymous.kt");
+        }
+
+        @Test
+        @TestMetadata("useUninitializedInLambda.kt")
+        public void testUseUninitializedInLambda() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/useUninitializedInLambda.kt");
+        }
+
+        @Test
+        @TestMetadata("varInitializationInIfInCycle.kt")
+        public void testVarInitializationInIfInCycle() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/varInitializationInIfInCycle.kt");
+        }
+
+        @Nested
+        @TestMetadata("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode")
+        @TestDataPath("$PROJECT_ROOT")
+        public class DeadCode {
+            @Test
+            public void testAllFilesPresentInDeadCode() throws Exception {
+                KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+            }
+
+            @Test
+            @TestMetadata("commasAndWhitespaces.kt")
+            public void testCommasAndWhitespaces() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/commasAndWhitespaces.kt");
+            }
+
+            @Test
+            @TestMetadata("commentsInDeadCode.kt")
+            public void testCommentsInDeadCode() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/commentsInDeadCode.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCallInInvokeCall.kt")
+            public void testDeadCallInInvokeCall() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCallInInvokeCall.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCallInReceiver.kt")
+            public void testDeadCallInReceiver() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCallInReceiver.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeDifferentExamples.kt")
+            public void testDeadCodeDifferentExamples() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeDifferentExamples.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeFromDifferentSources.kt")
+            public void testDeadCodeFromDifferentSources() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeFromDifferentSources.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInArrayAccess.kt")
+            public void testDeadCodeInArrayAccess() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInArrayAccess.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInAssignment.kt")
+            public void testDeadCodeInAssignment() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInAssignment.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInBinaryExpressions.kt")
+            public void testDeadCodeInBinaryExpressions() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInBinaryExpressions.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInCalls.kt")
+            public void testDeadCodeInCalls() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInCalls.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInDeadCode.kt")
+            public void testDeadCodeInDeadCode() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInDeadCode.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInIf.kt")
+            public void testDeadCodeInIf() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInIf.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInInnerExpressions.kt")
+            public void testDeadCodeInInnerExpressions() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInInnerExpressions.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInLocalDeclarations.kt")
+            public void testDeadCodeInLocalDeclarations() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInLocalDeclarations.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInLoops.kt")
+            public void testDeadCodeInLoops() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInLoops.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInReturn.kt")
+            public void testDeadCodeInReturn() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInReturn.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInUnaryExpr.kt")
+            public void testDeadCodeInUnaryExpr() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInUnaryExpr.kt");
+            }
+
+            @Test
+            @TestMetadata("deadCodeInWhileFromBreak.kt")
+            public void testDeadCodeInWhileFromBreak() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/deadCodeInWhileFromBreak.kt");
+            }
+
+            @Test
+            @TestMetadata("expressionInUnitLiteral.kt")
+            public void testExpressionInUnitLiteral() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/expressionInUnitLiteral.kt");
+            }
+
+            @Test
+            @TestMetadata("kt2585_1.kt")
+            public void testKt2585_1() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/kt2585_1.kt");
+            }
+
+            @Test
+            @TestMetadata("kt2585_2.kt")
+            public void testKt2585_2() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/kt2585_2.kt");
+            }
+
+            @Test
+            @TestMetadata("kt2585_3.kt")
+            public void testKt2585_3() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/kt2585_3.kt");
+            }
+
+            @Test
+            @TestMetadata("kt3162tryAsInitializer.kt")
+            public void testKt3162tryAsInitializer() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/kt3162tryAsInitializer.kt");
+            }
+
+            @Test
+            @TestMetadata("kt5200DeadCodeInLambdas.kt")
+            public void testKt5200DeadCodeInLambdas() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/kt5200DeadCodeInLambdas.kt");
+            }
+
+            @Test
+            @TestMetadata("returnInDeadLambda.kt")
+            public void testReturnInDeadLambda() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/deadCode/returnInDeadLambda.kt");
+            }
+        }
+
+        @Nested
+        @TestMetadata("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn")
+        @TestDataPath("$PROJECT_ROOT")
+        public class DefiniteReturn {
+            @Test
+            public void testAllFilesPresentInDefiniteReturn() throws Exception {
+                KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+            }
+
+            @Test
+            @TestMetadata("kt3444_ReturnFromLocalFunctions.kt")
+            public void testKt3444_ReturnFromLocalFunctions() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn/kt3444_ReturnFromLocalFunctions.kt");
+            }
+
+            @Test
+            @TestMetadata("kt4034.kt")
+            public void testKt4034() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn/kt4034.kt");
+            }
+
+            @Test
+            @TestMetadata("ReturnFromFunctionInObject.kt")
+            public void testReturnFromFunctionInObject() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn/ReturnFromFunctionInObject.kt");
+            }
+
+            @Test
+            @TestMetadata("simpleClass.kt")
+            public void testSimpleClass() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/definiteReturn/simpleClass.kt");
+            }
+        }
+
+        @Nested
+        @TestMetadata("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit")
+        @TestDataPath("$PROJECT_ROOT")
+        public class UnnecessaryLateinit {
+            @Test
+            public void testAllFilesPresentInUnnecessaryLateinit() throws Exception {
+                KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+            }
+
+            @Test
+            @TestMetadata("lateinitRecursiveInLambda.kt")
+            public void testLateinitRecursiveInLambda() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitRecursiveInLambda.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithConstructor.kt")
+            public void testLateinitWithConstructor() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithConstructor.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithErroneousDelegation.kt")
+            public void testLateinitWithErroneousDelegation() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithErroneousDelegation.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithInit.kt")
+            public void testLateinitWithInit() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithInit.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithMultipleConstructors.kt")
+            public void testLateinitWithMultipleConstructors() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithMultipleConstructors.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithMultipleConstructorsAndDelegation.kt")
+            public void testLateinitWithMultipleConstructorsAndDelegation() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithMultipleConstructorsAndDelegation.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithPlusAssign.kt")
+            public void testLateinitWithPlusAssign() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithPlusAssign.kt");
+            }
+
+            @Test
+            @TestMetadata("lateinitWithPrimaryConstructorAndConstructor.kt")
+            public void testLateinitWithPrimaryConstructorAndConstructor() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/lateinitWithPrimaryConstructorAndConstructor.kt");
+            }
+
+            @Test
+            @TestMetadata("normalLateinit.kt")
+            public void testNormalLateinit() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/normalLateinit.kt");
+            }
+
+            @Test
+            @TestMetadata("normalLateinitWithTwoConstructors.kt")
+            public void testNormalLateinitWithTwoConstructors() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/normalLateinitWithTwoConstructors.kt");
+            }
+
+            @Test
+            @TestMetadata("secondaryConstructorDelegateItself.kt")
+            public void testSecondaryConstructorDelegateItself() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/secondaryConstructorDelegateItself.kt");
+            }
+
+            @Test
+            @TestMetadata("secondaryConstructorDelegateLoop.kt")
+            public void testSecondaryConstructorDelegateLoop() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/controlFlowAnalysis/unnecessaryLateinit/secondaryConstructorDelegateLoop.kt");
+            }
+        }
+    }
+
+    @Nested
+    @TestMetadata("compiler/testData/diagnostics/tests/delegatedProperty")
+    @TestDataPath("$PROJECT_ROOT")
+    public class DelegatedProperty {
+        @Test
+        @TestMetadata("absentErrorAboutInitializer.kt")
+        public void testAbsentErrorAboutInitializer() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/absentErrorAboutInitializer.kt");
+        }
+
+        @Test
+        @TestMetadata("absentErrorAboutType.kt")
+        public void testAbsentErrorAboutType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/absentErrorAboutType.kt");
+        }
+
+        @Test
+        @TestMetadata("abstractDelegatedProperty.kt")
+        public void testAbstractDelegatedProperty() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/abstractDelegatedProperty.kt");
+        }
+
+        @Test
+        public void testAllFilesPresentInDelegatedProperty() throws Exception {
+            KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/delegatedProperty"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+        }
+
+        @Test
+        @TestMetadata("backingField.kt")
+        public void testBackingField() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/backingField.kt");
+        }
+
+        @Test
+        @TestMetadata("defaultGetter.kt")
+        public void testDefaultGetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/defaultGetter.kt");
+        }
+
+        @Test
+        @TestMetadata("defaultSetter.kt")
+        public void testDefaultSetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/defaultSetter.kt");
+        }
+
+        @Test
+        @TestMetadata("delegatedPropertyOverridedInTrait.kt")
+        public void testDelegatedPropertyOverridedInTrait() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/delegatedPropertyOverridedInTrait.kt");
+        }
+
+        @Test
+        @TestMetadata("delegatedPropertyOverridedInTraitTypeMismatch.kt")
+        public void testDelegatedPropertyOverridedInTraitTypeMismatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/delegatedPropertyOverridedInTraitTypeMismatch.kt");
+        }
+
+        @Test
+        @TestMetadata("disallowImplInTypeParameter.kt")
+        public void testDisallowImplInTypeParameter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/disallowImplInTypeParameter.kt");
+        }
+
+        @Test
+        @TestMetadata("genericGetter.kt")
+        public void testGenericGetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/genericGetter.kt");
+        }
+
+        @Test
+        @TestMetadata("getterWithSubtype.kt")
+        public void testGetterWithSubtype() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/getterWithSubtype.kt");
+        }
+
+        @Test
+        @TestMetadata("inTrait.kt")
+        public void testInTrait() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/inTrait.kt");
+        }
+
+        @Test
+        @TestMetadata("incompleteTypeInference.kt")
+        public void testIncompleteTypeInference() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/incompleteTypeInference.kt");
+        }
+
+        @Test
+        @TestMetadata("kt4640.kt")
+        public void testKt4640() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/kt4640.kt");
+        }
+
+        @Test
+        @TestMetadata("localVariable.kt")
+        public void testLocalVariable() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/localVariable.kt");
+        }
+
+        @Test
+        @TestMetadata("localWithSmartCast.kt")
+        public void testLocalWithSmartCast() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/localWithSmartCast.kt");
+        }
+
+        @Test
+        @TestMetadata("missedGetter.kt")
+        public void testMissedGetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/missedGetter.kt");
+        }
+
+        @Test
+        @TestMetadata("missedSetter.kt")
+        public void testMissedSetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/missedSetter.kt");
+        }
+
+        @Test
+        @TestMetadata("nonDefaultAccessors.kt")
+        public void testNonDefaultAccessors() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/nonDefaultAccessors.kt");
+        }
+
+        @Test
+        @TestMetadata("propertyDefferedType.kt")
+        public void testPropertyDefferedType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/propertyDefferedType.kt");
+        }
+
+        @Test
+        @TestMetadata("recursiveType.kt")
+        public void testRecursiveType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/recursiveType.kt");
+        }
+
+        @Test
+        @TestMetadata("redundantGetter.kt")
+        public void testRedundantGetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/redundantGetter.kt");
+        }
+
+        @Test
+        @TestMetadata("redundantSetter.kt")
+        public void testRedundantSetter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/redundantSetter.kt");
+        }
+
+        @Test
+        @TestMetadata("setterThisTypeMismatch.kt")
+        public void testSetterThisTypeMismatch() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/setterThisTypeMismatch.kt");
+        }
+
+        @Test
+        @TestMetadata("setterWithSupertype.kt")
+        public void testSetterWithSupertype() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/setterWithSupertype.kt");
+        }
+
+        @Test
+        @TestMetadata("severalReceivers.kt")
+        public void testSeveralReceivers() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/severalReceivers.kt");
+        }
+
+        @Test
+        @TestMetadata("thisInDelegate.kt")
+        public void testThisInDelegate() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/thisInDelegate.kt");
+        }
+
+        @Test
+        @TestMetadata("thisOfAnyType.kt")
+        public void testThisOfAnyType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/thisOfAnyType.kt");
+        }
+
+        @Test
+        @TestMetadata("thisOfNothingNullableType.kt")
+        public void testThisOfNothingNullableType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/thisOfNothingNullableType.kt");
+        }
+
+        @Test
+        @TestMetadata("thisOfNothingType.kt")
+        public void testThisOfNothingType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/thisOfNothingType.kt");
+        }
+
+        @Test
+        @TestMetadata("twoGetMethods.kt")
+        public void testTwoGetMethods() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/twoGetMethods.kt");
+        }
+
+        @Test
+        @TestMetadata("typeMismatchForGetReturnType.kt")
+        public void testTypeMismatchForGetReturnType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/typeMismatchForGetReturnType.kt");
+        }
+
+        @Test
+        @TestMetadata("typeMismatchForGetWithGeneric.kt")
+        public void testTypeMismatchForGetWithGeneric() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/typeMismatchForGetWithGeneric.kt");
+        }
+
+        @Test
+        @TestMetadata("typeMismatchForSetParameter.kt")
+        public void testTypeMismatchForSetParameter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/typeMismatchForSetParameter.kt");
+        }
+
+        @Test
+        @TestMetadata("typeMismatchForThisGetParameter.kt")
+        public void testTypeMismatchForThisGetParameter() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/typeMismatchForThisGetParameter.kt");
+        }
+
+        @Test
+        @TestMetadata("useTypeParameterOfExtensionProperty.kt")
+        public void testUseTypeParameterOfExtensionProperty() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/useTypeParameterOfExtensionProperty.kt");
+        }
+
+        @Test
+        @TestMetadata("useTypeParameterOfExtensionProperty_Disabled.kt")
+        public void testUseTypeParameterOfExtensionProperty_Disabled() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/useTypeParameterOfExtensionProperty_Disabled.kt");
+        }
+
+        @Test
+        @TestMetadata("wrongCountOfParametersInGet.kt")
+        public void testWrongCountOfParametersInGet() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/wrongCountOfParametersInGet.kt");
+        }
+
+        @Test
+        @TestMetadata("wrongCountOfParametersInSet.kt")
+        public void testWrongCountOfParametersInSet() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/wrongCountOfParametersInSet.kt");
+        }
+
+        @Test
+        @TestMetadata("wrongSetterReturnType.kt")
+        public void testWrongSetterReturnType() throws Exception {
+            runTest("compiler/testData/diagnostics/tests/delegatedProperty/wrongSetterReturnType.kt");
+        }
+
+        @Nested
+        @TestMetadata("compiler/testData/diagnostics/tests/delegatedProperty/inference")
+        @TestDataPath("$PROJECT_ROOT")
+        public class Inference {
+            @Test
+            public void testAllFilesPresentInInference() throws Exception {
+                KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/delegatedProperty/inference"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+            }
+
+            @Test
+            @TestMetadata("callableReferenceArgumentInDelegatedExpression.kt")
+            public void testCallableReferenceArgumentInDelegatedExpression() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/callableReferenceArgumentInDelegatedExpression.kt");
+            }
+
+            @Test
+            @TestMetadata("delegateExpressionAsLambda.kt")
+            public void testDelegateExpressionAsLambda() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/delegateExpressionAsLambda.kt");
+            }
+
+            @Test
+            @TestMetadata("delegatedExpressionWithLabeledReturnInsideLambda.kt")
+            public void testDelegatedExpressionWithLabeledReturnInsideLambda() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/delegatedExpressionWithLabeledReturnInsideLambda.kt");
+            }
+
+            @Test
+            @TestMetadata("differentDelegatedExpressions.kt")
+            public void testDifferentDelegatedExpressions() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/differentDelegatedExpressions.kt");
+            }
+
+            @Test
+            @TestMetadata("extensionGet.kt")
+            public void testExtensionGet() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/extensionGet.kt");
+            }
+
+            @Test
+            @TestMetadata("extensionProperty.kt")
+            public void testExtensionProperty() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/extensionProperty.kt");
+            }
+
+            @Test
+            @TestMetadata("genericMethodInGenericClass.kt")
+            public void testGenericMethodInGenericClass() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/genericMethodInGenericClass.kt");
+            }
+
+            @Test
+            @TestMetadata("genericMethods.kt")
+            public void testGenericMethods() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/genericMethods.kt");
+            }
+
+            @Test
+            @TestMetadata("labeledDelegatedExpression.kt")
+            public void testLabeledDelegatedExpression() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/labeledDelegatedExpression.kt");
+            }
+
+            @Test
+            @TestMetadata("manyIncompleteCandidates.kt")
+            public void testManyIncompleteCandidates() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/manyIncompleteCandidates.kt");
+            }
+
+            @Test
+            @TestMetadata("noErrorsForImplicitConstraints.kt")
+            public void testNoErrorsForImplicitConstraints() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/noErrorsForImplicitConstraints.kt");
+            }
+
+            @Test
+            @TestMetadata("noExpectedTypeForSupertypeConstraint.kt")
+            public void testNoExpectedTypeForSupertypeConstraint() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/noExpectedTypeForSupertypeConstraint.kt");
+            }
+
+            @Test
+            @TestMetadata("resultTypeOfLambdaForConventionMethods.kt")
+            public void testResultTypeOfLambdaForConventionMethods() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/resultTypeOfLambdaForConventionMethods.kt");
+            }
+
+            @Test
+            @TestMetadata("typeOfLazyDelegatedPropertyWithObject.kt")
+            public void testTypeOfLazyDelegatedPropertyWithObject() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/typeOfLazyDelegatedPropertyWithObject.kt");
+            }
+
+            @Test
+            @TestMetadata("useCompleterWithoutExpectedType.kt")
+            public void testUseCompleterWithoutExpectedType() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/useCompleterWithoutExpectedType.kt");
+            }
+
+            @Test
+            @TestMetadata("useExpectedType.kt")
+            public void testUseExpectedType() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/useExpectedType.kt");
+            }
+
+            @Test
+            @TestMetadata("useExpectedTypeForVal.kt")
+            public void testUseExpectedTypeForVal() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/inference/useExpectedTypeForVal.kt");
+            }
+        }
+
+        @Nested
+        @TestMetadata("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate")
+        @TestDataPath("$PROJECT_ROOT")
+        public class ProvideDelegate {
+            @Test
+            public void testAllFilesPresentInProvideDelegate() throws Exception {
+                KtTestUtil.assertAllTestsPresentByMetadataWithExcluded(this.getClass(), new File("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate"), Pattern.compile("^(.*)\\.kts?$"), Pattern.compile("^(.+)\\.fir\\.kts?$"), true);
+            }
+
+            @Test
+            @TestMetadata("commonCaseForInference.kt")
+            public void testCommonCaseForInference() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/commonCaseForInference.kt");
+            }
+
+            @Test
+            @TestMetadata("genericProvideDelegate.kt")
+            public void testGenericProvideDelegate() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/genericProvideDelegate.kt");
+            }
+
+            @Test
+            @TestMetadata("hostAndReceiver1.kt")
+            public void testHostAndReceiver1() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/hostAndReceiver1.kt");
+            }
+
+            @Test
+            @TestMetadata("hostAndReceiver2.kt")
+            public void testHostAndReceiver2() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/hostAndReceiver2.kt");
+            }
+
+            @Test
+            @TestMetadata("hostAndReceiver3.kt")
+            public void testHostAndReceiver3() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/hostAndReceiver3.kt");
+            }
+
+            @Test
+            @TestMetadata("inferenceFromReceiver1.kt")
+            public void testInferenceFromReceiver1() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/inferenceFromReceiver1.kt");
+            }
+
+            @Test
+            @TestMetadata("inferenceFromReceiver2.kt")
+            public void testInferenceFromReceiver2() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/inferenceFromReceiver2.kt");
+            }
+
+            @Test
+            @TestMetadata("kt38714.kt")
+            public void testKt38714() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/kt38714.kt");
+            }
+
+            @Test
+            @TestMetadata("localDelegatedProperty.kt")
+            public void testLocalDelegatedProperty() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/localDelegatedProperty.kt");
+            }
+
+            @Test
+            @TestMetadata("noOperatorModifierOnProvideDelegate.kt")
+            public void testNoOperatorModifierOnProvideDelegate() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/noOperatorModifierOnProvideDelegate.kt");
+            }
+
+            @Test
+            @TestMetadata("overloadResolutionForSeveralProvideDelegates.kt")
+            public void testOverloadResolutionForSeveralProvideDelegates() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/overloadResolutionForSeveralProvideDelegates.kt");
+            }
+
+            @Test
+            @TestMetadata("provideDelegateOnFunctionalTypeWithThis.kt")
+            public void testProvideDelegateOnFunctionalTypeWithThis() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/provideDelegateOnFunctionalTypeWithThis.kt");
+            }
+
+            @Test
+            @TestMetadata("provideDelegateOperatorDeclaration.kt")
+            public void testProvideDelegateOperatorDeclaration() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/provideDelegateOperatorDeclaration.kt");
+            }
+
+            @Test
+            @TestMetadata("provideDelegateResolutionWithStubTypes.kt")
+            public void testProvideDelegateResolutionWithStubTypes() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/provideDelegateResolutionWithStubTypes.kt");
+            }
+
+            @Test
+            @TestMetadata("setValue.kt")
+            public void testSetValue() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/setValue.kt");
+            }
+
+            @Test
+            @TestMetadata("simpleProvideDelegate.kt")
+            public void testSimpleProvideDelegate() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/simpleProvideDelegate.kt");
+            }
+
+            @Test
+            @TestMetadata("unsupportedOperatorProvideDelegate.kt")
+            public void testUnsupportedOperatorProvideDelegate() throws Exception {
+                runTest("compiler/testData/diagnostics/tests/delegatedProperty/provideDelegate/unsupportedOperatorProvideDelegate.kt");
+            }
+        }
+    }
+}
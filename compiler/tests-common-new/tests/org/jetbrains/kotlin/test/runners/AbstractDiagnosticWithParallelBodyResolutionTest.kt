@@ -0,0 +1,21 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.test.runners
+
+import org.jetbrains.kotlin.test.builders.TestConfigurationBuilder
+import org.jetbrains.kotlin.test.services.configuration.ParallelBodyResolutionConfigurator
+
+/**
+ * Runs diagnostic tests with `-Xparallel-body-resolution-threads`, against the same expected output as [AbstractDiagnosticTest].
+ */
+abstract class AbstractDiagnosticWithParallelBodyResolutionTest : AbstractDiagnosticTest() {
+    override fun configure(builder: TestConfigurationBuilder) {
+        super.configure(builder)
+        builder.apply {
+            useConfigurators(::ParallelBodyResolutionConfigurator)
+        }
+    }
+}
@@ -31,6 +31,11 @@ fun generateJUnit5CompilerTests(args: Array<String>) {
                 model("diagnostics/tests/javac", pattern = "^(.*)\\.kts?$", excludedPattern = excludedFirTestdataPattern)
             }
 
+            testClass<AbstractDiagnosticWithParallelBodyResolutionTest> {
+                model("diagnostics/tests/controlFlowAnalysis", pattern = "^(.*)\\.kts?$", excludedPattern = excludedFirTestdataPattern)
+                model("diagnostics/tests/delegatedProperty", pattern = "^(.*)\\.kts?$", excludedPattern = excludedFirTestdataPattern)
+            }
+
             testClass<AbstractDiagnosticsTestWithJsStdLib> {
                 model("diagnostics/testsWithJsStdLib")
             }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.ir.util
+
+import org.jetbrains.kotlin.builtins.DefaultBuiltIns
+import org.jetbrains.kotlin.descriptors.*
+import org.jetbrains.kotlin.ir.declarations.IrClass
+import org.jetbrains.kotlin.ir.declarations.IrDeclarationOrigin
+import org.jetbrains.kotlin.ir.declarations.impl.IrFactoryImpl
+import org.jetbrains.kotlin.ir.symbols.IrClassSymbol
+import org.jetbrains.kotlin.ir.symbols.IrSymbol
+import org.jetbrains.kotlin.name.Name
+import org.junit.Assert.*
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
+
+class SymbolTableConcurrencyTest {
+    private object NoSignatures : IdSignatureComposer {
+        override fun composeSignature(descriptor: DeclarationDescriptor): IdSignature? = null
+        override fun composeEnumEntrySignature(descriptor: ClassDescriptor): IdSignature? = null
+    }
+
+    private val symbolTable = SymbolTable(NoSignatures, IrFactoryImpl)
+
+    private val signatures = (0 until SIGNATURES).map { IdSignature.PublicSignature("test", "C$it", null, 0L) }
+
+    private fun declare(signature: IdSignature): IrClass =
+        symbolTable.declareClassFromLinker(DefaultBuiltIns.Instance.any, signature) { symbol ->
+            IrFactoryImpl.createClass(
+                0, 0, IrDeclarationOrigin.DEFINED, symbol, Name.identifier(signature.toString()),
+                ClassKind.CLASS, DescriptorVisibilities.PUBLIC, Modality.FINAL
+            )
+        }
+
+    private fun <T> runConcurrently(vararg tasks: () -> T): List<T> {
+        val start = CountDownLatch(1)
+        val results = arrayOfNulls<Any?>(tasks.size)
+        val errors = arrayOfNulls<Throwable>(tasks.size)
+        val threads = tasks.mapIndexed { index, task ->
+            thread {
+                start.await()
+                try {
+                    results[index] = task()
+                } catch (e: Throwable) {
+                    errors[index] = e
+                }
+            }
+        }
+        start.countDown()
+        threads.forEach(Thread::join)
+        errors.filterNotNull().firstOrNull()?.let { throw it }
+        @Suppress("UNCHECKED_CAST")
+        return results.toList() as List<T>
+    }
+
+    @Test
+    fun testConcurrentReferencesGetTheSameSymbol() {
+        val referenced = runConcurrently(*Array(THREADS) { index ->
+            { signatures.shuffled(kotlin.random.Random(index)).associateWith(symbolTable::referenceClassFromLinker) }
+        })
+
+        for (signature in signatures) {
+            val symbol = referenced.first().getValue(signature)
+            for (symbols in referenced) {
+                assertSame(symbol, symbols.getValue(signature))
+            }
+            assertSame(symbol, symbolTable.referenceClassFromLinker(signature))
+            assertSame(symbol, symbolTable.referenceClassIfAny(signature))
+        }
+        assertEquals(SIGNATURES, symbolTable.unboundClasses.size)
+    }
+
+    @Test
+    fun testConcurrentReferenceAndBind() {
+        val results = runConcurrently(
+            { signatures.map { declare(it).symbol } },
+            *Array(THREADS - 1) { { signatures.map(symbolTable::referenceClassFromLinker) } }
+        )
+
+        val declared = results.first()
+        for (symbols in results) {
+            for ((expected, actual) in declared.zip(symbols)) {
+                assertSame(expected, actual)
+            }
+        }
+        for ((signature, symbol) in signatures.zip(declared)) {
+            assertTrue(symbol.isBound)
+            assertSame(symbol, symbol.owner.symbol)
+            assertSame(symbol, symbolTable.referenceClassFromLinker(signature))
+        }
+        assertEquals(emptySet<IrClassSymbol>(), symbolTable.unboundClasses)
+    }
+
+    @Test
+    fun testPublicSymbolsAreVisitedInInsertionOrder() {
+        val reversed = signatures.asReversed()
+        val referenced = reversed.map(symbolTable::referenceClassFromLinker)
+        // Binding an already referenced symbol doesn't change its position
+        declare(reversed[SIGNATURES / 2])
+
+        val visited = mutableListOf<IrSymbol>()
+        symbolTable.forEachPublicSymbol { visited += it }
+        assertEquals(referenced, visited)
+    }
+
+    private companion object {
+        const val THREADS = 8
+        const val SIGNATURES = 2000
+    }
+}
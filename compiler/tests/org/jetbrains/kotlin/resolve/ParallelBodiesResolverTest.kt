@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.resolve
+
+import org.jetbrains.kotlin.incremental.components.ExpectActualTracker
+import org.jetbrains.kotlin.incremental.components.LookupTracker
+import org.jetbrains.kotlin.incremental.components.Position
+import org.jetbrains.kotlin.incremental.components.ScopeKind
+import org.jetbrains.kotlin.storage.LockBasedStorageManager
+import org.jetbrains.kotlin.util.slicedMap.Slices
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.File
+import java.util.function.BiConsumer
+
+class ParallelBodiesResolverTest {
+    private val storageManager = LockBasedStorageManager("ParallelBodiesResolverTest")
+    private val resolvedOn = Slices.createSimpleSlice<Int, String>()
+
+    private object IncrementalLookupTracker : LookupTracker {
+        override val requiresPosition: Boolean
+            get() = false
+
+        override fun record(filePath: String, position: Position, scopeFqName: String, scopeKind: ScopeKind, name: String) {
+        }
+    }
+
+    private fun resolver(threads: Int, lookupTracker: LookupTracker = LookupTracker.DO_NOTHING) =
+        ParallelBodiesResolver(storageManager, threads, lookupTracker, ExpectActualTracker.DoNothing)
+
+    private fun ParallelBodiesResolver.resolveAll(
+        declarations: List<Int>,
+        trace: BindingTrace = BindingTraceContext(),
+        resolveBody: (Int, BindingTrace) -> Unit = { _, _ -> }
+    ): Map<Int, String> {
+        resolve(declarations, trace, BiConsumer { declaration, bodyTrace ->
+            bodyTrace.record(resolvedOn, declaration, Thread.currentThread().name)
+            resolveBody(declaration, bodyTrace)
+        })
+        return declarations.associateWith { trace.get(resolvedOn, it)!! }
+    }
+
+    @Test
+    fun testBodiesAreResolvedOnWorkers() {
+        val resolver = resolver(threads = 4)
+        assertTrue(resolver.isEnabled)
+
+        val threads = resolver.resolveAll((0 until DECLARATIONS).toList())
+        assertEquals(DECLARATIONS, threads.size)
+        assertFalse(Thread.currentThread().name in threads.values)
+    }
+
+    @Test
+    fun testIncrementalCompilationTrackersDisableParallelResolution() {
+        for (resolver in listOf(
+            resolver(threads = 4, lookupTracker = IncrementalLookupTracker),
+            ParallelBodiesResolver(storageManager, 4, LookupTracker.DO_NOTHING, object : ExpectActualTracker {
+                override fun report(expectedFile: File, actualFile: File) {}
+            })
+        )) {
+            assertFalse(resolver.isEnabled)
+            val threads = resolver.resolveAll((0 until DECLARATIONS).toList())
+            assertEquals(setOf(Thread.currentThread().name), threads.values.toSet())
+        }
+    }
+
+    @Test
+    fun testNestedResolutionStaysOnWorker() {
+        val resolver = resolver(threads = 2)
+        val nested = resolver.resolveAll((0 until DECLARATIONS).toList()) { declaration, bodyTrace ->
+            val nestedThreads = resolver.resolveAll(listOf(-1 - 2 * declaration, -2 - 2 * declaration), bodyTrace)
+            assertEquals(setOf(Thread.currentThread().name), nestedThreads.values.toSet())
+        }
+        assertEquals(DECLARATIONS, nested.size)
+    }
+
+    @Test
+    fun testFailureIsRethrown() {
+        val resolver = resolver(threads = 4)
+        try {
+            resolver.resolveAll((0 until DECLARATIONS).toList()) { declaration, _ ->
+                if (declaration == DECLARATIONS / 2) throw IllegalStateException("Body $declaration")
+            }
+            fail("The failure of a body wasn't rethrown")
+        } catch (e: IllegalStateException) {
+            assertEquals("Body ${DECLARATIONS / 2}", e.message)
+        }
+
+        // the shared workers are still usable after a failure
+        assertEquals(DECLARATIONS, resolver.resolveAll((0 until DECLARATIONS).toList()).size)
+    }
+
+    private companion object {
+        const val DECLARATIONS = 200
+    }
+}
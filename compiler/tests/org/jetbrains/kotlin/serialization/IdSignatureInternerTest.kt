@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.serialization
+
+import org.jetbrains.kotlin.backend.common.serialization.IdSignatureInterner
+import org.jetbrains.kotlin.ir.util.IdSignature
+import org.junit.Assert.*
+import org.junit.Test
+
+class IdSignatureInternerTest {
+    private fun public(declarationFqName: String, id: Long? = null, mask: Long = 0L): IdSignature.PublicSignature =
+        IdSignature.PublicSignature("test", declarationFqName, id, mask)
+
+    @Test
+    fun testEqualSignaturesAreInternedToFirstInstance() {
+        val interner = IdSignatureInterner()
+        val first = public("A.foo", 1L)
+        val second = public("A.foo", 1L)
+
+        val id = interner.intern(first)
+        assertEquals(id, interner.intern(second))
+        assertSame(first, interner.canonicalize(second))
+        assertSame(first, interner.signature(id))
+        assertEquals(1, interner.size)
+    }
+
+    @Test
+    fun testDifferentSignaturesGetDifferentIds() {
+        val interner = IdSignatureInterner()
+        val signatures = listOf(
+            public("A"),
+            public("A.foo", 1L),
+            public("A.foo", 2L),
+            public("A.foo", 1L, mask = 1L),
+            IdSignature.PublicSignature("other", "A.foo", 1L, 0L),
+        )
+
+        val ids = signatures.map(interner::intern)
+        assertEquals(signatures.size, ids.toSet().size)
+        for ((signature, id) in signatures.zip(ids)) {
+            assertSame(signature, interner.signature(id))
+        }
+    }
+
+    @Test
+    fun testAccessorIsNotMergedWithItsPublicSignature() {
+        val interner = IdSignatureInterner()
+        val getter = public("A.<get-x>", 3L)
+        val accessor = IdSignature.AccessorSignature(public("A.x", 2L), getter)
+
+        // An accessor signature is equal to the signature of its accessor, so the interner must compare classes as well
+        assertEquals(accessor, getter)
+
+        val accessorId = interner.intern(accessor)
+        val getterId = interner.intern(public("A.<get-x>", 3L))
+        assertNotEquals(accessorId, getterId)
+        assertTrue(interner.signature(accessorId) is IdSignature.AccessorSignature)
+        assertTrue(interner.signature(getterId) is IdSignature.PublicSignature)
+
+        assertEquals(accessorId, interner.intern(IdSignature.AccessorSignature(public("A.x", 2L), public("A.<get-x>", 3L))))
+    }
+
+    @Test
+    fun testLocalSignatures() {
+        val interner = IdSignatureInterner()
+        val fileLocal = IdSignature.FileLocalSignature(public("A"), 5L)
+        val scopeLocal = IdSignature.ScopeLocalDeclaration(5, "x")
+
+        val fileLocalId = interner.intern(fileLocal)
+        val scopeLocalId = interner.intern(scopeLocal)
+        assertNotEquals(fileLocalId, scopeLocalId)
+
+        assertEquals(fileLocalId, interner.intern(IdSignature.FileLocalSignature(public("A"), 5L)))
+        assertNotEquals(fileLocalId, interner.intern(IdSignature.FileLocalSignature(public("B"), 5L)))
+        assertEquals(scopeLocalId, interner.intern(IdSignature.ScopeLocalDeclaration(5, "y")))
+        assertSame(scopeLocal, interner.signature(scopeLocalId))
+    }
+
+    @Test
+    fun testSpecialFakeOverrideSignatures() {
+        val interner = IdSignatureInterner()
+        fun fakeOverride(vararg overridden: String) =
+            IdSignature.SpecialFakeOverrideSignature(public("Derived.foo", 1L), overridden.map { public(it, 1L) })
+
+        val id = interner.intern(fakeOverride("Base.foo"))
+        assertEquals(id, interner.intern(fakeOverride("Base.foo")))
+        assertNotEquals(id, interner.intern(fakeOverride("Other.foo")))
+        assertNotEquals(id, interner.intern(public("Derived.foo", 1L)))
+    }
+
+    @Test
+    fun testIdsAndInstancesSurviveGrowth() {
+        val interner = IdSignatureInterner()
+        val signatures = (0 until 10_000).map { public("A.foo$it", it.toLong()) }
+        val ids = signatures.map(interner::intern)
+
+        assertEquals((0 until 10_000).toList(), ids)
+        for ((signature, id) in signatures.zip(ids)) {
+            assertEquals(id, interner.intern(public(signature.declarationFqName, signature.id)))
+            assertSame(signature, interner.signature(id))
+        }
+        assertEquals(10_000, interner.size)
+    }
+
+    @Test
+    fun testPublicSignatureEquality() {
+        val signature = public("A.foo", 1L, mask = 1L)
+        val equal = public("A.foo", 1L, mask = 1L)
+
+        assertEquals(signature, equal)
+        assertEquals(signature.hashCode(), equal.hashCode())
+        // The hash code is cached after the first call
+        assertEquals(signature.hashCode(), signature.hashCode())
+
+        assertNotEquals(signature, public("A.foo", 1L, mask = 0L))
+        assertNotEquals(signature, public("A.foo", null, mask = 1L))
+        assertNotEquals(signature, public("A.bar", 1L, mask = 1L))
+        assertNotEquals(signature, IdSignature.PublicSignature("other", "A.foo", 1L, 1L))
+        assertNotEquals(signature, IdSignature.FileLocalSignature(public("A"), 1L))
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.serialization
+
+import org.jetbrains.kotlin.metadata.ProtoBuf
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtoSlicer
+import org.jetbrains.kotlin.protobuf.ExtensionRegistryLite
+import org.junit.Assert.*
+import org.junit.Test
+
+class MemberProtoIndexTest {
+    private fun function(nameIndex: Int, flags: Int): ProtoBuf.Function =
+        ProtoBuf.Function.newBuilder().setName(nameIndex).setFlags(flags).build()
+
+    private fun sliceFunctions(vararg functions: ProtoBuf.Function) =
+        ProtoBuf.Package.newBuilder().addAllFunction(functions.asList()).build().toByteArray().let { bytes ->
+            MemberProtoSlicer.slicePackage(bytes, 0, bytes.size).members.functions
+        }
+
+    private fun parseFlags(nameIndices: List<Int>, vararg functions: ProtoBuf.Function): List<Int> =
+        sliceFunctions(*functions)
+            .parse(nameIndices, ProtoBuf.Function.PARSER, ExtensionRegistryLite.getEmptyRegistry())
+            .map { it.flags }
+
+    @Test
+    fun testMembersOfOneNameIndex() {
+        val functions = arrayOf(function(1, 10), function(2, 20), function(1, 30))
+
+        assertEquals(listOf(10, 30), parseFlags(listOf(1), *functions))
+        assertEquals(listOf(20), parseFlags(listOf(2), *functions))
+        assertEquals(emptyList<Int>(), parseFlags(listOf(3), *functions))
+    }
+
+    @Test
+    fun testMembersOfSeveralNameIndicesAreMergedInSerializationOrder() {
+        // Name indices 1 and 2 can resolve to the same name if the string table contains duplicates
+        val functions = arrayOf(function(2, 10), function(1, 20), function(3, 30), function(2, 40), function(1, 50))
+
+        assertEquals(listOf(10, 20, 40, 50), parseFlags(listOf(1, 2), *functions))
+        assertEquals(listOf(10, 20, 40, 50), parseFlags(listOf(2, 1, 4), *functions))
+        assertEquals(emptyList<Int>(), parseFlags(listOf(4, 5), *functions))
+    }
+}
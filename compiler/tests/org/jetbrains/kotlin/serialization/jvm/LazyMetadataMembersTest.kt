@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.serialization.jvm
+
+import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
+import org.jetbrains.kotlin.config.*
+import org.jetbrains.kotlin.incremental.components.NoLookupLocation
+import org.jetbrains.kotlin.jvm.compiler.LoadDescriptorUtil
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.kotlin.psi.KtSimpleNameExpression
+import org.jetbrains.kotlin.psi.psiUtil.collectDescendantsOfType
+import org.jetbrains.kotlin.renderer.DescriptorRenderer
+import org.jetbrains.kotlin.resolve.BindingContext
+import org.jetbrains.kotlin.resolve.lazy.JvmResolveUtil
+import org.jetbrains.kotlin.serialization.deserialization.descriptors.DeserializedClassDescriptor
+import org.jetbrains.kotlin.test.ConfigurationKind
+import org.jetbrains.kotlin.test.KotlinTestUtils
+import org.jetbrains.kotlin.test.TestCaseWithTmpdir
+import org.jetbrains.kotlin.test.TestJdkKind
+import org.jetbrains.kotlin.test.util.KtTestUtil
+import org.jetbrains.kotlin.test.util.RecursiveDescriptorComparator
+import java.io.File
+
+/**
+ * Checks that resolution against binary classes loaded with `-Xlazy-metadata-members` (see `DeserializedMemberScope.IndexedImplementation`)
+ * gives the same results as resolution against fully parsed classes.
+ */
+class LazyMetadataMembersTest : TestCaseWithTmpdir() {
+    fun testResolutionMatchesEagerMembers() {
+        LoadDescriptorUtil.compileKotlinToDirAndGetModule(
+            listOf(File("$TEST_DATA_DIR/lib.kt")), tmpdir, createEnvironment(lazyMembers = false)
+        )
+
+        val eager = resolveUsage(lazyMembers = false)
+        val lazy = resolveUsage(lazyMembers = true)
+
+        assertEquals(eager, lazy)
+    }
+
+    private fun createEnvironment(lazyMembers: Boolean): KotlinCoreEnvironment =
+        KotlinCoreEnvironment.createForTests(
+            testRootDisposable,
+            KotlinTestUtils.newConfiguration(ConfigurationKind.ALL, TestJdkKind.MOCK_JDK, tmpdir).apply {
+                languageVersionSettings = LanguageVersionSettingsImpl(
+                    LanguageVersionSettingsImpl.DEFAULT.languageVersion,
+                    LanguageVersionSettingsImpl.DEFAULT.apiVersion,
+                    mapOf(AnalysisFlags.lazyMetadataMembers to lazyMembers),
+                    emptyMap()
+                )
+            },
+            EnvironmentConfigFiles.JVM_CONFIG_FILES
+        )
+
+    private fun resolveUsage(lazyMembers: Boolean): String {
+        val environment = createEnvironment(lazyMembers)
+        val usage = KtTestUtil.createFile("usage.kt", File("$TEST_DATA_DIR/usage.kt").readText(), environment.project)
+        val result = JvmResolveUtil.analyzeAndCheckForErrors(usage, environment)
+
+        val references = usage.collectDescendantsOfType<KtSimpleNameExpression>().joinToString("\n") { reference ->
+            val target = result.bindingContext[BindingContext.REFERENCE_TARGET, reference]
+            "${reference.text} -> ${target?.let(DescriptorRenderer.FQ_NAMES_IN_TYPES::render)}"
+        }
+
+        val testPackage = result.moduleDescriptor.getPackage(FqName("test"))
+        val descriptors = RecursiveDescriptorComparator(
+            RecursiveDescriptorComparator.RECURSIVE_ALL.renderDeclarationsFromOtherModules(true)
+        ).serializeRecursively(testPackage)
+
+        // Members must be visible through the class proto as well, for consumers which read the member lists directly
+        val members = testPackage.memberScope.getContributedClassifier(Name.identifier("Members"), NoLookupLocation.FROM_TEST)
+        val classProto = (members as DeserializedClassDescriptor).classProto
+        val memberNames = (classProto.functionList.map { it.name } + classProto.propertyList.map { it.name })
+            .map { members.c.nameResolver.getString(it) }
+            .sorted()
+
+        return "$references\n\n$descriptors\n\n$memberNames"
+    }
+
+    companion object {
+        private const val TEST_DATA_DIR = "compiler/testData/serialization/lazyMetadataMembers"
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.serialization.jvm
+
+import org.jetbrains.kotlin.metadata.ProtoBuf
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtoSlicer
+import org.jetbrains.kotlin.metadata.jvm.deserialization.JvmProtoBufUtil
+import org.jetbrains.kotlin.test.testFramework.KtUsefulTestCase
+
+class MemberProtoSlicerTest : KtUsefulTestCase() {
+    private fun function(name: Int, flags: Int) =
+        ProtoBuf.Function.newBuilder().setName(name).setFlags(flags).build()
+
+    private fun property(name: Int) =
+        ProtoBuf.Property.newBuilder().setName(name).build()
+
+    private fun createClass(): ProtoBuf.Class =
+        ProtoBuf.Class.newBuilder()
+            .setFqName(42)
+            .addFunction(function(3, 1))
+            .addFunction(function(1, 2))
+            .addFunction(function(3, 3))
+            .addProperty(property(2))
+            .addNestedClassName(7)
+            .build()
+
+    fun testSliceClass() {
+        val proto = createClass()
+        val bytes = proto.toByteArray()
+
+        val result = MemberProtoSlicer.sliceClass(bytes, 0, bytes.size)
+        val classProto = ProtoBuf.Class.parseFrom(result.messageBytes, JvmProtoBufUtil.EXTENSION_REGISTRY)
+
+        assertEquals(42, classProto.fqName)
+        assertEquals(listOf(7), classProto.nestedClassNameList)
+        assertEquals(0, classProto.functionCount)
+        assertEquals(0, classProto.propertyCount)
+
+        val functions = result.members.functions
+        assertEquals(3, functions.size)
+        assertEquals(2, functions.nameCount)
+        assertTrue(3 in functions)
+        assertFalse(2 in functions)
+
+        val parsed = functions.parse(3, ProtoBuf.Function.PARSER, JvmProtoBufUtil.EXTENSION_REGISTRY)
+        assertEquals(listOf(1, 3), parsed.map { it.flags })
+        assertTrue(functions.parse(2, ProtoBuf.Function.PARSER, JvmProtoBufUtil.EXTENSION_REGISTRY).isEmpty())
+
+        // Lite messages don't implement equals, so compare the fields
+        assertEquals(
+            proto.functionList.map { it.name to it.flags },
+            functions.parseAll(ProtoBuf.Function.PARSER, JvmProtoBufUtil.EXTENSION_REGISTRY).map { it.name to it.flags }
+        )
+        assertEquals(
+            proto.propertyList.map { it.name },
+            result.members.properties.parseAll(ProtoBuf.Property.PARSER, JvmProtoBufUtil.EXTENSION_REGISTRY).map { it.name }
+        )
+        assertEquals(0, result.members.typeAliases.size)
+    }
+
+    fun testSliceWithOffset() {
+        val bytes = createClass().toByteArray()
+        val prefixed = ByteArray(5) + bytes
+
+        val result = MemberProtoSlicer.sliceClass(prefixed, 5, bytes.size)
+        assertEquals(
+            listOf(2),
+            result.members.functions.parse(1, ProtoBuf.Function.PARSER, JvmProtoBufUtil.EXTENSION_REGISTRY).map { it.flags }
+        )
+    }
+
+    fun testAddMembersBack() {
+        val proto = createClass()
+        val bytes = proto.toByteArray()
+
+        val result = MemberProtoSlicer.sliceClass(bytes, 0, bytes.size)
+        val classProto = ProtoBuf.Class.parseFrom(result.messageBytes, JvmProtoBufUtil.EXTENSION_REGISTRY)
+        val fullProto = result.members.addTo(classProto, JvmProtoBufUtil.EXTENSION_REGISTRY)
+
+        assertEquals(42, fullProto.fqName)
+        assertEquals(listOf(7), fullProto.nestedClassNameList)
+        assertEquals(proto.functionList.map { it.name to it.flags }, fullProto.functionList.map { it.name to it.flags })
+        assertEquals(proto.propertyList.map { it.name }, fullProto.propertyList.map { it.name })
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.util
+
+import org.jetbrains.kotlin.utils.TraceRecorder
+import org.junit.After
+import org.junit.Assert.*
+import org.junit.Test
+import kotlin.concurrent.thread
+
+class TraceRecorderTest {
+    @After
+    fun tearDown() {
+        TraceRecorder.stop()
+    }
+
+    private fun trace(): String = StringBuilder().also(TraceRecorder::writeChromeTrace).toString()
+
+    private fun spanNames(trace: String): List<String> =
+        Regex("\\{\"name\":\"((?:[^\"\\\\]|\\\\.)*)\",\"cat\"").findAll(trace).map { it.groupValues[1] }.toList()
+
+    @Test
+    fun testChromeTraceFormat() {
+        assertTrue(TraceRecorder.start())
+        TraceRecorder.span("outer", "phase") {
+            TraceRecorder.span("inner \"quoted\"", "file") {}
+        }
+        TraceRecorder.stop()
+        TraceRecorder.span("after stop", "phase") {}
+
+        val trace = trace()
+        assertTrue(trace, trace.startsWith("{\"traceEvents\":["))
+        assertTrue(trace, trace.endsWith("]}\n"))
+
+        val threadId = Thread.currentThread().id
+        assertTrue(trace, trace.contains("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":$threadId,"))
+        assertTrue(trace, trace.contains("\"cat\":\"phase\",\"ph\":\"X\",\"ts\":"))
+        assertTrue(trace, trace.contains("\"cat\":\"file\",\"ph\":\"X\",\"ts\":"))
+
+        // Spans are recorded when they end, so the inner one comes first
+        assertEquals(listOf("inner \\\"quoted\\\"", "outer"), spanNames(trace))
+    }
+
+    @Test
+    fun testRingBufferKeepsLatestSpans() {
+        TraceRecorder.start(capacityPerThread = 3)
+        for (i in 0 until 5) {
+            TraceRecorder.span("span$i", "test") {}
+        }
+        TraceRecorder.stop()
+
+        assertEquals(listOf("span2", "span3", "span4"), spanNames(trace()))
+    }
+
+    @Test
+    fun testRestartDropsPreviousSpans() {
+        TraceRecorder.start()
+        TraceRecorder.span("first", "test") {}
+        TraceRecorder.stop()
+
+        TraceRecorder.start()
+        TraceRecorder.span("second", "test") {}
+        TraceRecorder.stop()
+
+        assertEquals(listOf("second"), spanNames(trace()))
+    }
+
+    @Test
+    fun testNestedStartKeepsOuterRecording() {
+        assertTrue(TraceRecorder.start())
+        TraceRecorder.span("outer", "test") {
+            assertFalse(TraceRecorder.start())
+        }
+        TraceRecorder.stop()
+
+        assertEquals(listOf("outer"), spanNames(trace()))
+    }
+
+    @Test
+    fun testSpansOfOtherThreads() {
+        TraceRecorder.start()
+        TraceRecorder.span("main", "test") {}
+        val worker = thread(name = "trace-worker") {
+            TraceRecorder.span("worker", "test") {}
+        }
+        worker.join()
+        TraceRecorder.stop()
+
+        val trace = trace()
+        assertEquals(setOf("main", "worker"), spanNames(trace).toSet())
+        assertTrue(trace, trace.contains("\"tid\":${worker.id},\"args\":{\"name\":\"trace-worker\"}"))
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.util.slicedMap
+
+import org.junit.Assert.*
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+@RunWith(Parameterized::class)
+class MutableSlicedMapTest(
+    @Suppress("unused") private val name: String,
+    private val createMap: (alwaysAllowRewrite: Boolean, columnSlices: Collection<WritableSlice<*, *>>) -> MutableSlicedMap
+) {
+    private val rewrites = mutableListOf<Pair<Int, Int>>()
+
+    private val rewritePolicy = object : RewritePolicy {
+        override fun <K> rewriteProcessingNeeded(key: K): Boolean = true
+
+        override fun <K, V> processRewrite(slice: WritableSlice<K, V>, key: K, oldValue: V, newValue: V): Boolean {
+            rewrites += (oldValue as Int) to (newValue as Int)
+            return newValue != VETOED
+        }
+    }
+
+    private val column = slice("COLUMN")
+    private val rewrittenColumn = slice("REWRITTEN_COLUMN", BasicWritableSlice(rewritePolicy))
+    private val nullableColumn = slice("NULLABLE_COLUMN", object : BasicWritableSlice<String, Int>(RewritePolicy.DO_NOTHING) {
+        override fun check(key: String?, value: Int?): Boolean = true
+    })
+    private val other = slice("OTHER")
+    private val rewrittenOther = slice("REWRITTEN_OTHER", BasicWritableSlice(rewritePolicy))
+    private val lookup = Slices.sliceBuilder<String, Int>().setFurtherLookupSlices(column, other).setDebugName("LOOKUP").build()
+
+    private fun slice(
+        debugName: String,
+        slice: BasicWritableSlice<String, Int> = BasicWritableSlice(RewritePolicy.DO_NOTHING)
+    ): BasicWritableSlice<String, Int> = slice.apply { setDebugName(debugName) }
+
+    private fun map(alwaysAllowRewrite: Boolean = false): MutableSlicedMap =
+        createMap(alwaysAllowRewrite, listOf(column, rewrittenColumn, nullableColumn))
+
+    private fun MutableSlicedMap.contents(): Set<Triple<WritableSlice<*, *>, Any?, Any?>> {
+        val result = hashSetOf<Triple<WritableSlice<*, *>, Any?, Any?>>()
+        forEach { slice, key, value ->
+            assertTrue("Duplicate entry: $slice $key $value", result.add(Triple(slice, key, value)))
+            null
+        }
+        return result
+    }
+
+    @Test
+    fun testPutAndGet() {
+        val map = map()
+        map.put(column, "a", 1)
+        map.put(other, "a", 2)
+        map.put(column, "b", 3)
+
+        assertEquals(1, map.get(column, "a"))
+        assertEquals(2, map.get(other, "a"))
+        assertEquals(3, map.get(column, "b"))
+        assertNull(map.get(other, "b"))
+        assertNull(map.get(column, "c"))
+    }
+
+    @Test
+    fun testRewritePolicy() {
+        for (slice in listOf(rewrittenColumn, rewrittenOther)) {
+            rewrites.clear()
+            val map = map()
+
+            map.put(slice, "a", 1)
+            assertEquals(emptyList<Pair<Int, Int>>(), rewrites)
+
+            map.put(slice, "a", 2)
+            assertEquals(listOf(1 to 2), rewrites)
+            assertEquals(2, map.get(slice, "a"))
+
+            map.put(slice, "a", VETOED)
+            assertEquals(listOf(1 to 2, 2 to VETOED), rewrites)
+            assertEquals(2, map.get(slice, "a"))
+
+            map.put(slice, "b", 3)
+            assertEquals(2, rewrites.size)
+        }
+    }
+
+    @Test
+    fun testAlwaysAllowRewrite() {
+        for (slice in listOf(rewrittenColumn, rewrittenOther)) {
+            val map = map(alwaysAllowRewrite = true)
+            map.put(slice, "a", 1)
+            map.put(slice, "a", VETOED)
+            assertEquals(VETOED, map.get(slice, "a"))
+        }
+        assertEquals(emptyList<Pair<Int, Int>>(), rewrites)
+    }
+
+    @Test
+    fun testComputeValue() {
+        val map = map()
+        map.put(column, "a", 1)
+        map.put(other, "b", 2)
+        map.put(column, "c", 3)
+        map.put(lookup, "c", 4)
+
+        assertEquals(1, map.get(lookup, "a"))
+        assertEquals(2, map.get(lookup, "b"))
+        assertEquals(4, map.get(lookup, "c"))
+        assertNull(map.get(lookup, "d"))
+    }
+
+    @Test
+    fun testForEach() {
+        val map = map()
+        assertEquals(emptySet<Any>(), map.contents())
+
+        map.put(column, "a", 1)
+        map.put(column, "a", 2)
+        map.put(column, "b", 3)
+        map.put(other, "a", 4)
+        map.put(lookup, "b", 5)
+
+        assertEquals(
+            setOf(Triple(column, "a", 2), Triple(column, "b", 3), Triple(other, "a", 4), Triple(lookup, "b", 5)),
+            map.contents()
+        )
+    }
+
+    @Test
+    fun testGetSliceContents() {
+        val map = map()
+        assertEquals(emptyMap<String, Int>(), map.getSliceContents(column))
+
+        map.put(column, "a", 1)
+        map.put(column, "b", 2)
+        map.put(other, "a", 3)
+
+        assertEquals(mapOf("a" to 1, "b" to 2), map.getSliceContents(column))
+        assertEquals(mapOf("a" to 3), map.getSliceContents(other))
+        assertEquals(emptyMap<String, Int>(), map.getSliceContents(rewrittenColumn))
+    }
+
+    @Test
+    fun testClear() {
+        val map = map()
+        map.put(column, "a", 1)
+        map.put(other, "a", 2)
+        map.clear()
+
+        assertNull(map.get(column, "a"))
+        assertNull(map.get(other, "a"))
+        assertEquals(emptySet<Any>(), map.contents())
+        assertEquals(emptyMap<String, Int>(), map.getSliceContents(column))
+
+        map.put(column, "a", 3)
+        assertEquals(3, map.get(column, "a"))
+    }
+
+    @Test
+    fun testNullValueInColumn() {
+        val map = map()
+        // SlicedMapImpl rejects null values
+        assumeTrue(map is ColumnarSlicedMap)
+
+        map.put(nullableColumn, "a", 1)
+        map.put(nullableColumn, "a", null)
+        map.put(nullableColumn, "b", null)
+
+        assertNull(map.get(nullableColumn, "a"))
+        assertNull(map.get(nullableColumn, "b"))
+        assertEquals(emptySet<Any>(), map.contents())
+        assertEquals(emptyMap<String, Int>(), map.getSliceContents(nullableColumn))
+    }
+
+    companion object {
+        private const val VETOED = -1
+
+        @JvmStatic
+        @Parameterized.Parameters(name = "{0}")
+        fun implementations(): List<Array<Any>> = listOf(
+            arrayOf("SlicedMapImpl", { alwaysAllowRewrite: Boolean, _: Collection<WritableSlice<*, *>> ->
+                SlicedMapImpl(alwaysAllowRewrite)
+            }),
+            arrayOf("ColumnarSlicedMap", { alwaysAllowRewrite: Boolean, columnSlices: Collection<WritableSlice<*, *>> ->
+                ColumnarSlicedMap(alwaysAllowRewrite, columnSlices)
+            }),
+        )
+    }
+}
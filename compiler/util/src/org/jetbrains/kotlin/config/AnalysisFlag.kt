@@ -37,6 +37,10 @@ class AnalysisFlag<out T> internal constructor(
             operator fun provideDelegate(instance: Any?, property: KProperty<*>) = Delegate(property.name, emptyList<String>())
         }
 
+        object NumberOfThreads {
+            operator fun provideDelegate(instance: Any?, property: KProperty<*>) = Delegate(property.name, 1)
+        }
+
         object ConstraintSystemForOverloadResolution {
             operator fun provideDelegate(instance: Any?, property: KProperty<*>) =
                 Delegate(property.name, ConstraintSystemForOverloadResolutionMode.CONSTRAINT_SYSTEM_FOR_NEW_INFERENCE)
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.utils
+
+import java.io.File
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Records nested spans of compiler work, such as phases, files and classes, for export in the Chrome trace event format
+ * (`chrome://tracing`, Perfetto), see `-Xdump-trace`.
+ *
+ * Every thread records spans into its own ring buffer without synchronization, when a buffer is full the oldest spans are
+ * overwritten. When recording is not started, [span] only reads a volatile flag. Spans should be exported after recording is
+ * stopped. The recorder is global, so spans of all compilations running in the process at the same time are recorded together,
+ * and a compilation which asks for a trace while another one is being recorded contributes its spans to that trace.
+ */
+object TraceRecorder {
+    private const val DEFAULT_CAPACITY_PER_THREAD = 1 shl 16
+
+    @Volatile
+    @JvmStatic
+    var isEnabled: Boolean = false
+        private set
+
+    // Buffers of previous sessions are dropped rather than reset, since their threads may still be writing to them
+    @Volatile
+    private var session: Session? = null
+
+    private val currentBuffer = ThreadLocal<ThreadBuffer>()
+
+    /**
+     * Drops spans recorded before and starts recording. Returns false and keeps the current spans if recording is already started,
+     * the caller which started it is then responsible for stopping it.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @Synchronized
+    fun start(capacityPerThread: Int = DEFAULT_CAPACITY_PER_THREAD): Boolean {
+        if (isEnabled) return false
+        session = Session(capacityPerThread, System.nanoTime())
+        isEnabled = true
+        return true
+    }
+
+    @JvmStatic
+    fun stop() {
+        isEnabled = false
+    }
+
+    /**
+     * Records spans of [body] and dumps them to [traceFile], unless it is null or recording is already started by an outer caller.
+     */
+    inline fun <T> withRecording(traceFile: File?, body: () -> T): T {
+        if (traceFile == null || !start()) return body()
+        try {
+            return body()
+        } finally {
+            stop()
+            dumpChromeTrace(traceFile)
+        }
+    }
+
+    inline fun <T> span(name: String, category: String, body: () -> T): T {
+        if (!isEnabled) return body()
+        val startNanos = System.nanoTime()
+        try {
+            return body()
+        } finally {
+            record(name, category, startNanos)
+        }
+    }
+
+    @PublishedApi
+    @JvmStatic
+    internal fun record(name: String, category: String, startNanos: Long) {
+        val session = session ?: return
+        var buffer = currentBuffer.get()
+        if (buffer == null || buffer.session !== session) {
+            buffer = ThreadBuffer(session, Thread.currentThread())
+            session.buffers.add(buffer)
+            currentBuffer.set(buffer)
+        }
+        buffer.add(name, category, startNanos, System.nanoTime())
+    }
+
+    @Synchronized
+    fun writeChromeTrace(out: Appendable) {
+        out.append("{\"traceEvents\":[")
+        var first = true
+        fun nextEvent() {
+            if (!first) out.append(",\n")
+            first = false
+        }
+
+        val session = session ?: Session(0, 0L)
+        for (buffer in session.buffers) {
+            if (buffer.size == 0L) continue
+            nextEvent()
+            out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(buffer.threadId.toString())
+            out.append(",\"args\":{\"name\":\"").appendEscaped(buffer.threadName).append("\"}}")
+
+            buffer.forEach { name, category, startNanos, endNanos ->
+                nextEvent()
+                out.append("{\"name\":\"").appendEscaped(name)
+                out.append("\",\"cat\":\"").appendEscaped(category)
+                out.append("\",\"ph\":\"X\",\"ts\":").append(toMicros(startNanos - session.originNanos))
+                out.append(",\"dur\":").append(toMicros(endNanos - startNanos))
+                out.append(",\"pid\":1,\"tid\":").append(buffer.threadId.toString()).append("}")
+            }
+        }
+        out.append("]}\n")
+    }
+
+    fun dumpChromeTrace(file: File) {
+        file.parentFile?.mkdirs()
+        file.bufferedWriter().use { writeChromeTrace(it) }
+    }
+
+    private fun toMicros(nanos: Long): String = "${nanos / 1000}.${(nanos % 1000).toString().padStart(3, '0')}"
+
+    private fun Appendable.appendEscaped(value: String): Appendable {
+        for (c in value) {
+            when {
+                c == '"' || c == '\\' -> append('\\').append(c)
+                c < ' ' -> append("\\u").append(c.toInt().toString(16).padStart(4, '0'))
+                else -> append(c)
+            }
+        }
+        return this
+    }
+
+    private class Session(val capacityPerThread: Int, val originNanos: Long) {
+        val buffers = ConcurrentLinkedQueue<ThreadBuffer>()
+    }
+
+    private class ThreadBuffer(val session: Session, thread: Thread) {
+        val threadId = thread.id
+        val threadName: String = thread.name
+
+        private val names = arrayOfNulls<String>(session.capacityPerThread)
+        private val categories = arrayOfNulls<String>(session.capacityPerThread)
+        private val starts = LongArray(session.capacityPerThread)
+        private val ends = LongArray(session.capacityPerThread)
+
+        // Written only by the owning thread, the volatile write publishes the span
+        @Volatile
+        var size = 0L
+            private set
+
+        fun add(name: String, category: String, startNanos: Long, endNanos: Long) {
+            val index = (size % names.size).toInt()
+            names[index] = name
+            categories[index] = category
+            starts[index] = startNanos
+            ends[index] = endNanos
+            size++
+        }
+
+        inline fun forEach(action: (name: String, category: String, startNanos: Long, endNanos: Long) -> Unit) {
+            val end = size
+            for (i in maxOf(0L, end - names.size) until end) {
+                val index = (i % names.size).toInt()
+                action(names[index]!!, categories[index]!!, starts[index], ends[index])
+            }
+        }
+    }
+}
@@ -50,28 +50,35 @@ class DeserializedDescriptorResolver {
     internal fun readClassData(kotlinClass: KotlinJvmBinaryClass): ClassData? {
         val data = readData(kotlinClass, KOTLIN_CLASS) ?: return null
         val strings = kotlinClass.classHeader.strings ?: return null
-        val (nameResolver, classProto) = parseProto(kotlinClass) {
-            JvmProtoBufUtil.readClassDataFrom(data, strings)
+        val (nameResolver, classProto, memberProtos) = parseProto(kotlinClass) {
+            if (components.configuration.readMemberProtosLazily)
+                JvmProtoBufUtil.readClassDataWithLazyMembersFrom(data, strings)
+            else
+                JvmProtoBufUtil.readClassDataFrom(data, strings).let { Triple(it.first, it.second, null) }
         } ?: return null
         val source = KotlinJvmBinarySourceElement(
             kotlinClass, kotlinClass.incompatibility, kotlinClass.isPreReleaseInvisible, kotlinClass.abiStability
         )
-        return ClassData(nameResolver, classProto, kotlinClass.classHeader.metadataVersion, source)
+        return ClassData(nameResolver, classProto, kotlinClass.classHeader.metadataVersion, source, memberProtos)
     }
 
     fun createKotlinPackagePartScope(descriptor: PackageFragmentDescriptor, kotlinClass: KotlinJvmBinaryClass): MemberScope? {
         val data = readData(kotlinClass, KOTLIN_FILE_FACADE_OR_MULTIFILE_CLASS_PART) ?: return null
         val strings = kotlinClass.classHeader.strings ?: return null
-        val (nameResolver, packageProto) = parseProto(kotlinClass) {
-            JvmProtoBufUtil.readPackageDataFrom(data, strings)
+        val (nameResolver, packageProto, memberProtos) = parseProto(kotlinClass) {
+            if (components.configuration.readMemberProtosLazily)
+                JvmProtoBufUtil.readPackageDataWithLazyMembersFrom(data, strings)
+            else
+                JvmProtoBufUtil.readPackageDataFrom(data, strings).let { Triple(it.first, it.second, null) }
         } ?: return null
+        // Only the module name is read from the package proto by the source, and it is kept when members are left serialized
         val source = JvmPackagePartSource(
             kotlinClass, packageProto, nameResolver, kotlinClass.incompatibility, kotlinClass.isPreReleaseInvisible,
             kotlinClass.abiStability
         )
         return DeserializedPackageMemberScope(
             descriptor, packageProto, nameResolver, kotlinClass.classHeader.metadataVersion, source, components,
-            "scope for $source in $descriptor"
+            "scope for $source in $descriptor", memberProtos
         ) {
             // All classes are included into Java scope
             emptyList()
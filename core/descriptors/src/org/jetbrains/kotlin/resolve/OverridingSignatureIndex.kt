@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.resolve
+
+import org.jetbrains.kotlin.descriptors.CallableDescriptor
+import org.jetbrains.kotlin.descriptors.ClassDescriptor
+import org.jetbrains.kotlin.descriptors.FunctionDescriptor
+import org.jetbrains.kotlin.types.*
+
+/**
+ * Index of members from supertypes by the classifiers of their receiver and value parameter types, which lets [OverridingUtil]
+ * skip members that can't be overridden by a member of the current class without comparing their signatures.
+ *
+ * Only functions with non-flexible class types of parameters are indexed. Such types can only be equal to types with the same
+ * classifiers, also after erasure, so members with different keys are incompatible. Members which are not indexed are
+ * candidates for every member.
+ */
+internal class OverridingSignatureIndex<D : CallableDescriptor>(private val members: List<D>) {
+    private val positionsByKey = HashMap<List<TypeConstructor>, MutableList<Int>>()
+    private val notIndexedPositions = ArrayList<Int>()
+
+    init {
+        for ((position, member) in members.withIndex()) {
+            val key = signatureKey(member)
+            if (key == null) {
+                notIndexedPositions.add(position)
+            } else {
+                positionsByKey.getOrPut(key) { ArrayList(1) }.add(position)
+            }
+        }
+    }
+
+    /**
+     * Returns members which may be overridden by [member] in the original order.
+     */
+    fun getCandidates(member: CallableDescriptor): List<D> {
+        val key = signatureKey(member) ?: return members
+        val matching = positionsByKey[key].orEmpty()
+        if (notIndexedPositions.isEmpty()) return matching.map { members[it] }
+
+        val result = ArrayList<D>(matching.size + notIndexedPositions.size)
+        var i = 0
+        var j = 0
+        while (i < matching.size || j < notIndexedPositions.size) {
+            val takeMatching = j == notIndexedPositions.size || (i < matching.size && matching[i] < notIndexedPositions[j])
+            result.add(members[if (takeMatching) matching[i++] else notIndexedPositions[j++]])
+        }
+        return result
+    }
+
+    companion object {
+        // Below this number of compared pairs, building the index costs more than comparing signatures
+        const val MIN_PAIRS_TO_INDEX = 16
+
+        private fun signatureKey(descriptor: CallableDescriptor): List<TypeConstructor>? {
+            if (descriptor !is FunctionDescriptor) return null
+            val receiverType = descriptor.extensionReceiverParameter?.type
+            val valueParameters = descriptor.valueParameters
+            val key = ArrayList<TypeConstructor>(valueParameters.size + 1)
+            if (receiverType != null) {
+                key.add(classifierKey(receiverType) ?: return null)
+            }
+            for (valueParameter in valueParameters) {
+                key.add(classifierKey(valueParameter.type) ?: return null)
+            }
+            return key
+        }
+
+        private fun classifierKey(type: KotlinType): TypeConstructor? {
+            val unwrapped = type.unwrap()
+            // Flexible types are equal to types with the classifier of either bound, error types are equal to each other
+            if (unwrapped !is SimpleType || unwrapped is DefinitelyNotNullType || unwrapped.isError) return null
+            return unwrapped.constructor.takeIf { it.declarationDescriptor is ClassDescriptor }
+        }
+    }
+}
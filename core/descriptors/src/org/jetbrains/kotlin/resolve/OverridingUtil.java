@@ -491,15 +491,30 @@ public class OverridingUtil {
     ) {
         Collection<CallableMemberDescriptor> notOverridden = new LinkedHashSet<CallableMemberDescriptor>(membersFromSupertypes);
 
+        OverridingSignatureIndex<CallableMemberDescriptor> signatureIndex = null;
+        if (canUseSignatureIndex() &&
+            membersFromSupertypes.size() * membersFromCurrent.size() >= OverridingSignatureIndex.MIN_PAIRS_TO_INDEX) {
+            signatureIndex = new OverridingSignatureIndex<CallableMemberDescriptor>(
+                    new ArrayList<CallableMemberDescriptor>(membersFromSupertypes)
+            );
+        }
+
         for (CallableMemberDescriptor fromCurrent : membersFromCurrent) {
+            Collection<? extends CallableMemberDescriptor> candidates =
+                    signatureIndex != null ? signatureIndex.getCandidates(fromCurrent) : membersFromSupertypes;
             Collection<CallableMemberDescriptor> bound =
-                    extractAndBindOverridesForMember(fromCurrent, membersFromSupertypes, current, strategy);
+                    extractAndBindOverridesForMember(fromCurrent, candidates, current, strategy);
             notOverridden.removeAll(bound);
         }
 
         createAndBindFakeOverrides(current, notOverridden, strategy);
     }
 
+    private boolean canUseSignatureIndex() {
+        // Custom type constructor equality and type refinement may make types with different classifiers equal
+        return equalityAxioms == DEFAULT_TYPE_CONSTRUCTOR_EQUALITY && kotlinTypeRefiner == KotlinTypeRefiner.Default.INSTANCE;
+    }
+
     public static boolean isVisibleForOverride(@NotNull MemberDescriptor overriding, @NotNull MemberDescriptor fromSuper) {
         return !DescriptorVisibilities.isPrivate(fromSuper.getVisibility()) &&
                DescriptorVisibilities.isVisibleIgnoringReceiver(fromSuper, overriding);
@@ -8,11 +8,17 @@ package org.jetbrains.kotlin.serialization.deserialization
 import org.jetbrains.kotlin.descriptors.SourceElement
 import org.jetbrains.kotlin.metadata.ProtoBuf
 import org.jetbrains.kotlin.metadata.deserialization.BinaryVersion
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtos
 import org.jetbrains.kotlin.metadata.deserialization.NameResolver
 
 data class ClassData(
     val nameResolver: NameResolver,
     val classProto: ProtoBuf.Class,
     val metadataVersion: BinaryVersion,
-    val sourceElement: SourceElement
+    val sourceElement: SourceElement,
+    /**
+     * Members of the class, if they were not parsed into [classProto], see [org.jetbrains.kotlin.metadata.deserialization.MemberProtoSlicer].
+     * Member lists of [classProto] are empty in this case, the class descriptor restores them on demand.
+     */
+    val memberProtos: MemberProtos? = null
 )
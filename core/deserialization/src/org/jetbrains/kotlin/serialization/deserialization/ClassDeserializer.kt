@@ -40,9 +40,10 @@ class ClassDeserializer(private val components: DeserializationComponents) {
         }
         if (classId in BLACK_LIST) return null
 
-        val (nameResolver, classProto, metadataVersion, sourceElement) = key.classData
+        val classData = key.classData
             ?: components.classDataFinder.findClassData(classId)
             ?: return null
+        val (nameResolver, classProto, metadataVersion, sourceElement) = classData
 
         val outerClassId = classId.outerClassId
         val outerContext = if (outerClassId != null) {
@@ -66,7 +67,7 @@ class ClassDeserializer(private val components: DeserializationComponents) {
             )
         }
 
-        return DeserializedClassDescriptor(outerContext, classProto, nameResolver, metadataVersion, sourceElement)
+        return DeserializedClassDescriptor(outerContext, classProto, nameResolver, metadataVersion, sourceElement, classData.memberProtos)
     }
 
     private class ClassKey(val classId: ClassId, val classData: ClassData?) {
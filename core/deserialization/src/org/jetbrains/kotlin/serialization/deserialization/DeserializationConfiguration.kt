@@ -39,5 +39,12 @@ interface DeserializationConfiguration {
     val preserveDeclarationsOrdering: Boolean
         get() = false
 
+    /**
+     * Functions, properties and type aliases of binary classes and package parts are kept serialized and parsed only when
+     * they are looked up by name, see [org.jetbrains.kotlin.metadata.deserialization.MemberProtoSlicer].
+     */
+    val readMemberProtosLazily: Boolean
+        get() = false
+
     object Default : DeserializationConfiguration
 }
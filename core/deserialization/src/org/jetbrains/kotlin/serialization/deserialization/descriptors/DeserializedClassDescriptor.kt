@@ -32,25 +32,35 @@ import java.util.*
 
 class DeserializedClassDescriptor(
     outerContext: DeserializationContext,
-    val classProto: ProtoBuf.Class,
+    private val proto: ProtoBuf.Class,
     nameResolver: NameResolver,
     val metadataVersion: BinaryVersion,
-    private val sourceElement: SourceElement
+    private val sourceElement: SourceElement,
+    private val memberProtos: MemberProtos? = null
 ) : AbstractClassDescriptor(
     outerContext.storageManager,
-    nameResolver.getClassId(classProto.fqName).shortClassName
+    nameResolver.getClassId(proto.fqName).shortClassName
 ), DeserializedDescriptor {
-    private val classId = nameResolver.getClassId(classProto.fqName)
+    private val classId = nameResolver.getClassId(proto.fqName)
 
-    private val modality = ProtoEnumFlags.modality(Flags.MODALITY.get(classProto.flags))
-    private val visibility = ProtoEnumFlags.descriptorVisibility(Flags.VISIBILITY.get(classProto.flags))
-    private val kind = ProtoEnumFlags.classKind(Flags.CLASS_KIND.get(classProto.flags))
+    private val modality = ProtoEnumFlags.modality(Flags.MODALITY.get(proto.flags))
+    private val visibility = ProtoEnumFlags.descriptorVisibility(Flags.VISIBILITY.get(proto.flags))
+    private val kind = ProtoEnumFlags.classKind(Flags.CLASS_KIND.get(proto.flags))
 
     val c = outerContext.childContext(
-        this, classProto.typeParameterList, nameResolver, TypeTable(classProto.typeTable),
-        VersionRequirementTable.create(classProto.versionRequirementTable), metadataVersion
+        this, proto.typeParameterList, nameResolver, TypeTable(proto.typeTable),
+        VersionRequirementTable.create(proto.versionRequirementTable), metadataVersion
     )
 
+    private val fullClassProto = c.storageManager.createLazyValue { memberProtos!!.addTo(proto, c.components.extensionRegistryLite) }
+
+    /**
+     * Functions, properties and type aliases are not parsed into [proto] if they are kept in [memberProtos]. They are parsed back
+     * on the first access here, so the members are never missing for readers of the member lists outside of the member scope.
+     */
+    val classProto: ProtoBuf.Class
+        get() = if (memberProtos == null) proto else fullClassProto()
+
     private val staticScope = if (kind == ClassKind.ENUM_CLASS) StaticScopeForKotlinEnum(c.storageManager, this) else MemberScope.Empty
     private val typeConstructor = DeserializedClassTypeConstructor()
 
@@ -67,16 +77,17 @@ class DeserializedClassDescriptor(
     private val sealedSubclasses = c.storageManager.createLazyValue { computeSubclassesForSealedClass() }
     private val inlineClassRepresentation = c.storageManager.createNullableLazyValue { computeInlineClassRepresentation() }
 
+    // Only annotations are read from the container's proto, so it doesn't need the members
     internal val thisAsProtoContainer: ProtoContainer.Class = ProtoContainer.Class(
-        classProto, c.nameResolver, c.typeTable, sourceElement,
+        proto, c.nameResolver, c.typeTable, sourceElement,
         (containingDeclaration as? DeserializedClassDescriptor)?.thisAsProtoContainer
     )
 
     val versionRequirements: List<VersionRequirement>
-        get() = VersionRequirement.create(classProto, c.nameResolver, c.versionRequirementTable)
+        get() = VersionRequirement.create(proto, c.nameResolver, c.versionRequirementTable)
 
     override val annotations =
-        if (!Flags.HAS_ANNOTATIONS.get(classProto.flags)) {
+        if (!Flags.HAS_ANNOTATIONS.get(proto.flags)) {
             Annotations.EMPTY
         } else NonEmptyDeserializedAnnotations(c.storageManager) {
             c.components.annotationAndConstantLoader.loadClassAnnotations(thisAsProtoContainer).toList()
@@ -92,28 +103,28 @@ class DeserializedClassDescriptor(
 
     override fun getVisibility() = visibility
 
-    override fun isInner() = Flags.IS_INNER.get(classProto.flags)
+    override fun isInner() = Flags.IS_INNER.get(proto.flags)
 
-    override fun isData() = Flags.IS_DATA.get(classProto.flags)
+    override fun isData() = Flags.IS_DATA.get(proto.flags)
 
-    override fun isInline() = Flags.IS_INLINE_CLASS.get(classProto.flags) && metadataVersion.isAtMost(1, 4, 1)
+    override fun isInline() = Flags.IS_INLINE_CLASS.get(proto.flags) && metadataVersion.isAtMost(1, 4, 1)
 
-    override fun isExpect() = Flags.IS_EXPECT_CLASS.get(classProto.flags)
+    override fun isExpect() = Flags.IS_EXPECT_CLASS.get(proto.flags)
 
     override fun isActual() = false
 
-    override fun isExternal() = Flags.IS_EXTERNAL_CLASS.get(classProto.flags)
+    override fun isExternal() = Flags.IS_EXTERNAL_CLASS.get(proto.flags)
 
-    override fun isFun() = Flags.IS_FUN_INTERFACE.get(classProto.flags)
+    override fun isFun() = Flags.IS_FUN_INTERFACE.get(proto.flags)
 
-    override fun isValue() = Flags.IS_INLINE_CLASS.get(classProto.flags) && metadataVersion.isAtLeast(1, 4, 2)
+    override fun isValue() = Flags.IS_INLINE_CLASS.get(proto.flags) && metadataVersion.isAtLeast(1, 4, 2)
 
     override fun getUnsubstitutedMemberScope(kotlinTypeRefiner: KotlinTypeRefiner): MemberScope =
         memberScopeHolder.getScope(kotlinTypeRefiner)
 
     override fun getStaticScope() = staticScope
 
-    override fun isCompanionObject(): Boolean = Flags.CLASS_KIND.get(classProto.flags) == ProtoBuf.Class.Kind.COMPANION_OBJECT
+    override fun isCompanionObject(): Boolean = Flags.CLASS_KIND.get(proto.flags) == ProtoBuf.Class.Kind.COMPANION_OBJECT
 
     private fun computePrimaryConstructor(): ClassConstructorDescriptor? {
         if (kind.isSingleton) {
@@ -122,7 +133,7 @@ class DeserializedClassDescriptor(
             }
         }
 
-        return classProto.constructorList.firstOrNull { !Flags.IS_SECONDARY.get(it.flags) }?.let { constructorProto ->
+        return proto.constructorList.firstOrNull { !Flags.IS_SECONDARY.get(it.flags) }?.let { constructorProto ->
             c.memberDeserializer.loadConstructor(constructorProto, true)
         }
     }
@@ -134,16 +145,16 @@ class DeserializedClassDescriptor(
                 c.components.additionalClassPartsProvider.getConstructors(this)
 
     private fun computeSecondaryConstructors(): List<ClassConstructorDescriptor> =
-        classProto.constructorList.filter { Flags.IS_SECONDARY.get(it.flags) }.map {
+        proto.constructorList.filter { Flags.IS_SECONDARY.get(it.flags) }.map {
             c.memberDeserializer.loadConstructor(it, false)
         }
 
     override fun getConstructors() = constructors()
 
     private fun computeCompanionObjectDescriptor(): ClassDescriptor? {
-        if (!classProto.hasCompanionObjectName()) return null
+        if (!proto.hasCompanionObjectName()) return null
 
-        val companionObjectName = c.nameResolver.getName(classProto.companionObjectName)
+        val companionObjectName = c.nameResolver.getName(proto.companionObjectName)
         return memberScope.getContributedClassifier(companionObjectName, NoLookupLocation.FROM_DESERIALIZATION) as? ClassDescriptor
     }
 
@@ -155,7 +166,7 @@ class DeserializedClassDescriptor(
     private fun computeSubclassesForSealedClass(): Collection<ClassDescriptor> {
         if (modality != Modality.SEALED) return emptyList()
 
-        val fqNames = classProto.sealedSubclassFqNameList
+        val fqNames = proto.sealedSubclassFqNameList
         if (fqNames.isNotEmpty()) {
             return fqNames.mapNotNull { index ->
                 c.components.deserializeClass(c.nameResolver.getClassId(index))
@@ -174,8 +185,8 @@ class DeserializedClassDescriptor(
         if (!isInlineClass()) return null
 
         val propertyName = when {
-            classProto.hasInlineClassUnderlyingPropertyName() ->
-                c.nameResolver.getName(classProto.inlineClassUnderlyingPropertyName)
+            proto.hasInlineClassUnderlyingPropertyName() ->
+                c.nameResolver.getName(proto.inlineClassUnderlyingPropertyName)
             !metadataVersion.isAtLeast(1, 5, 1) -> {
                 // Before 1.5, inline classes did not have underlying property name & type in the metadata.
                 // However, they were experimental, so supposedly this logic can be removed at some point in the future.
@@ -185,7 +196,7 @@ class DeserializedClassDescriptor(
             else -> error("Inline class has no underlying property name in metadata: $this")
         }
 
-        val type = classProto.inlineClassUnderlyingType(c.typeTable)?.let(c.typeDeserializer::simpleType)
+        val type = proto.inlineClassUnderlyingType(c.typeTable)?.let(c.typeDeserializer::simpleType)
             ?: run {
                 val underlyingProperty =
                     memberScope.getContributedVariables(propertyName, NoLookupLocation.FROM_DESERIALIZATION)
@@ -216,7 +227,7 @@ class DeserializedClassDescriptor(
         }
 
         override fun computeSupertypes(): Collection<KotlinType> {
-            val result = classProto.supertypes(c.typeTable).map { supertypeProto ->
+            val result = proto.supertypes(c.typeTable).map { supertypeProto ->
                 c.typeDeserializer.type(supertypeProto)
             } + c.components.additionalClassPartsProvider.getSupertypes(this@DeserializedClassDescriptor)
 
@@ -248,8 +259,8 @@ class DeserializedClassDescriptor(
     }
 
     private inner class DeserializedClassMemberScope(private val kotlinTypeRefiner: KotlinTypeRefiner) : DeserializedMemberScope(
-        c, classProto.functionList, classProto.propertyList, classProto.typeAliasList,
-        classProto.nestedClassNameList.map(c.nameResolver::getName).let { { it } } // workaround KT-13454
+        c, proto.functionList, proto.propertyList, proto.typeAliasList, memberProtos,
+        proto.nestedClassNameList.map(c.nameResolver::getName).let { { it } } // workaround KT-13454
     ) {
         private val classDescriptor: DeserializedClassDescriptor get() = this@DeserializedClassDescriptor
 
@@ -362,7 +373,7 @@ class DeserializedClassDescriptor(
     }
 
     private inner class EnumEntryClassDescriptors {
-        private val enumEntryProtos = classProto.enumEntryList.associateBy { c.nameResolver.getName(it.name) }
+        private val enumEntryProtos = proto.enumEntryList.associateBy { c.nameResolver.getName(it.name) }
 
         private val enumEntryByName = c.storageManager.createMemoizedFunctionWithNullableValues<Name, ClassDescriptor> { name ->
 
@@ -394,8 +405,13 @@ class DeserializedClassDescriptor(
                 }
             }
 
-            return classProto.functionList.mapTo(result) { c.nameResolver.getName(it.name) } +
-                    classProto.propertyList.mapTo(result) { c.nameResolver.getName(it.name) }
+            if (memberProtos != null) {
+                memberProtos.functions.mapNamesTo(result, c.nameResolver)
+                memberProtos.properties.mapNamesTo(result, c.nameResolver)
+            }
+
+            return proto.functionList.mapTo(result) { c.nameResolver.getName(it.name) } +
+                    proto.propertyList.mapTo(result) { c.nameResolver.getName(it.name) }
         }
 
         fun all(): Collection<ClassDescriptor> =
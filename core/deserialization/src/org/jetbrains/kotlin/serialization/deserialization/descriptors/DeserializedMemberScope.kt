@@ -19,6 +19,9 @@ package org.jetbrains.kotlin.serialization.deserialization.descriptors
 import org.jetbrains.kotlin.descriptors.*
 import org.jetbrains.kotlin.incremental.components.LookupLocation
 import org.jetbrains.kotlin.metadata.ProtoBuf
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtoIndex
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtos
+import org.jetbrains.kotlin.metadata.deserialization.NameResolver
 import org.jetbrains.kotlin.name.ClassId
 import org.jetbrains.kotlin.name.Name
 import org.jetbrains.kotlin.protobuf.AbstractMessageLite
@@ -43,10 +46,11 @@ abstract class DeserializedMemberScope protected constructor(
     functionList: List<ProtoBuf.Function>,
     propertyList: List<ProtoBuf.Property>,
     typeAliasList: List<ProtoBuf.TypeAlias>,
+    memberProtos: MemberProtos?,
     classNames: () -> Collection<Name>
 ) : MemberScopeImpl() {
 
-    private val impl: Implementation = createImplementation(functionList, propertyList, typeAliasList)
+    private val impl: Implementation = createImplementation(functionList, propertyList, typeAliasList, memberProtos)
 
     internal val classNames by c.storageManager.createLazyValue { classNames().toSet() }
 
@@ -192,11 +196,14 @@ abstract class DeserializedMemberScope protected constructor(
      *
      * To avoid this, we have [NoReorderImplementation] implementation. It performs no reordering of the declarations at
      * all. Since it is less space-efficient, it is used only the scope is going to be used during decompilation.
+     *
+     * The third implementation, [IndexedImplementation], is used when the members were not parsed together with the containing
+     * class or package, but are available as [MemberProtos]. It works like [OptimizedImplementation], but never parses
+     * the protos of members which are not looked up by name.
 
      * [createImplementation] is used to create the correct implementation of [Implementation].
      *
-     * Both [OptimizedImplementation] and [NoReorderImplementation] are made inner classes to have
-     * access to protected `getNonDeclared*` functions.
+     * All implementations are made inner classes to have access to protected `getNonDeclared*` functions.
      */
     private interface Implementation {
         val functionNames: Set<Name>
@@ -218,12 +225,39 @@ abstract class DeserializedMemberScope protected constructor(
     private fun createImplementation(
         functionList: List<ProtoBuf.Function>,
         propertyList: List<ProtoBuf.Property>,
-        typeAliasList: List<ProtoBuf.TypeAlias>
+        typeAliasList: List<ProtoBuf.TypeAlias>,
+        memberProtos: MemberProtos?
     ): Implementation =
-        if (c.components.configuration.preserveDeclarationsOrdering)
-            NoReorderImplementation(functionList, propertyList, typeAliasList)
-        else
-            OptimizedImplementation(functionList, propertyList, typeAliasList)
+        when {
+            c.components.configuration.preserveDeclarationsOrdering -> if (memberProtos == null)
+                NoReorderImplementation(functionList, propertyList, typeAliasList)
+            else
+                NoReorderImplementation(
+                    memberProtos.functions.parseAll(ProtoBuf.Function.PARSER, c.components.extensionRegistryLite),
+                    memberProtos.properties.parseAll(ProtoBuf.Property.PARSER, c.components.extensionRegistryLite),
+                    memberProtos.typeAliases.parseAll(ProtoBuf.TypeAlias.PARSER, c.components.extensionRegistryLite)
+                )
+            memberProtos != null -> IndexedImplementation(memberProtos)
+            else -> OptimizedImplementation(functionList, propertyList, typeAliasList)
+        }
+
+    private inline fun addMembers(
+        names: Collection<Name>,
+        nameFilter: (Name) -> Boolean,
+        result: MutableCollection<DeclarationDescriptor>,
+        descriptorsByName: (Name) -> Collection<DeclarationDescriptor>
+    ) {
+        val subResult = ArrayList<DeclarationDescriptor>()
+        for (name in names) {
+            if (nameFilter(name)) {
+                subResult.addAll(descriptorsByName(name))
+            }
+        }
+
+        // We perform the sort just in case
+        subResult.sortWith(MemberComparator.NameAndTypeMemberComparator.INSTANCE)
+        result.addAll(subResult)
+    }
 
     private inner class OptimizedImplementation(
         functionList: List<ProtoBuf.Function>,
@@ -360,23 +394,100 @@ abstract class DeserializedMemberScope protected constructor(
                 ) { getContributedFunctions(it, location) }
             }
         }
+    }
 
-        private inline fun addMembers(
-            names: Collection<Name>,
-            nameFilter: (Name) -> Boolean,
+    private inner class IndexedImplementation(private val memberProtos: MemberProtos) : Implementation {
+        private val functionNameIndices = memberProtos.functions.nameIndicesByName()
+
+        private val propertyNameIndices = memberProtos.properties.nameIndicesByName()
+
+        private val typeAliasNameIndices =
+            if (c.components.configuration.typeAliasesAllowed)
+                memberProtos.typeAliases.nameIndicesByName()
+            else
+                emptyMap()
+
+        // Several name indices can resolve to the same name, see groupByName in OptimizedImplementation
+        private fun MemberProtoIndex.nameIndicesByName(): Map<Name, List<Int>> =
+            (0 until nameCount).groupBy({ c.nameResolver.getName(getNameIndex(it)) }, { getNameIndex(it) })
+
+        private val functions =
+            c.storageManager.createMemoizedFunction<Name, Collection<SimpleFunctionDescriptor>> { computeFunctions(it) }
+        private val properties =
+            c.storageManager.createMemoizedFunction<Name, Collection<PropertyDescriptor>> { computeProperties(it) }
+        private val typeAliasByName =
+            c.storageManager.createMemoizedFunctionWithNullableValues<Name, TypeAliasDescriptor> { createTypeAlias(it) }
+
+        override val functionNames by c.storageManager.createLazyValue {
+            functionNameIndices.keys + getNonDeclaredFunctionNames()
+        }
+
+        override val variableNames by c.storageManager.createLazyValue {
+            propertyNameIndices.keys + getNonDeclaredVariableNames()
+        }
+
+        override val typeAliasNames: Set<Name> get() = typeAliasNameIndices.keys
+
+        private fun <M : MessageLite> MemberProtoIndex.parseByName(
+            name: Name,
+            nameIndices: Map<Name, List<Int>>,
+            parser: Parser<M>
+        ): List<M> {
+            val indices = nameIndices[name] ?: return emptyList()
+            return parse(indices, parser, c.components.extensionRegistryLite)
+        }
+
+        private fun computeFunctions(name: Name): Collection<SimpleFunctionDescriptor> {
+            val protos = memberProtos.functions.parseByName(name, functionNameIndices, ProtoBuf.Function.PARSER)
+            val descriptors = protos.mapNotNullTo(ArrayList(protos.size)) {
+                c.memberDeserializer.loadFunction(it).takeIf(::isDeclaredFunctionAvailable)
+            }
+
+            computeNonDeclaredFunctions(name, descriptors)
+            return descriptors.compact()
+        }
+
+        private fun computeProperties(name: Name): Collection<PropertyDescriptor> {
+            val protos = memberProtos.properties.parseByName(name, propertyNameIndices, ProtoBuf.Property.PARSER)
+            val descriptors = protos.mapTo(ArrayList(protos.size)) { c.memberDeserializer.loadProperty(it) }
+
+            computeNonDeclaredProperties(name, descriptors)
+            return descriptors.compact()
+        }
+
+        private fun createTypeAlias(name: Name): TypeAliasDescriptor? {
+            val proto = memberProtos.typeAliases.parseByName(name, typeAliasNameIndices, ProtoBuf.TypeAlias.PARSER).firstOrNull()
+                ?: return null
+            return c.memberDeserializer.loadTypeAlias(proto)
+        }
+
+        override fun getContributedFunctions(name: Name, location: LookupLocation): Collection<SimpleFunctionDescriptor> {
+            if (name !in functionNames) return emptyList()
+            return functions(name)
+        }
+
+        override fun getTypeAliasByName(name: Name): TypeAliasDescriptor? {
+            return typeAliasByName(name)
+        }
+
+        override fun getContributedVariables(name: Name, location: LookupLocation): Collection<PropertyDescriptor> {
+            if (name !in variableNames) return emptyList()
+            return properties(name)
+        }
+
+        override fun addFunctionsAndPropertiesTo(
             result: MutableCollection<DeclarationDescriptor>,
-            descriptorsByName: (Name) -> Collection<DeclarationDescriptor>
+            kindFilter: DescriptorKindFilter,
+            nameFilter: (Name) -> Boolean,
+            location: LookupLocation
         ) {
-            val subResult = ArrayList<DeclarationDescriptor>()
-            for (name in names) {
-                if (nameFilter(name)) {
-                    subResult.addAll(descriptorsByName(name))
-                }
+            if (kindFilter.acceptsKinds(DescriptorKindFilter.VARIABLES_MASK)) {
+                addMembers(variableNames, nameFilter, result) { getContributedVariables(it, location) }
             }
 
-            // We perform the sort just in case
-            subResult.sortWith(MemberComparator.NameAndTypeMemberComparator.INSTANCE)
-            result.addAll(subResult)
+            if (kindFilter.acceptsKinds(DescriptorKindFilter.FUNCTIONS_MASK)) {
+                addMembers(functionNames, nameFilter, result) { getContributedFunctions(it, location) }
+            }
         }
     }
 
@@ -509,3 +620,9 @@ abstract class DeserializedMemberScope protected constructor(
         }
     }
 }
+
+internal fun MemberProtoIndex.mapNamesTo(result: MutableCollection<Name>, nameResolver: NameResolver) {
+    for (i in 0 until nameCount) {
+        result.add(nameResolver.getName(getNameIndex(i)))
+    }
+}
@@ -24,6 +24,7 @@ import org.jetbrains.kotlin.incremental.components.NoLookupLocation
 import org.jetbrains.kotlin.incremental.record
 import org.jetbrains.kotlin.metadata.ProtoBuf
 import org.jetbrains.kotlin.metadata.deserialization.BinaryVersion
+import org.jetbrains.kotlin.metadata.deserialization.MemberProtos
 import org.jetbrains.kotlin.metadata.deserialization.NameResolver
 import org.jetbrains.kotlin.metadata.deserialization.TypeTable
 import org.jetbrains.kotlin.metadata.deserialization.VersionRequirementTable
@@ -40,13 +41,14 @@ open class DeserializedPackageMemberScope(
     containerSource: DeserializedContainerSource?,
     components: DeserializationComponents,
     private val debugName: String,
+    memberProtos: MemberProtos? = null,
     classNames: () -> Collection<Name>,
 ) : DeserializedMemberScope(
     components.createContext(
         packageDescriptor, nameResolver, TypeTable(proto.typeTable),
         VersionRequirementTable.create(proto.versionRequirementTable), metadataVersion, containerSource
     ),
-    proto.functionList, proto.propertyList, proto.typeAliasList, classNames
+    proto.functionList, proto.propertyList, proto.typeAliasList, memberProtos, classNames
 ) {
     private val packageFqName = packageDescriptor.fqName
 
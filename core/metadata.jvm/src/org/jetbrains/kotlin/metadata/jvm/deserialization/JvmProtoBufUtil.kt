@@ -42,6 +42,44 @@ object JvmProtoBufUtil {
         return Pair(input.readNameResolver(strings), ProtoBuf.Package.parseFrom(input, EXTENSION_REGISTRY))
     }
 
+    /**
+     * Same as [readClassDataFrom], but functions, properties and type aliases are not parsed: the returned class proto has
+     * empty member lists, and the members are available by name in the returned [MemberProtos].
+     */
+    @JvmStatic
+    fun readClassDataWithLazyMembersFrom(
+        data: Array<String>,
+        strings: Array<String>
+    ): Triple<JvmNameResolver, ProtoBuf.Class, MemberProtos> =
+        readDataWithLazyMembersFrom(BitEncoding.decodeBytes(data), strings, MemberProtoSlicer::sliceClass) {
+            ProtoBuf.Class.parseFrom(it, EXTENSION_REGISTRY)
+        }
+
+    /**
+     * Same as [readPackageDataFrom], but functions, properties and type aliases are not parsed, see [readClassDataWithLazyMembersFrom].
+     */
+    @JvmStatic
+    fun readPackageDataWithLazyMembersFrom(
+        data: Array<String>,
+        strings: Array<String>
+    ): Triple<JvmNameResolver, ProtoBuf.Package, MemberProtos> =
+        readDataWithLazyMembersFrom(BitEncoding.decodeBytes(data), strings, MemberProtoSlicer::slicePackage) {
+            ProtoBuf.Package.parseFrom(it, EXTENSION_REGISTRY)
+        }
+
+    private inline fun <M : MessageLite> readDataWithLazyMembersFrom(
+        bytes: ByteArray,
+        strings: Array<String>,
+        slice: (ByteArray, Int, Int) -> MemberProtoSlicer.Result,
+        parse: (ByteArray) -> M
+    ): Triple<JvmNameResolver, M, MemberProtos> {
+        val input = ByteArrayInputStream(bytes)
+        val nameResolver = input.readNameResolver(strings)
+        val offset = bytes.size - input.available()
+        val result = slice(bytes, offset, bytes.size - offset)
+        return Triple(nameResolver, parse(result.messageBytes), result.members)
+    }
+
     @JvmStatic
     fun readFunctionDataFrom(data: Array<String>, strings: Array<String>): Pair<JvmNameResolver, ProtoBuf.Function> {
         val input = ByteArrayInputStream(BitEncoding.decodeBytes(data))
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.metadata.deserialization
+
+import org.jetbrains.kotlin.protobuf.ExtensionRegistryLite
+import org.jetbrains.kotlin.protobuf.MessageLite
+import org.jetbrains.kotlin.protobuf.Parser
+
+/**
+ * Members of one repeated field of a `Class` or `Package` message (functions, properties or type aliases), kept serialized.
+ *
+ * Each member is a slice of the original message bytes. Slices are grouped by the name index of the member and the groups
+ * are sorted by it, so a lookup by name is a binary search and only the members with that name are ever parsed.
+ * The order of members with the same name is the order in which they were serialized.
+ *
+ * Instances are created by [MemberProtoSlicer].
+ */
+class MemberProtoIndex private constructor(
+    private val bytes: ByteArray,
+    private val nameIndices: IntArray,
+    private val groupStarts: IntArray,
+    private val sliceOffsets: IntArray,
+    private val sliceLengths: IntArray
+) {
+    /** Number of members in the index. */
+    val size: Int
+        get() = sliceOffsets.size
+
+    /** Number of distinct member names in the index. */
+    val nameCount: Int
+        get() = nameIndices.size
+
+    /** Returns the name index of the [i]-th distinct member name, in the ascending order of name indices. */
+    fun getNameIndex(i: Int): Int = nameIndices[i]
+
+    operator fun contains(nameIndex: Int): Boolean = nameIndices.binarySearch(nameIndex) >= 0
+
+    fun <M : MessageLite> parse(nameIndex: Int, parser: Parser<M>, extensionRegistry: ExtensionRegistryLite): List<M> {
+        val group = nameIndices.binarySearch(nameIndex)
+        if (group < 0) return emptyList()
+
+        val start = groupStarts[group]
+        val end = groupStarts[group + 1]
+        return (start until end).map { parser.parseFrom(bytes, sliceOffsets[it], sliceLengths[it], extensionRegistry) }
+    }
+
+    /**
+     * Parses the members with any of the given name indices, in the order they were serialized in. Several name indices
+     * resolve to the same name when the string table contains duplicates, and members under each of them must be found.
+     */
+    fun <M : MessageLite> parse(nameIndices: Collection<Int>, parser: Parser<M>, extensionRegistry: ExtensionRegistryLite): List<M> {
+        if (nameIndices.size == 1) return parse(nameIndices.first(), parser, extensionRegistry)
+
+        val slices = ArrayList<Int>()
+        for (nameIndex in nameIndices) {
+            val group = this.nameIndices.binarySearch(nameIndex)
+            if (group >= 0) (groupStarts[group] until groupStarts[group + 1]).toCollection(slices)
+        }
+        return slices
+            .sortedBy { sliceOffsets[it] }
+            .map { parser.parseFrom(bytes, sliceOffsets[it], sliceLengths[it], extensionRegistry) }
+    }
+
+    /**
+     * Parses all members in the order they were serialized in. Should only be used when the order of declarations matters,
+     * otherwise it defeats the purpose of the index.
+     */
+    fun <M : MessageLite> parseAll(parser: Parser<M>, extensionRegistry: ExtensionRegistryLite): List<M> =
+        sliceOffsets.indices
+            .sortedBy { sliceOffsets[it] }
+            .map { parser.parseFrom(bytes, sliceOffsets[it], sliceLengths[it], extensionRegistry) }
+
+    internal class Builder {
+        private var nameIndices = IntArray(INITIAL_CAPACITY)
+        private var offsets = IntArray(INITIAL_CAPACITY)
+        private var lengths = IntArray(INITIAL_CAPACITY)
+        private var count = 0
+
+        fun add(nameIndex: Int, offset: Int, length: Int) {
+            if (count == offsets.size) {
+                val newSize = count * 2
+                nameIndices = nameIndices.copyOf(newSize)
+                offsets = offsets.copyOf(newSize)
+                lengths = lengths.copyOf(newSize)
+            }
+            nameIndices[count] = nameIndex
+            offsets[count] = offset
+            lengths[count] = length
+            count++
+        }
+
+        fun build(bytes: ByteArray): MemberProtoIndex {
+            if (count == 0) return MemberProtoIndex(bytes, IntArray(0), IntArray(1), IntArray(0), IntArray(0))
+
+            // Sorting is stable, so members with the same name keep their serialization order
+            val order = (0 until count).sortedBy { nameIndices[it] }
+
+            val sortedOffsets = IntArray(count) { offsets[order[it]] }
+            val sortedLengths = IntArray(count) { lengths[order[it]] }
+
+            val distinctNames = ArrayList<Int>()
+            val starts = ArrayList<Int>()
+            for ((i, member) in order.withIndex()) {
+                val nameIndex = nameIndices[member]
+                if (distinctNames.isEmpty() || distinctNames.last() != nameIndex) {
+                    distinctNames.add(nameIndex)
+                    starts.add(i)
+                }
+            }
+            starts.add(count)
+
+            return MemberProtoIndex(bytes, distinctNames.toIntArray(), starts.toIntArray(), sortedOffsets, sortedLengths)
+        }
+
+        private companion object {
+            const val INITIAL_CAPACITY = 16
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.metadata.deserialization
+
+import org.jetbrains.kotlin.metadata.ProtoBuf
+import org.jetbrains.kotlin.protobuf.CodedInputStream
+import org.jetbrains.kotlin.protobuf.ExtensionRegistryLite
+import org.jetbrains.kotlin.protobuf.InvalidProtocolBufferException
+import java.io.ByteArrayOutputStream
+
+/**
+ * Serialized functions, properties and type aliases of a `Class` or `Package` message, see [MemberProtoSlicer].
+ */
+class MemberProtos(
+    val functions: MemberProtoIndex,
+    val properties: MemberProtoIndex,
+    val typeAliases: MemberProtoIndex
+) {
+    /**
+     * Returns [proto] with all members parsed back into it, in the order they were serialized in.
+     * Should only be used for consumers which read member lists directly from the proto.
+     */
+    fun addTo(proto: ProtoBuf.Class, extensionRegistry: ExtensionRegistryLite): ProtoBuf.Class =
+        proto.toBuilder()
+            .addAllFunction(functions.parseAll(ProtoBuf.Function.PARSER, extensionRegistry))
+            .addAllProperty(properties.parseAll(ProtoBuf.Property.PARSER, extensionRegistry))
+            .addAllTypeAlias(typeAliases.parseAll(ProtoBuf.TypeAlias.PARSER, extensionRegistry))
+            .build()
+}
+
+/**
+ * Splits a serialized `Class` or `Package` message into the message without its functions, properties and type aliases,
+ * and [MemberProtos] which reference those members as slices of the original bytes.
+ *
+ * The message itself is then parsed from the remaining bytes as usual, which is much cheaper than parsing the full object graph
+ * of every member for classes where only a few members are ever looked up by name.
+ *
+ * Only the name index of each member is decoded here, the rest of the member is skipped without parsing.
+ */
+object MemberProtoSlicer {
+    class Result(val messageBytes: ByteArray, val members: MemberProtos)
+
+    fun sliceClass(bytes: ByteArray, offset: Int, length: Int): Result =
+        slice(
+            bytes, offset, length,
+            ProtoBuf.Class.FUNCTION_FIELD_NUMBER, ProtoBuf.Class.PROPERTY_FIELD_NUMBER, ProtoBuf.Class.TYPE_ALIAS_FIELD_NUMBER
+        )
+
+    fun slicePackage(bytes: ByteArray, offset: Int, length: Int): Result =
+        slice(
+            bytes, offset, length,
+            ProtoBuf.Package.FUNCTION_FIELD_NUMBER, ProtoBuf.Package.PROPERTY_FIELD_NUMBER, ProtoBuf.Package.TYPE_ALIAS_FIELD_NUMBER
+        )
+
+    private fun slice(
+        bytes: ByteArray,
+        offset: Int,
+        length: Int,
+        functionFieldNumber: Int,
+        propertyFieldNumber: Int,
+        typeAliasFieldNumber: Int
+    ): Result {
+        val functions = MemberProtoIndex.Builder()
+        val properties = MemberProtoIndex.Builder()
+        val typeAliases = MemberProtoIndex.Builder()
+
+        val message = ByteArrayOutputStream(length)
+        val input = CodedInputStream.newInstance(bytes, offset, length)
+
+        while (true) {
+            val fieldStart = offset + input.totalBytesRead
+            val tag = input.readTag()
+            if (tag == 0) break
+
+            val builder = when (tag ushr TAG_TYPE_BITS) {
+                functionFieldNumber -> functions
+                propertyFieldNumber -> properties
+                typeAliasFieldNumber -> typeAliases
+                else -> null
+            }
+
+            if (builder != null && tag and TAG_TYPE_MASK == WIRETYPE_LENGTH_DELIMITED) {
+                val memberLength = input.readRawVarint32()
+                val memberOffset = offset + input.totalBytesRead
+                builder.add(readNameIndex(bytes, memberOffset, memberLength), memberOffset, memberLength)
+                input.skipRawBytes(memberLength)
+            } else {
+                if (!input.skipField(tag)) break
+                message.write(bytes, fieldStart, offset + input.totalBytesRead - fieldStart)
+            }
+        }
+
+        return Result(message.toByteArray(), MemberProtos(functions.build(bytes), properties.build(bytes), typeAliases.build(bytes)))
+    }
+
+    // `name` has the same field number in Function, Property and TypeAlias messages
+    private fun readNameIndex(bytes: ByteArray, offset: Int, length: Int): Int {
+        val input = CodedInputStream.newInstance(bytes, offset, length)
+        while (true) {
+            val tag = input.readTag()
+            if (tag == 0) break
+            if (tag == NAME_TAG) return input.readInt32()
+            if (!input.skipField(tag)) break
+        }
+        throw InvalidProtocolBufferException("Member without a name at offset $offset")
+    }
+
+    private const val TAG_TYPE_BITS = 3
+    private const val TAG_TYPE_MASK = (1 shl TAG_TYPE_BITS) - 1
+    private const val WIRETYPE_VARINT = 0
+    private const val WIRETYPE_LENGTH_DELIMITED = 2
+
+    private const val NAME_TAG = (ProtoBuf.Function.NAME_FIELD_NUMBER shl TAG_TYPE_BITS) or WIRETYPE_VARINT
+}
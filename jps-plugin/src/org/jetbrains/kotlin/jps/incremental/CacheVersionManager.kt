@@ -6,6 +6,7 @@
 package org.jetbrains.kotlin.jps.incremental
 
 import org.jetbrains.annotations.TestOnly
+import org.jetbrains.kotlin.incremental.storage.BasicMapsOwner
 import org.jetbrains.kotlin.load.kotlin.JvmBytecodeBinaryVersion
 import org.jetbrains.kotlin.metadata.jvm.deserialization.JvmMetadataVersion
 import java.io.File
@@ -23,7 +24,12 @@ class CacheVersionManager(
 ) : CacheAttributesManager<CacheVersion> {
     override val expected: CacheVersion? =
         if (expectedOwnVersion == null) null
-        else CacheVersion(expectedOwnVersion, JvmBytecodeBinaryVersion.INSTANCE, JvmMetadataVersion.INSTANCE)
+        else CacheVersion(
+            // caches written with another storage of the maps would be read as empty, so they have to be rebuilt
+            expectedOwnVersion + BasicMapsOwner.STORAGE_FORMAT_VERSION * STORAGE_FORMAT_VERSION_STEP,
+            JvmBytecodeBinaryVersion.INSTANCE,
+            JvmMetadataVersion.INSTANCE
+        )
 
     override fun loadActual(): CacheVersion? =
         if (!versionFile.exists()) null
@@ -46,6 +52,10 @@ class CacheVersionManager(
     @get:TestOnly
     val versionFileForTesting: File
         get() = versionFile
+
+    private companion object {
+        const val STORAGE_FORMAT_VERSION_STEP = 1000
+    }
 }
 
 fun CacheVersion(own: Int, bytecode: JvmBytecodeBinaryVersion, metadata: JvmMetadataVersion): CacheVersion {
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package kotlinx.metadata.jvm
+
+import kotlinx.metadata.jvm.impl.ClassFileMetadataReader
+import java.io.File
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.zip.ZipFile
+import kotlin.LazyThreadSafetyMode.PUBLICATION
+
+/**
+ * A class file containing Kotlin metadata, found by [KotlinClasspathReader].
+ *
+ * @property internalName JVM internal name of the class, for example `"org/foo/bar/Baz$Nested"`
+ * @property header the arguments of the [Metadata] annotation on the class file
+ */
+class KotlinClassFile internal constructor(val internalName: String, val header: KotlinClassHeader) {
+    /**
+     * The metadata of this class file, or `null` if it has an unsupported metadata version, see [KotlinClassMetadata.read].
+     *
+     * Declarations are decoded from the metadata only when it is visited, so it's cheap to obtain metadata of classes
+     * which are then filtered out by [KotlinClassMetadata] kind or by [header] properties.
+     */
+    val metadata: KotlinClassMetadata? by lazy(PUBLICATION) { KotlinClassMetadata.read(header) }
+}
+
+/**
+ * Reads Kotlin metadata of many class files at once, for example of an entire classpath.
+ *
+ * Instead of loading each class file with a bytecode library, only the constant pool and the [Metadata] annotation of a class file
+ * are parsed, and class files are read on [parallelism] threads. Strings of [KotlinClassHeader.data2], which are mostly names
+ * repeated across classes of a module, are shared between all class files read by the same reader.
+ *
+ * A reader is thread-safe, and reusing it for related roots (e.g. for several modules of a project) saves memory
+ * at the cost of keeping all strings that it has met.
+ *
+ * @param parallelism the number of threads used to read class files
+ */
+class KotlinClasspathReader @JvmOverloads constructor(
+    private val parallelism: Int = Runtime.getRuntime().availableProcessors()
+) {
+    init {
+        require(parallelism > 0) { "parallelism must be positive: $parallelism" }
+    }
+
+    private val strings = ConcurrentHashMap<String, String>()
+
+    private val intern: (String) -> String = { string -> strings.putIfAbsent(string, string) ?: string }
+
+    /**
+     * Reads Kotlin metadata of the given class file, or returns `null` if the class file has no Kotlin metadata.
+     *
+     * Throws [IllegalArgumentException] if [classFile] is not a valid class file.
+     *
+     * @param classFile the contents of a class file
+     */
+    fun readClassFile(classFile: ByteArray): KotlinClassFile? {
+        val reader = try {
+            ClassFileMetadataReader(classFile, intern).read()
+        } catch (e: IndexOutOfBoundsException) {
+            throw IllegalArgumentException("Class file is truncated", e)
+        }
+        val header = reader.header ?: return null
+        return KotlinClassFile(reader.internalName!!, header)
+    }
+
+    /**
+     * Reads Kotlin metadata of all class files in the given jars and directories. Roots which don't exist are skipped,
+     * as well as class files in `META-INF`, e.g. versioned classes of multi-release jars.
+     *
+     * Class files are returned in the order of [roots], and in the order of entries in a jar or of paths in a directory.
+     *
+     * @param roots jar files and directories of class files
+     */
+    fun read(roots: List<File>): List<KotlinClassFile> {
+        val classFiles = ArrayList<() -> ByteArray>()
+        val zipFiles = ArrayList<ZipFile>()
+        try {
+            for (root in roots) {
+                when {
+                    root.isDirectory -> root.walk()
+                        .filter { it.isFile && it.isClassFile(it.toRelativeString(root)) }
+                        .sortedBy { it.path }
+                        .forEach { file -> classFiles.add { file.readBytes() } }
+                    root.isFile -> {
+                        val zipFile = ZipFile(root)
+                        zipFiles.add(zipFile)
+                        for (entry in zipFile.entries()) {
+                            if (entry.isDirectory || !File(entry.name).isClassFile(entry.name)) continue
+                            classFiles.add { zipFile.getInputStream(entry).use { it.readBytes() } }
+                        }
+                    }
+                }
+            }
+
+            return readAll(classFiles)
+        } finally {
+            // ZipFile is not Closeable on JDK 6
+            for (zipFile in zipFiles) {
+                zipFile.close()
+            }
+        }
+    }
+
+    private fun readAll(classFiles: List<() -> ByteArray>): List<KotlinClassFile> {
+        val result = arrayOfNulls<KotlinClassFile>(classFiles.size)
+        val batches = (classFiles.indices step BATCH_SIZE).map { start -> start until minOf(start + BATCH_SIZE, classFiles.size) }
+
+        fun readBatch(batch: IntRange) {
+            for (index in batch) {
+                result[index] = readClassFile(classFiles[index]())
+            }
+        }
+
+        if (parallelism == 1 || batches.size <= 1) {
+            batches.forEach(::readBatch)
+        } else {
+            val executor = Executors.newFixedThreadPool(minOf(parallelism, batches.size))
+            try {
+                // Future.get makes writes to the result array of the batch visible to this thread
+                val futures = batches.map { batch -> executor.submit(Callable { readBatch(batch) }) }
+                for (future in futures) {
+                    try {
+                        future.get()
+                    } catch (e: ExecutionException) {
+                        throw e.cause ?: e
+                    }
+                }
+            } finally {
+                executor.shutdownNow()
+            }
+        }
+
+        return result.filterNotNull()
+    }
+
+    private fun File.isClassFile(relativePath: String): Boolean =
+        name.endsWith(".class") && !relativePath.replace(File.separatorChar, '/').startsWith("META-INF/")
+
+    private companion object {
+        // class files are read in batches, so that small class files don't cost a task each
+        const val BATCH_SIZE = 64
+    }
+}
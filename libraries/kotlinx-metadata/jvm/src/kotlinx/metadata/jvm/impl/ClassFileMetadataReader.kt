@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package kotlinx.metadata.jvm.impl
+
+import kotlinx.metadata.jvm.KotlinClassHeader
+
+/**
+ * Reads the internal name of a class and the arguments of its `kotlin.Metadata` annotation directly from the class file,
+ * skipping everything else: members, code and other attributes are not parsed, and only the constants that are needed are decoded.
+ *
+ * @param intern returns a shared instance of an equal string, so that strings repeated in many classes are stored once
+ */
+internal class ClassFileMetadataReader(private val bytes: ByteArray, private val intern: (String) -> String) {
+    private var offset = 0
+    private lateinit var constantOffsets: IntArray
+    private lateinit var utf8Cache: Array<String?>
+
+    var internalName: String? = null
+        private set
+
+    var header: KotlinClassHeader? = null
+        private set
+
+    fun read(): ClassFileMetadataReader {
+        if (u4() != CLASS_FILE_MAGIC) throw IllegalArgumentException("Not a class file")
+        skip(4) // minor_version, major_version
+
+        readConstantPool()
+        skip(2) // access_flags
+        internalName = intern(utf8(u2At(constantOffsets[u2()])))
+        skip(2) // super_class
+        skip(2 * u2()) // interfaces
+
+        // fields and methods
+        repeat(2) {
+            repeat(u2()) {
+                skip(6) // access_flags, name_index, descriptor_index
+                skipAttributes()
+            }
+        }
+
+        repeat(u2()) {
+            val name = utf8(u2())
+            val end = u4() + offset
+            if (name == RUNTIME_VISIBLE_ANNOTATIONS) {
+                readAnnotations()
+            }
+            offset = end
+        }
+
+        return this
+    }
+
+    private fun readConstantPool() {
+        val count = u2()
+        constantOffsets = IntArray(count)
+        utf8Cache = arrayOfNulls(count)
+
+        var index = 1
+        while (index < count) {
+            val tag = u1()
+            constantOffsets[index] = offset
+            when (tag) {
+                CONSTANT_UTF8 -> skip(u2())
+                CONSTANT_INTEGER, CONSTANT_FLOAT -> skip(4)
+                CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(8)
+                    // 8-byte constants take two entries of the constant pool
+                    index++
+                }
+                CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(2)
+                CONSTANT_FIELDREF, CONSTANT_METHODREF, CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE,
+                CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> skip(4)
+                CONSTANT_METHOD_HANDLE -> skip(3)
+                else -> throw IllegalArgumentException("Unknown constant pool tag $tag at offset ${offset - 1}")
+            }
+            index++
+        }
+    }
+
+    private fun skipAttributes() {
+        repeat(u2()) {
+            skip(2) // attribute_name_index
+            skip(u4())
+        }
+    }
+
+    private fun readAnnotations() {
+        repeat(u2()) {
+            if (utf8(u2()) == METADATA_DESC) {
+                readMetadataArguments()
+            } else {
+                skipAnnotationArguments()
+            }
+        }
+    }
+
+    private fun readMetadataArguments() {
+        var kind: Int? = null
+        var metadataVersion: IntArray? = null
+        var data1: Array<String>? = null
+        var data2: Array<String>? = null
+        var extraString: String? = null
+        var packageName: String? = null
+        var extraInt: Int? = null
+
+        repeat(u2()) {
+            val name = utf8(u2())
+            val tag = u1().toChar()
+            when {
+                name == "k" && tag == 'I' -> kind = int(u2())
+                name == "xi" && tag == 'I' -> extraInt = int(u2())
+                name == "xs" && tag == 's' -> extraString = intern(utf8(u2()))
+                name == "pn" && tag == 's' -> packageName = intern(utf8(u2()))
+                name == "mv" && tag == '[' -> metadataVersion = IntArray(u2()) { expectTag('I'); int(u2()) }
+                // d1 is an encoded protobuf message, unique for every class
+                name == "d1" && tag == '[' -> data1 = Array(u2()) { expectTag('s'); utf8(u2()) }
+                name == "d2" && tag == '[' -> data2 = Array(u2()) { expectTag('s'); intern(utf8(u2())) }
+                else -> skipElementValue(tag)
+            }
+        }
+
+        header = KotlinClassHeader(kind, metadataVersion, data1, data2, extraString, packageName, extraInt)
+    }
+
+    private fun skipAnnotationArguments() {
+        repeat(u2()) {
+            skip(2) // element_name_index
+            skipElementValue(u1().toChar())
+        }
+    }
+
+    private fun skipElementValue(tag: Char) {
+        when (tag) {
+            'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(2)
+            'e' -> skip(4)
+            '@' -> {
+                skip(2) // type_index
+                skipAnnotationArguments()
+            }
+            '[' -> repeat(u2()) { skipElementValue(u1().toChar()) }
+            else -> throw IllegalArgumentException("Unknown annotation element tag $tag at offset ${offset - 1}")
+        }
+    }
+
+    private fun expectTag(expected: Char) {
+        val tag = u1().toChar()
+        if (tag != expected) throw IllegalArgumentException("Unexpected element tag $tag in kotlin.Metadata, expected $expected")
+    }
+
+    private fun int(index: Int): Int {
+        val position = constantOffsets[index]
+        return (u2At(position) shl 16) or u2At(position + 2)
+    }
+
+    /**
+     * Decodes a modified UTF-8 string of the constant pool, see JVMS 4.4.7.
+     */
+    private fun utf8(index: Int): String {
+        utf8Cache[index]?.let { return it }
+
+        var position = constantOffsets[index]
+        val length = u2At(position)
+        position += 2
+        val end = position + length
+        val chars = CharArray(length)
+        var size = 0
+        while (position < end) {
+            val b = bytes[position++].toInt() and 0xFF
+            chars[size++] = when {
+                b < 0x80 -> b
+                b < 0xE0 -> ((b and 0x1F) shl 6) or (bytes[position++].toInt() and 0x3F)
+                else -> ((b and 0x0F) shl 12) or ((bytes[position++].toInt() and 0x3F) shl 6) or (bytes[position++].toInt() and 0x3F)
+            }.toChar()
+        }
+
+        return String(chars, 0, size).also { utf8Cache[index] = it }
+    }
+
+    private fun u1(): Int =
+        bytes[offset++].toInt() and 0xFF
+
+    private fun u2(): Int =
+        u2At(offset).also { offset += 2 }
+
+    private fun u4(): Int =
+        ((u2At(offset) shl 16) or u2At(offset + 2)).also { offset += 4 }
+
+    private fun u2At(position: Int): Int =
+        ((bytes[position].toInt() and 0xFF) shl 8) or (bytes[position + 1].toInt() and 0xFF)
+
+    private fun skip(length: Int) {
+        offset += length
+    }
+
+    private companion object {
+        const val CLASS_FILE_MAGIC = 0xCAFEBABE.toInt()
+        const val RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations"
+        const val METADATA_DESC = "Lkotlin/Metadata;"
+
+        const val CONSTANT_UTF8 = 1
+        const val CONSTANT_INTEGER = 3
+        const val CONSTANT_FLOAT = 4
+        const val CONSTANT_LONG = 5
+        const val CONSTANT_DOUBLE = 6
+        const val CONSTANT_CLASS = 7
+        const val CONSTANT_STRING = 8
+        const val CONSTANT_FIELDREF = 9
+        const val CONSTANT_METHODREF = 10
+        const val CONSTANT_INTERFACE_METHODREF = 11
+        const val CONSTANT_NAME_AND_TYPE = 12
+        const val CONSTANT_METHOD_HANDLE = 15
+        const val CONSTANT_METHOD_TYPE = 16
+        const val CONSTANT_DYNAMIC = 17
+        const val CONSTANT_INVOKE_DYNAMIC = 18
+        const val CONSTANT_MODULE = 19
+        const val CONSTANT_PACKAGE = 20
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package kotlinx.metadata.test
+
+import kotlinx.metadata.jvm.KotlinClassHeader
+import kotlinx.metadata.jvm.KotlinClasspathReader
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor
+import org.jetbrains.org.objectweb.asm.ClassReader
+import org.jetbrains.org.objectweb.asm.ClassVisitor
+import org.jetbrains.org.objectweb.asm.ClassWriter
+import org.jetbrains.org.objectweb.asm.Opcodes
+import org.jetbrains.org.objectweb.asm.Opcodes.API_VERSION
+import org.junit.Assert.*
+import org.junit.Test
+import java.io.File
+import java.util.zip.ZipFile
+import kotlin.test.assertFailsWith
+
+class KotlinClasspathReaderTest {
+    // kotlin-stdlib and kotlin-reflect together contain several thousand classes
+    private val roots = listOf(KotlinVersion::class.java, Class.forName("kotlin.reflect.full.KClasses"))
+        .map { File(it.protectionDomain.codeSource.location.toURI()) }
+        .distinct()
+
+    @Test
+    fun sameHeadersAsAsm() {
+        val expected = readHeadersWithAsm()
+        val actual = KotlinClasspathReader().read(roots).associate { it.internalName to it.header.render() }
+
+        assertTrue(expected.size > 1000)
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    fun parallelReadIsSameAsSequential() {
+        val sequential = KotlinClasspathReader(parallelism = 1).read(roots)
+        val parallel = KotlinClasspathReader(parallelism = 4).read(roots)
+
+        assertEquals(sequential.map { it.internalName }, parallel.map { it.internalName })
+        assertEquals(sequential.map { it.header.render() }, parallel.map { it.header.render() })
+    }
+
+    @Test
+    fun stringsAreSharedBetweenClasses() {
+        val classFiles = KotlinClasspathReader().read(roots)
+        val repeatedStrings = classFiles.flatMap { it.header.data2.asList() }.groupBy { it }.values.filter { it.size > 1 }
+
+        assertTrue(repeatedStrings.isNotEmpty())
+        for (instances in repeatedStrings) {
+            assertTrue(instances.all { it === instances.first() })
+        }
+    }
+
+    @Test
+    fun classFileWithoutMetadata() {
+        val bytes = ClassWriter(0).apply {
+            visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, "Foo", null, "java/lang/Object", null)
+            visitEnd()
+        }.toByteArray()
+
+        val reader = KotlinClasspathReader()
+        assertNull(reader.readClassFile(bytes))
+        assertFailsWith<IllegalArgumentException> { reader.readClassFile(bytes.copyOf(bytes.size / 2)) }
+        assertFailsWith<IllegalArgumentException> { reader.readClassFile(ByteArray(16)) }
+    }
+
+    private fun readHeadersWithAsm(): Map<String, String> {
+        val result = LinkedHashMap<String, String>()
+
+        fun read(bytes: ByteArray) {
+            var internalName = ""
+            var header: KotlinClassHeader? = null
+            ClassReader(bytes).accept(object : ClassVisitor(API_VERSION) {
+                override fun visit(
+                    version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<out String>?
+                ) {
+                    internalName = name
+                }
+
+                override fun visitAnnotation(descriptor: String, visible: Boolean): AnnotationVisitor? {
+                    if (descriptor != "Lkotlin/Metadata;") return null
+                    return MetadataVisitor { header = it }
+                }
+            }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
+
+            header?.let { result[internalName] = it.render() }
+        }
+
+        for (root in roots) {
+            if (root.isDirectory) {
+                root.walk().filter { it.isFile && it.name.endsWith(".class") && !it.toRelativeString(root).startsWith("META-INF") }
+                    .forEach { read(it.readBytes()) }
+            } else {
+                ZipFile(root).use { zip ->
+                    for (entry in zip.entries()) {
+                        if (!entry.name.endsWith(".class") || entry.name.startsWith("META-INF/")) continue
+                        read(zip.getInputStream(entry).use { it.readBytes() })
+                    }
+                }
+            }
+        }
+
+        return result
+    }
+
+    private class MetadataVisitor(private val onEnd: (KotlinClassHeader) -> Unit) : AnnotationVisitor(API_VERSION) {
+        private val values = HashMap<String, Any>()
+
+        override fun visit(name: String, value: Any) {
+            values[name] = value
+        }
+
+        override fun visitArray(name: String): AnnotationVisitor = object : AnnotationVisitor(API_VERSION) {
+            private val elements = ArrayList<Any>()
+
+            override fun visit(name: String?, value: Any) {
+                elements.add(value)
+            }
+
+            override fun visitEnd() {
+                values[name] = elements
+            }
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        override fun visitEnd() {
+            onEnd(
+                KotlinClassHeader(
+                    values["k"] as Int?,
+                    // ASM visits arrays of primitives as a single value
+                    values["mv"] as IntArray?,
+                    (values["d1"] as List<String>?)?.toTypedArray(),
+                    (values["d2"] as List<String>?)?.toTypedArray(),
+                    values["xs"] as String?,
+                    values["pn"] as String?,
+                    values["xi"] as Int?
+                )
+            )
+        }
+    }
+
+    private fun KotlinClassHeader.render(): String =
+        listOf(kind, metadataVersion.toList(), data1.toList(), data2.toList(), extraString, packageName, extraInt).toString()
+}
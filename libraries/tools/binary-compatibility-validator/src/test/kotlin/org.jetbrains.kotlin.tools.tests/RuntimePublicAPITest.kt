@@ -5,12 +5,10 @@
 
 package org.jetbrains.kotlin.tools.tests
 
-import kotlinx.validation.api.*
 import org.junit.Rule
 import org.junit.Test
 import org.junit.rules.TestName
 import java.io.File
-import java.util.jar.JarFile
 
 class RuntimePublicAPITest {
 
@@ -42,11 +40,8 @@ class RuntimePublicAPITest {
         val base = File(basePath).absoluteFile.normalize()
         val jarFile = getJarPath(base, jarPattern, System.getProperty("kotlinVersion"))
 
-        val publicPackagePrefixes = publicPackages.map { it.replace('.', '/') + '/' }
-        val publicPackageFilter = { className: String -> publicPackagePrefixes.none { className.startsWith(it) } }
-
         println("Reading binary API from $jarFile")
-        val api = JarFile(jarFile).loadApiFromJvmClasses(publicPackageFilter).filterOutNonPublic(nonPublicPackages)
+        val api = loadPublicApiDumpCached(jarFile, publicPackages, nonPublicPackages)
 
         val target = File("reference-public-api")
             .resolve(testName.methodName.replaceCamelCaseWithDashedLowerCase() + ".txt")
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.tools.tests
+
+import kotlinx.validation.api.*
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.stream.Collectors
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+
+private val API_DUMP_CACHE_DIR = File("build/api-dump-cache")
+
+// increment when the way the API is loaded or filtered changes
+private const val API_DUMP_CACHE_VERSION = 1
+
+// the dump also depends on the validator and on the kotlinx-metadata-jvm it reads the metadata with
+private val API_LOADER_CLASSES = listOf("kotlinx.validation.api.ClassBinarySignature", "kotlinx.metadata.jvm.KotlinClassMetadata")
+
+/**
+ * Dumps the public API of classes in [jarFile], reusing the dump of the previous run if the classes of the jar are the same.
+ *
+ * The cache key is computed from names, CRCs and sizes of class entries stored in the central directory of the jar,
+ * so an unchanged jar is recognized without inflating and parsing its classes, and from the jars of the API loader.
+ */
+fun loadPublicApiDumpCached(jarFile: File, publicPackages: List<String>, nonPublicPackages: List<String>): String =
+    ZipFile(jarFile).use { zip ->
+        val cacheFile = API_DUMP_CACHE_DIR.resolve(zip.apiCacheKey(publicPackages, nonPublicPackages) + ".txt")
+        if (cacheFile.exists()) return cacheFile.readText()
+
+        val publicPackagePrefixes = publicPackages.map { it.replace('.', '/') + '/' }
+        val publicPackageFilter = { className: String -> publicPackagePrefixes.none { className.startsWith(it) } }
+        val dump = zip.readClassesInParallel()
+            .asSequence()
+            .map { it.inputStream() }
+            .loadApiFromJvmClasses(publicPackageFilter)
+            .filterOutNonPublic(nonPublicPackages)
+            .dump(to = StringBuilder())
+            .toString()
+
+        cacheFile.parentFile.mkdirs()
+        val tmpFile = File.createTempFile(cacheFile.nameWithoutExtension, ".tmp", cacheFile.parentFile)
+        tmpFile.writeText(dump)
+        Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        dump
+    }
+
+private fun ZipFile.apiCacheKey(publicPackages: List<String>, nonPublicPackages: List<String>): String {
+    val digest = MessageDigest.getInstance("MD5")
+    fun add(value: Any) {
+        digest.update(value.toString().toByteArray())
+        digest.update(0)
+    }
+
+    add(API_DUMP_CACHE_VERSION)
+    for (className in API_LOADER_CLASSES) {
+        val location = File(Class.forName(className).protectionDomain.codeSource.location.toURI())
+        add(location.canonicalPath)
+        add(location.length())
+        add(location.lastModified())
+    }
+    publicPackages.forEach(::add)
+    add("")
+    nonPublicPackages.forEach(::add)
+    add("")
+    for (entry in entries().asSequence().filter { it.isApiClass() }.sortedBy { it.name }) {
+        add(entry.name)
+        add(entry.crc)
+        add(entry.size)
+    }
+    return digest.digest().joinToString("") { "%02x".format(it) }
+}
+
+/**
+ * Inflates class entries on all available cores, keeping the order of entries in the jar.
+ */
+private fun ZipFile.readClassesInParallel(): List<ByteArray> =
+    stream()
+        .parallel()
+        .filter { it.isApiClass() }
+        .map { entry -> getInputStream(entry).use { it.readBytes() } }
+        .collect(Collectors.toList())
+
+// the same entries as JarFile.loadApiFromJvmClasses reads
+private fun ZipEntry.isApiClass(): Boolean =
+    !isDirectory && name.endsWith(".class") && !name.startsWith("META-INF/")
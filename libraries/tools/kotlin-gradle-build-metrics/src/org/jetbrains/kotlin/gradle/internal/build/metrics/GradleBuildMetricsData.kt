@@ -21,6 +21,7 @@ data class TaskData(
     val path: String,
     val typeFqName: String,
     val timeMetrics: Map<String, Long>,
+    val performanceMetrics: Map<String, Long>,
     val buildAttributes: Map<String, Int>,
     val didWork: Boolean
 ) : Serializable {
@@ -925,6 +925,18 @@ class KotlinGradleIT : BaseGradleIT() {
         }
     }
 
+    @Test
+    fun testJsonBuildReport() = with(Project("simpleProject")) {
+        build("assemble", "-Pkotlin.build.report.json=true") {
+            assertSuccessful()
+            assertContains("Kotlin build report in JSON is written to")
+            val report = projectDir.resolve("build/reports/kotlin-build").listFiles()!!.single { it.name.endsWith(".json") }
+            val reportText = report.readText()
+            assertTrue(reportText.contains(":compileKotlin"), reportText)
+            assertTrue(reportText.contains("\"GRADLE_TASK\""), reportText)
+        }
+    }
+
     @Test
     fun testKt29971() = with(Project("kt-29971", GradleVersionRequired.FOR_MPP_SUPPORT)) {
         build("jvm-app:build") {
@@ -9,6 +9,7 @@ package org.jetbrains.kotlin.compilerRunner
 
 import org.gradle.api.Project
 import org.jetbrains.kotlin.commonizer.CliCommonizer
+import org.jetbrains.kotlin.gradle.targets.native.internal.commonizerParallelismArguments
 
 /**
  * Creates an instance of [CliCommonizer] that is backed by [KotlinNativeCommonizerToolRunner] to adhere to user defined settings
@@ -16,6 +17,6 @@ import org.jetbrains.kotlin.commonizer.CliCommonizer
  */
 internal fun GradleCliCommonizer(project: Project): CliCommonizer {
     return CliCommonizer(CliCommonizer.Executor { arguments ->
-        KotlinNativeCommonizerToolRunner(project).run(arguments)
+        KotlinNativeCommonizerToolRunner(project).run(arguments + project.commonizerParallelismArguments)
     })
 }
@@ -252,7 +252,8 @@ internal class GradleKotlinCompilerWork @Inject constructor(
             reportCategories = reportCategories(isVerbose),
             reportSeverity = reportSeverity(isVerbose),
             requestedCompilationResults = emptyArray(),
-            kotlinScriptExtensions = kotlinScriptExtensions
+            kotlinScriptExtensions = kotlinScriptExtensions,
+            useClasspathSnapshot = icEnv.useClasspathSnapshot
         )
         val servicesFacade = GradleCompilerServicesFacadeImpl(log, bufferingMessageCollector)
         return metrics.measure(BuildTime.NON_INCREMENTAL_COMPILATION_DAEMON) {
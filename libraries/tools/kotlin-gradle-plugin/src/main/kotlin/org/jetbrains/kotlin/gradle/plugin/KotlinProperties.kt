@@ -80,6 +80,9 @@ internal class PropertiesProvider private constructor(private val project: Proje
     val buildReportDir: File?
         get() = property("kotlin.build.report.dir")?.let { File(it) }
 
+    val buildReportJson: Boolean
+        get() = booleanProperty("kotlin.build.report.json") ?: false
+
     val incrementalJvm: Boolean?
         get() = booleanProperty("kotlin.incremental")
 
@@ -257,6 +260,12 @@ internal class PropertiesProvider private constructor(private val project: Proje
     val commonizerLogLevel: String?
         get() = property("kotlin.mpp.commonizerLogLevel")
 
+    /**
+     * Number of targets that KLIB commonizer may commonize at the same time, 1 by default.
+     */
+    val commonizerParallelism: String?
+        get() = property("kotlin.mpp.commonizerParallelism")
+
     /**
      * Enables experimental commonization of 'higher level' shared native source sets
      */
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.gradle.report
+
+import com.google.gson.GsonBuilder
+import org.gradle.api.logging.Logger
+import org.jetbrains.kotlin.build.report.metrics.BuildMetrics
+import org.jetbrains.kotlin.gradle.report.data.BuildExecutionData
+import org.jetbrains.kotlin.gradle.report.data.BuildExecutionDataProcessor
+import java.io.File
+
+/**
+ * Writes metrics of the build and of its Kotlin tasks as JSON, so that they can be collected from build to build.
+ * Times are in nanoseconds, sizes are in bytes.
+ */
+internal class JsonBuildReportWriter(
+    private val outputFile: File,
+    private val log: Logger
+) : BuildExecutionDataProcessor {
+    override fun process(build: BuildExecutionData) {
+        try {
+            val report = JsonBuildReport(
+                startParameters = build.startParameters.toList(),
+                failure = build.failure?.toString(),
+                metrics = JsonMetrics(build.aggregatedMetrics),
+                tasks = build.taskExecutionData.filter { it.isKotlinTask }.map { task ->
+                    JsonTaskReport(
+                        path = task.task.path,
+                        type = task.task::class.java.canonicalName,
+                        didWork = task.task.didWork,
+                        skipMessage = task.resultState.skipMessage,
+                        totalTime = task.totalTimeNs,
+                        metrics = JsonMetrics(task.buildMetrics)
+                    )
+                }
+            )
+
+            outputFile.bufferedWriter().use { writer ->
+                GsonBuilder()
+                    .setPrettyPrinting()
+                    .disableHtmlEscaping()
+                    .create()
+                    .toJson(report, writer)
+            }
+
+            log.lifecycle("Kotlin build report in JSON is written to ${outputFile.canonicalPath}")
+        } catch (e: Exception) {
+            log.error("Could not write Kotlin build report to ${outputFile.canonicalPath}", e)
+        }
+    }
+
+    private class JsonBuildReport(
+        val startParameters: List<String>,
+        val failure: String?,
+        val metrics: JsonMetrics,
+        val tasks: List<JsonTaskReport>
+    )
+
+    private class JsonTaskReport(
+        val path: String,
+        val type: String,
+        val didWork: Boolean,
+        val skipMessage: String?,
+        val totalTime: Long,
+        val metrics: JsonMetrics
+    )
+
+    private class JsonMetrics(
+        val buildTimes: Map<String, Long>,
+        val performanceMetrics: Map<String, Long>,
+        val buildAttributes: Map<String, Int>
+    ) {
+        constructor(metrics: BuildMetrics) : this(
+            buildTimes = metrics.buildTimes.asMap().mapKeys { (k, _) -> k.name },
+            performanceMetrics = metrics.buildPerformanceMetrics.asMap().mapKeys { (k, _) -> k.name },
+            buildAttributes = metrics.buildAttributes.asMap().mapKeys { (k, _) -> k.name }
+        )
+    }
+}
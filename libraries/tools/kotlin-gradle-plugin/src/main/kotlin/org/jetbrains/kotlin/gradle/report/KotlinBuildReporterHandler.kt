@@ -106,5 +106,11 @@ internal fun formatTime(ns: Long): String {
     return seconds.asString(2) + " s"
 }
 
+internal fun formatSize(bytes: Long): String = when {
+    bytes < 1024 -> "$bytes B"
+    bytes < 1024 * 1024 -> (bytes.toDouble() / 1024).asString(1) + " KB"
+    else -> (bytes.toDouble() / 1024 / 1024).asString(1) + " MB"
+}
+
 internal fun Double.asString(decPoints: Int): String =
     String.format("%.${decPoints}f", this)
@@ -8,6 +8,8 @@ package org.jetbrains.kotlin.gradle.report
 import org.gradle.api.logging.Logger
 import org.jetbrains.kotlin.build.report.metrics.BuildAttributes
 import org.jetbrains.kotlin.build.report.metrics.BuildMetrics
+import org.jetbrains.kotlin.build.report.metrics.BuildPerformanceMetric
+import org.jetbrains.kotlin.build.report.metrics.BuildPerformanceMetrics
 import org.jetbrains.kotlin.build.report.metrics.BuildTime
 import org.jetbrains.kotlin.build.report.metrics.BuildTimes
 import org.jetbrains.kotlin.gradle.report.data.BuildExecutionData
@@ -62,6 +64,7 @@ internal class PlainTextBuildReportWriter(
         if (!printMetrics) return
 
         printBuildTimes(buildMetrics.buildTimes)
+        printBuildPerformanceMetrics(buildMetrics.buildPerformanceMetrics)
         printBuildAttributes(buildMetrics.buildAttributes)
     }
 
@@ -92,6 +95,23 @@ internal class PlainTextBuildReportWriter(
         p.println()
     }
 
+    private fun printBuildPerformanceMetrics(buildMetrics: BuildPerformanceMetrics) {
+        val allBuildMetrics = buildMetrics.asMap()
+        if (allBuildMetrics.isEmpty()) return
+
+        p.withIndent("Performance metrics:") {
+            for ((metric, value) in allBuildMetrics) {
+                val formattedValue = when (metric.type) {
+                    BuildPerformanceMetric.ValueType.NUMBER -> value.toString()
+                    BuildPerformanceMetric.ValueType.BYTES -> formatSize(value)
+                    BuildPerformanceMetric.ValueType.NANOSECONDS -> formatTime(value)
+                }
+                p.println("${metric.name}: $formattedValue")
+            }
+        }
+        p.println()
+    }
+
     private fun printBuildAttributes(buildAttributes: BuildAttributes) {
         val allAttributes = buildAttributes.asMap()
         if (allAttributes.isEmpty()) return
@@ -13,6 +13,7 @@ data class ReportingSettings(
     val buildReportDir: File? = null,
     val reportMetrics: Boolean = false,
     val includeMetricsInReport: Boolean = false,
+    val jsonReport: Boolean = false,
     val buildReportMode: BuildReportMode = BuildReportMode.NONE
 ) : Serializable {
     companion object {
@@ -11,6 +11,7 @@ import org.jetbrains.kotlin.gradle.plugin.PropertiesProvider
 import org.jetbrains.kotlin.gradle.report.data.BuildExecutionDataProcessor
 import org.jetbrains.kotlin.gradle.tasks.AbstractKotlinCompile
 import org.jetbrains.kotlin.gradle.utils.isConfigurationCacheAvailable
+import java.io.File
 import java.text.SimpleDateFormat
 import java.util.*
 
@@ -31,6 +32,12 @@ internal fun configureReporting(gradle: Gradle) {
         }
     }
 
+    if (reportingSettings.jsonReport && reportingSettings.buildReportDir != null) {
+        configureJsonReportWriter(gradle, reportingSettings)?.let {
+            buildDataProcessors.add(it)
+        }
+    }
+
     if (reportingSettings.metricsOutputFile != null) {
         buildDataProcessors.add(MetricsWriter(reportingSettings.metricsOutputFile.absoluteFile, rootProject.logger))
     }
@@ -52,11 +59,13 @@ private fun reportingSettings(rootProject: Project): ReportingSettings {
     val metricsOutputFile = properties.singleBuildMetricsFile
     val buildReportDir = properties.buildReportDir ?: rootProject.buildDir.resolve("reports/kotlin-build")
     val includeMetricsInReport = properties.buildReportMetrics || buildReportMode == BuildReportMode.VERBOSE
+    val jsonReport = properties.buildReportJson
     return ReportingSettings(
         metricsOutputFile = metricsOutputFile,
         buildReportDir = buildReportDir,
-        reportMetrics = metricsOutputFile != null || includeMetricsInReport,
+        reportMetrics = metricsOutputFile != null || includeMetricsInReport || jsonReport,
         includeMetricsInReport = includeMetricsInReport,
+        jsonReport = jsonReport,
         buildReportMode = buildReportMode
     )
 }
@@ -65,6 +74,28 @@ private fun configurePlainTextReportWriter(
     gradle: Gradle,
     reportingSettings: ReportingSettings
 ): BuildExecutionDataProcessor? {
+    val reportFile = buildReportFile(gradle, reportingSettings, "txt") ?: return null
+
+    return PlainTextBuildReportWriter(
+        outputFile = reportFile,
+        printMetrics = reportingSettings.includeMetricsInReport,
+        log = gradle.rootProject.logger
+    )
+}
+
+private fun configureJsonReportWriter(
+    gradle: Gradle,
+    reportingSettings: ReportingSettings
+): BuildExecutionDataProcessor? {
+    val reportFile = buildReportFile(gradle, reportingSettings, "json") ?: return null
+
+    return JsonBuildReportWriter(
+        outputFile = reportFile,
+        log = gradle.rootProject.logger
+    )
+}
+
+private fun buildReportFile(gradle: Gradle, reportingSettings: ReportingSettings, extension: String): File? {
     val log = gradle.rootProject.logger
     val reportDir = reportingSettings.buildReportDir!!.apply { mkdirs() }
     if (reportDir.isFile) {
@@ -73,11 +104,5 @@ private fun configurePlainTextReportWriter(
     }
     reportDir.mkdirs()
     val ts = SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(Calendar.getInstance().time)
-    val reportFile = reportDir.resolve("${gradle.rootProject.name}-build-$ts.txt")
-
-    return PlainTextBuildReportWriter(
-        outputFile = reportFile,
-        printMetrics = reportingSettings.includeMetricsInReport,
-        log = log
-    )
+    return reportDir.resolve("${gradle.rootProject.name}-build-$ts.$extension")
 }
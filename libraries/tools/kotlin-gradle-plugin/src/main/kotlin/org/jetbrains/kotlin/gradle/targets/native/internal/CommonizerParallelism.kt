@@ -0,0 +1,19 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.gradle.targets.native.internal
+
+import org.gradle.api.Project
+import org.jetbrains.kotlin.gradle.plugin.PropertiesProvider
+
+/**
+ * Commonizer arguments for `kotlin.mpp.commonizerParallelism`, empty if the property is not set.
+ * The value is validated by the commonizer itself.
+ */
+internal val Project.commonizerParallelismArguments: List<String>
+    get() {
+        val parallelism = PropertiesProvider(this).commonizerParallelism ?: return emptyList()
+        return listOf("-parallelism", parallelism.trim())
+    }
@@ -103,6 +103,7 @@ internal open class HierarchicalNativeDistributionCommonizerTask : DefaultTask()
             this += target.identityString
             this += "-log-level"
             this += project.commonizerLogLevel.name
+            this += project.commonizerParallelismArguments
         }
     }
 }
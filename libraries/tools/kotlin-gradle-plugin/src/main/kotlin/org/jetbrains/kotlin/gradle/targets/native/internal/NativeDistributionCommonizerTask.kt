@@ -118,6 +118,7 @@ internal open class NativeDistributionCommonizerTask : DefaultTask() {
             arguments += stagedDirectory.temporaryDirectoryFile.absolutePath
             arguments += "-targets"
             arguments += orderedTargetNames.joinToString(separator = ",")
+            arguments += project.commonizerParallelismArguments
         }
 
         return CommonizerExecutionEnvironment(
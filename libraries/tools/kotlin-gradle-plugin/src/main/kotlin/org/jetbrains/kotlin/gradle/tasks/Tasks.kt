@@ -466,7 +466,8 @@ abstract class KotlinCompile @Inject constructor(
                 taskBuildDirectory.get().asFile,
                 usePreciseJavaTracking = usePreciseJavaTracking,
                 disableMultiModuleIC = disableMultiModuleIC,
-                multiModuleICSettings = multiModuleICSettings
+                multiModuleICSettings = multiModuleICSettings,
+                useClasspathSnapshot = useClasspathSnapshot.get()
             )
         } else null
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer
+
+import org.jetbrains.kotlin.util.Logger
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.*
+
+/**
+ * Persistent cache of commonizer results stored in [cacheDirectory].
+ *
+ * An entry holds the complete content of the destination directory of a run. It is stored by a [Key] computed from
+ * everything the results depend on: the requested targets and options, the libraries to commonize and their dependencies,
+ * and the commonizer itself. Only the [maxEntries] most recently used entries are kept.
+ */
+internal class CommonizerResultsCache(
+    private val cacheDirectory: File,
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES
+) {
+    class Key internal constructor(internal val value: String)
+
+    class KeyBuilder internal constructor() {
+        private val digest = MessageDigest.getInstance("SHA-256")
+
+        fun add(value: String) {
+            digest.update(value.toByteArray(Charsets.UTF_8))
+            digest.update(0)
+        }
+
+        /**
+         * Adds the files of [libraries], which may be directories or archives. Like build tools, files are compared by their
+         * paths, sizes and modification times rather than by their content, which would take as long to read as to commonize.
+         */
+        fun addLibraries(libraries: Iterable<File>) {
+            for (library in libraries.map { it.absoluteFile }.sortedBy { it.path }) {
+                add(library.path)
+                library.walkTopDown().filter { it.isFile }.sortedBy { it.path }.forEach { file ->
+                    add(file.toRelativeString(library))
+                    add(file.length().toString())
+                    add(file.lastModified().toString())
+                }
+            }
+        }
+
+        internal fun build(): Key = Key(digest.digest().joinToString("") { "%02x".format(it) })
+    }
+
+    /**
+     * Fills empty [destination] with the cached results of [key], or runs [commonize] to produce them and caches them.
+     * Failures to read or write the cache are reported to [logger] and don't fail the run.
+     */
+    fun runCached(key: Key, destination: File, logger: Logger, commonize: () -> Unit) {
+        val entry = cacheDirectory.resolve(key.value)
+        if (entry.isDirectory) {
+            try {
+                entry.copyRecursively(destination, overwrite = true)
+                entry.setLastModified(System.currentTimeMillis())
+                logger.log("Reused commonized libraries from $entry")
+                return
+            } catch (e: IOException) {
+                logger.warning("Failed to reuse commonized libraries from $entry: ${e.message}")
+                destination.listFiles()?.forEach { it.deleteRecursively() }
+            }
+        }
+
+        commonize()
+
+        try {
+            store(entry, destination)
+            removeStaleEntries()
+        } catch (e: IOException) {
+            logger.warning("Failed to cache commonized libraries in $cacheDirectory: ${e.message}")
+        }
+    }
+
+    private fun store(entry: File, destination: File) {
+        // Another process may store the same entry at the same time, so the entry is written aside and then atomically moved
+        val temporaryEntry = cacheDirectory.resolve("${entry.name}$TEMPORARY_SUFFIX${UUID.randomUUID()}")
+        try {
+            destination.copyRecursively(temporaryEntry)
+            Files.move(temporaryEntry.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: IOException) {
+            // the entry may have been stored by another process
+            if (!entry.isDirectory) throw e
+        } finally {
+            temporaryEntry.deleteRecursively()
+        }
+    }
+
+    private fun removeStaleEntries() {
+        val entries = cacheDirectory.listFiles { file -> file.isDirectory && TEMPORARY_SUFFIX !in file.name }.orEmpty()
+        entries.sortedByDescending { it.lastModified() }.drop(maxEntries).forEach { it.deleteRecursively() }
+    }
+
+    companion object {
+        private const val DEFAULT_MAX_ENTRIES = 16
+        private const val TEMPORARY_SUFFIX = ".tmp-"
+
+        fun key(init: KeyBuilder.() -> Unit): Key = KeyBuilder().apply {
+            add(commonizerFingerprint)
+            init()
+        }.build()
+
+        private val commonizerFingerprint: String by lazy {
+            val location = CommonizerResultsCache::class.java.protectionDomain?.codeSource?.location
+            val file = location?.let { File(it.toURI()) }
+            if (file != null && file.isFile) "${file.name}:${file.length()}:${file.lastModified()}" else "${location ?: ""}"
+        }
+    }
+}
@@ -90,3 +90,22 @@ private class CompositeResultsConsumer(val consumers: List<ResultsConsumer>) : R
         }
     }
 }
+
+internal fun ResultsConsumer.synchronized(): ResultsConsumer = SynchronizedResultsConsumer(this)
+
+private class SynchronizedResultsConsumer(private val delegate: ResultsConsumer) : ResultsConsumer {
+    @Synchronized
+    override fun consume(parameters: CommonizerParameters, target: CommonizerTarget, moduleResult: ResultsConsumer.ModuleResult) {
+        delegate.consume(parameters, target, moduleResult)
+    }
+
+    @Synchronized
+    override fun targetConsumed(parameters: CommonizerParameters, target: CommonizerTarget) {
+        delegate.targetConsumed(parameters, target)
+    }
+
+    @Synchronized
+    override fun allConsumed(parameters: CommonizerParameters, status: ResultsConsumer.Status) {
+        delegate.allConsumed(parameters, status)
+    }
+}
@@ -76,7 +76,7 @@ private class MapBasedTargetDependent<T>(private val map: Map<CommonizerTarget,
 }
 
 /**
- * Not thread safe!
+ * Values are produced under a lock, since targets may be commonized in parallel.
  */
 private class FactoryBasedTargetDependent<T>(
     override val targets: List<CommonizerTarget>,
@@ -87,6 +87,7 @@ private class FactoryBasedTargetDependent<T>(
 
     private val values: Array<Any?> = Array(targets.size) { Uninitialized }
 
+    @Synchronized
     @Suppress("UNCHECKED_CAST")
     override fun get(target: CommonizerTarget): T {
         val indexOfTarget = indexOf(target)
@@ -49,20 +49,45 @@ interface CirClass : CirClassifier, CirContainingClass {
     }
 }
 
-data class CirClassImpl(
+data class CirClassImpl private constructor(
     override val annotations: List<CirAnnotation>,
     override val name: CirName,
     override val typeParameters: List<CirTypeParameter>,
     override val visibility: Visibility,
-    override val modality: Modality,
-    override val kind: ClassKind,
     override var companion: CirName?,
-    override val isCompanion: Boolean,
-    override val isData: Boolean,
-    override val isValue: Boolean,
-    override val isInner: Boolean,
-    override val isExternal: Boolean,
+    private val flags: Int,
 ) : CirClass {
+    constructor(
+        annotations: List<CirAnnotation>,
+        name: CirName,
+        typeParameters: List<CirTypeParameter>,
+        visibility: Visibility,
+        modality: Modality,
+        kind: ClassKind,
+        companion: CirName?,
+        isCompanion: Boolean,
+        isData: Boolean,
+        isValue: Boolean,
+        isInner: Boolean,
+        isExternal: Boolean,
+    ) : this(
+        annotations = annotations,
+        name = name,
+        typeParameters = typeParameters,
+        visibility = visibility,
+        companion = companion,
+        flags = modality.toFlags(MODALITY_SHIFT) or kind.toFlags(KIND_SHIFT) or isCompanion.toFlag(IS_COMPANION) or
+                isData.toFlag(IS_DATA) or isValue.toFlag(IS_VALUE) or isInner.toFlag(IS_INNER) or isExternal.toFlag(IS_EXTERNAL)
+    )
+
+    override val modality: Modality get() = flags.modality(MODALITY_SHIFT)
+    override val kind: ClassKind get() = flags.classKind(KIND_SHIFT)
+    override val isCompanion: Boolean get() = flags.hasFlag(IS_COMPANION)
+    override val isData: Boolean get() = flags.hasFlag(IS_DATA)
+    override val isValue: Boolean get() = flags.hasFlag(IS_VALUE)
+    override val isInner: Boolean get() = flags.hasFlag(IS_INNER)
+    override val isExternal: Boolean get() = flags.hasFlag(IS_EXTERNAL)
+
     private var _supertypes: List<CirType>? = null
 
     override var supertypes: List<CirType>
@@ -72,3 +97,11 @@ data class CirClassImpl(
             _supertypes = value
         }
 }
+
+private const val MODALITY_SHIFT = 0
+private const val KIND_SHIFT = MODALITY_SHIFT + MODALITY_BITS
+private const val IS_COMPANION = 1 shl (KIND_SHIFT + KIND_BITS)
+private const val IS_DATA = IS_COMPANION shl 1
+private const val IS_VALUE = IS_COMPANION shl 2
+private const val IS_INNER = IS_COMPANION shl 3
+private const val IS_EXTERNAL = IS_COMPANION shl 4
@@ -5,22 +5,27 @@
 
 package org.jetbrains.kotlin.commonizer.cir
 
+import org.jetbrains.kotlin.commonizer.utils.Interner
+
 interface CirExtensionReceiver : CirHasAnnotations {
     val type: CirType
 
     companion object {
-        @Suppress("NOTHING_TO_INLINE")
-        inline fun create(
+        fun createInterned(
             annotations: List<CirAnnotation>,
             type: CirType
-        ): CirExtensionReceiver = CirExtensionReceiverImpl(
-            annotations = annotations,
-            type = type
+        ): CirExtensionReceiver = interner.intern(
+            CirExtensionReceiverInternedImpl(
+                annotations = annotations,
+                type = type
+            )
         )
+
+        private val interner = Interner<CirExtensionReceiverInternedImpl>()
     }
 }
 
-data class CirExtensionReceiverImpl(
+private data class CirExtensionReceiverInternedImpl(
     override val annotations: List<CirAnnotation>,
     override val type: CirType
 ) : CirExtensionReceiver
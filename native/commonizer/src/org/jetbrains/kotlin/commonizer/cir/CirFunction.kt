@@ -44,17 +44,55 @@ interface CirFunction : CirFunctionOrProperty, CirCallableMemberWithParameters {
     }
 }
 
-data class CirFunctionImpl(
+data class CirFunctionImpl private constructor(
     override val annotations: List<CirAnnotation>,
     override val name: CirName,
     override val typeParameters: List<CirTypeParameter>,
     override val visibility: Visibility,
-    override val modality: Modality,
     override val containingClass: CirContainingClass?,
     override var valueParameters: List<CirValueParameter>,
-    override var hasStableParameterNames: Boolean,
     override val extensionReceiver: CirExtensionReceiver?,
     override val returnType: CirType,
-    override val kind: CallableMemberDescriptor.Kind,
-    override val modifiers: CirFunctionModifiers
-) : CirFunction
+    override val modifiers: CirFunctionModifiers,
+    private var flags: Int,
+) : CirFunction {
+    constructor(
+        annotations: List<CirAnnotation>,
+        name: CirName,
+        typeParameters: List<CirTypeParameter>,
+        visibility: Visibility,
+        modality: Modality,
+        containingClass: CirContainingClass?,
+        valueParameters: List<CirValueParameter>,
+        hasStableParameterNames: Boolean,
+        extensionReceiver: CirExtensionReceiver?,
+        returnType: CirType,
+        kind: CallableMemberDescriptor.Kind,
+        modifiers: CirFunctionModifiers
+    ) : this(
+        annotations = annotations,
+        name = name,
+        typeParameters = typeParameters,
+        visibility = visibility,
+        containingClass = containingClass,
+        valueParameters = valueParameters,
+        extensionReceiver = extensionReceiver,
+        returnType = returnType,
+        modifiers = modifiers,
+        flags = modality.toFlags(MODALITY_SHIFT) or kind.toFlags(KIND_SHIFT) or
+                hasStableParameterNames.toFlag(HAS_STABLE_PARAMETER_NAMES)
+    )
+
+    override val modality: Modality get() = flags.modality(MODALITY_SHIFT)
+    override val kind: CallableMemberDescriptor.Kind get() = flags.callableKind(KIND_SHIFT)
+
+    override var hasStableParameterNames: Boolean
+        get() = flags.hasFlag(HAS_STABLE_PARAMETER_NAMES)
+        set(value) {
+            flags = flags.withFlag(HAS_STABLE_PARAMETER_NAMES, value)
+        }
+}
+
+private const val MODALITY_SHIFT = 0
+private const val KIND_SHIFT = MODALITY_SHIFT + MODALITY_BITS
+private const val HAS_STABLE_PARAMETER_NAMES = 1 shl (KIND_SHIFT + KIND_BITS)
@@ -5,8 +5,6 @@
 
 package org.jetbrains.kotlin.commonizer.cir
 
-import org.jetbrains.kotlin.commonizer.utils.Interner
-
 interface CirFunctionModifiers {
     val isOperator: Boolean
     val isInfix: Boolean
@@ -23,26 +21,34 @@ interface CirFunctionModifiers {
             isTailrec: Boolean,
             isSuspend: Boolean,
             isExternal: Boolean
-        ): CirFunctionModifiers = interner.intern(
-            CirFunctionModifiersInternedImpl(
-                isOperator = isOperator,
-                isInfix = isInfix,
-                isInline = isInline,
-                isTailrec = isTailrec,
-                isSuspend = isSuspend,
-                isExternal = isExternal
-            )
-        )
-
-        private val interner = Interner<CirFunctionModifiersInternedImpl>()
+        ): CirFunctionModifiers {
+            val flags = isOperator.toFlag(OPERATOR) or isInfix.toFlag(INFIX) or isInline.toFlag(INLINE) or
+                    isTailrec.toFlag(TAILREC) or isSuspend.toFlag(SUSPEND) or isExternal.toFlag(EXTERNAL)
+            return instances[flags]
+        }
+
+        // There are only 64 combinations of modifiers, so all of them are preallocated
+        private val instances = Array(1 shl 6) { flags -> CirFunctionModifiersInternedImpl(flags) }
+
+        private fun Boolean.toFlag(flag: Int): Int = if (this) flag else 0
     }
 }
 
-private data class CirFunctionModifiersInternedImpl(
-    override val isOperator: Boolean,
-    override val isInfix: Boolean,
-    override val isInline: Boolean,
-    override val isTailrec: Boolean,
-    override val isSuspend: Boolean,
-    override val isExternal: Boolean
-) : CirFunctionModifiers
+private const val OPERATOR = 1 shl 0
+private const val INFIX = 1 shl 1
+private const val INLINE = 1 shl 2
+private const val TAILREC = 1 shl 3
+private const val SUSPEND = 1 shl 4
+private const val EXTERNAL = 1 shl 5
+
+private class CirFunctionModifiersInternedImpl(private val flags: Int) : CirFunctionModifiers {
+    override val isOperator get() = flags and OPERATOR != 0
+    override val isInfix get() = flags and INFIX != 0
+    override val isInline get() = flags and INLINE != 0
+    override val isTailrec get() = flags and TAILREC != 0
+    override val isSuspend get() = flags and SUSPEND != 0
+    override val isExternal get() = flags and EXTERNAL != 0
+
+    override fun toString() = "CirFunctionModifiers(isOperator=$isOperator, isInfix=$isInfix, isInline=$isInline, " +
+            "isTailrec=$isTailrec, isSuspend=$isSuspend, isExternal=$isExternal)"
+}
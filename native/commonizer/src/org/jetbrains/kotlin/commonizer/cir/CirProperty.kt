@@ -67,27 +67,79 @@ interface CirProperty : CirFunctionOrProperty, CirLiftedUpDeclaration {
     }
 }
 
-data class CirPropertyImpl(
+data class CirPropertyImpl private constructor(
     override val annotations: List<CirAnnotation>,
     override val name: CirName,
     override val typeParameters: List<CirTypeParameter>,
     override val visibility: Visibility,
-    override val modality: Modality,
     override val containingClass: CirContainingClass?,
-    override val isExternal: Boolean,
     override val extensionReceiver: CirExtensionReceiver?,
     override val returnType: CirType,
-    override val kind: CallableMemberDescriptor.Kind,
-    override val isVar: Boolean,
-    override val isLateInit: Boolean,
-    override var isConst: Boolean,
-    override val isDelegate: Boolean,
     override val getter: CirPropertyGetter?,
     override val setter: CirPropertySetter?,
     override val backingFieldAnnotations: List<CirAnnotation>,
     override val delegateFieldAnnotations: List<CirAnnotation>,
-    override val compileTimeInitializer: CirConstantValue
+    override val compileTimeInitializer: CirConstantValue,
+    private var flags: Int,
 ) : CirProperty {
+    constructor(
+        annotations: List<CirAnnotation>,
+        name: CirName,
+        typeParameters: List<CirTypeParameter>,
+        visibility: Visibility,
+        modality: Modality,
+        containingClass: CirContainingClass?,
+        isExternal: Boolean,
+        extensionReceiver: CirExtensionReceiver?,
+        returnType: CirType,
+        kind: CallableMemberDescriptor.Kind,
+        isVar: Boolean,
+        isLateInit: Boolean,
+        isConst: Boolean,
+        isDelegate: Boolean,
+        getter: CirPropertyGetter?,
+        setter: CirPropertySetter?,
+        backingFieldAnnotations: List<CirAnnotation>,
+        delegateFieldAnnotations: List<CirAnnotation>,
+        compileTimeInitializer: CirConstantValue
+    ) : this(
+        annotations = annotations,
+        name = name,
+        typeParameters = typeParameters,
+        visibility = visibility,
+        containingClass = containingClass,
+        extensionReceiver = extensionReceiver,
+        returnType = returnType,
+        getter = getter,
+        setter = setter,
+        backingFieldAnnotations = backingFieldAnnotations,
+        delegateFieldAnnotations = delegateFieldAnnotations,
+        compileTimeInitializer = compileTimeInitializer,
+        flags = modality.toFlags(MODALITY_SHIFT) or kind.toFlags(KIND_SHIFT) or isExternal.toFlag(IS_EXTERNAL) or
+                isVar.toFlag(IS_VAR) or isLateInit.toFlag(IS_LATE_INIT) or isConst.toFlag(IS_CONST) or isDelegate.toFlag(IS_DELEGATE)
+    )
+
+    override val modality: Modality get() = flags.modality(MODALITY_SHIFT)
+    override val kind: CallableMemberDescriptor.Kind get() = flags.callableKind(KIND_SHIFT)
+    override val isExternal: Boolean get() = flags.hasFlag(IS_EXTERNAL)
+    override val isVar: Boolean get() = flags.hasFlag(IS_VAR)
+    override val isLateInit: Boolean get() = flags.hasFlag(IS_LATE_INIT)
+    override val isDelegate: Boolean get() = flags.hasFlag(IS_DELEGATE)
+
+    override var isConst: Boolean
+        get() = flags.hasFlag(IS_CONST)
+        set(value) {
+            flags = flags.withFlag(IS_CONST, value)
+        }
+
     // const property in "common" fragment is already lifted up
     override val isLiftedUp get() = isConst
 }
+
+private const val MODALITY_SHIFT = 0
+private const val KIND_SHIFT = MODALITY_SHIFT + MODALITY_BITS
+private const val IS_EXTERNAL = 1 shl (KIND_SHIFT + KIND_BITS)
+private const val IS_VAR = IS_EXTERNAL shl 1
+private const val IS_LATE_INIT = IS_EXTERNAL shl 2
+private const val IS_CONST = IS_EXTERNAL shl 3
+private const val IS_DELEGATE = IS_EXTERNAL shl 4
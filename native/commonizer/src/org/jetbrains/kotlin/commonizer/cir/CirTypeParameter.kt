@@ -5,6 +5,9 @@
 
 package org.jetbrains.kotlin.commonizer.cir
 
+import org.jetbrains.kotlin.commonizer.utils.Interner
+import org.jetbrains.kotlin.commonizer.utils.appendHashCode
+import org.jetbrains.kotlin.commonizer.utils.hashCode
 import org.jetbrains.kotlin.types.Variance
 
 interface CirTypeParameter : CirHasAnnotations, CirHasName {
@@ -13,27 +16,67 @@ interface CirTypeParameter : CirHasAnnotations, CirHasName {
     val upperBounds: List<CirType>
 
     companion object {
-        @Suppress("NOTHING_TO_INLINE")
-        inline fun create(
+        fun createInterned(
             annotations: List<CirAnnotation>,
             name: CirName,
             isReified: Boolean,
             variance: Variance,
             upperBounds: List<CirType>
-        ): CirTypeParameter = CirTypeParameterImpl(
-            annotations = annotations,
-            name = name,
-            isReified = isReified,
-            variance = variance,
-            upperBounds = upperBounds
+        ): CirTypeParameter = interner.intern(
+            CirTypeParameterInternedImpl(
+                annotations = annotations,
+                name = name,
+                isReified = isReified,
+                variance = variance,
+                upperBounds = upperBounds
+            )
         )
+
+        private val interner = Interner<CirTypeParameterInternedImpl>()
     }
 }
 
-data class CirTypeParameterImpl(
+private class CirTypeParameterInternedImpl(
     override val annotations: List<CirAnnotation>,
     override val name: CirName,
     override val isReified: Boolean,
     override val variance: Variance,
     override val upperBounds: List<CirType>
-) : CirTypeParameter
+) : CirTypeParameter {
+    // See also org.jetbrains.kotlin.types.KotlinType.cachedHashCode
+    private var cachedHashCode = 0
+
+    private fun computeHashCode() = hashCode(name)
+        .appendHashCode(annotations)
+        .appendHashCode(isReified)
+        .appendHashCode(variance)
+        .appendHashCode(upperBounds)
+
+    override fun hashCode(): Int {
+        var currentHashCode = cachedHashCode
+        if (currentHashCode != 0) return currentHashCode
+
+        currentHashCode = computeHashCode()
+        cachedHashCode = currentHashCode
+        return currentHashCode
+    }
+
+    override fun equals(other: Any?) = when {
+        other === this -> true
+        other is CirTypeParameterInternedImpl -> {
+            name == other.name
+                    && isReified == other.isReified
+                    && variance == other.variance
+                    && upperBounds == other.upperBounds
+                    && annotations == other.annotations
+        }
+        else -> false
+    }
+
+    override fun toString() = buildString {
+        if (isReified) append("reified ")
+        if (variance != Variance.INVARIANT) append(variance.label).append(' ')
+        append(name)
+        if (upperBounds.isNotEmpty()) upperBounds.joinTo(this, prefix = " : ")
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer.cir
+
+import org.jetbrains.kotlin.descriptors.CallableMemberDescriptor
+import org.jetbrains.kotlin.descriptors.ClassKind
+import org.jetbrains.kotlin.descriptors.Modality
+
+/*
+ * Helpers to pack boolean and enum attributes of CIR declarations into a single Int field,
+ * which takes less memory than a field per attribute.
+ */
+
+internal const val MODALITY_BITS = 2
+internal const val KIND_BITS = 3
+
+private val MODALITIES = Modality.values().also { check(it.size <= 1 shl MODALITY_BITS) }
+private val CLASS_KINDS = ClassKind.values().also { check(it.size <= 1 shl KIND_BITS) }
+private val CALLABLE_KINDS = CallableMemberDescriptor.Kind.values().also { check(it.size <= 1 shl KIND_BITS) }
+
+@Suppress("NOTHING_TO_INLINE")
+internal inline fun Boolean.toFlag(flag: Int): Int = if (this) flag else 0
+
+@Suppress("NOTHING_TO_INLINE")
+internal inline fun Int.hasFlag(flag: Int): Boolean = this and flag != 0
+
+@Suppress("NOTHING_TO_INLINE")
+internal inline fun Int.withFlag(flag: Int, value: Boolean): Int = if (value) this or flag else this and flag.inv()
+
+internal fun Modality.toFlags(shift: Int): Int = ordinal shl shift
+internal fun ClassKind.toFlags(shift: Int): Int = ordinal shl shift
+internal fun CallableMemberDescriptor.Kind.toFlags(shift: Int): Int = ordinal shl shift
+
+internal fun Int.modality(shift: Int): Modality = MODALITIES[(this ushr shift) and mask(MODALITY_BITS)]
+internal fun Int.classKind(shift: Int): ClassKind = CLASS_KINDS[(this ushr shift) and mask(KIND_BITS)]
+internal fun Int.callableKind(shift: Int): CallableMemberDescriptor.Kind = CALLABLE_KINDS[(this ushr shift) and mask(KIND_BITS)]
+
+private fun mask(bits: Int): Int = (1 shl bits) - 1
@@ -0,0 +1,17 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer.cli
+
+internal object ParallelismOptionType : OptionType<Int>(
+    "parallelism",
+    "Integer (default 1);\nthe number of targets that may be commonized at the same time",
+    mandatory = false
+) {
+    override fun parse(rawValue: String, onError: (reason: String) -> Nothing): Option<Int> {
+        val value = rawValue.trim().toIntOrNull()?.takeIf { it > 0 } ?: onError("Invalid parallelism: $rawValue")
+        return Option(this, value)
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer.cli
+
+import java.io.File
+
+internal object ResultsCacheOptionType : OptionType<File>(
+    "results-cache",
+    "Path to a directory;\nreuse results of previous runs with the same targets and libraries stored there",
+    mandatory = false
+) {
+    override fun parse(rawValue: String, onError: (reason: String) -> Nothing): Option<File> {
+        val directory = File(rawValue)
+        try {
+            if (!directory.isDirectory && !directory.mkdirs()) onError("Results cache directory can't be created: $rawValue")
+        } catch (_: SecurityException) {
+            onError("Access failure to the results cache directory: $rawValue")
+        }
+
+        return Option(this, directory)
+    }
+}
@@ -31,6 +31,8 @@ internal enum class TaskType(
             ),
             StatsTypeOptionType,
             LogLevelOptionType,
+            ParallelismOptionType,
+            ResultsCacheOptionType,
         ),
         ::NativeDistributionCommonize
     ),
@@ -53,7 +55,9 @@ internal enum class TaskType(
             InputLibrariesOptionType,
             DependencyLibrariesOptionType,
             OutputCommonizerTargetOptionType,
-            LogLevelOptionType
+            LogLevelOptionType,
+            ParallelismOptionType,
+            ResultsCacheOptionType
         ),
         ::NativeKlibCommonize
     )
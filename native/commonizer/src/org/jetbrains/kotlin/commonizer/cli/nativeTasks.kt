@@ -9,6 +9,8 @@ import org.jetbrains.kotlin.commonizer.*
 import org.jetbrains.kotlin.commonizer.konan.*
 import org.jetbrains.kotlin.commonizer.repository.*
 import org.jetbrains.kotlin.commonizer.stats.FileStatsOutput
+import org.jetbrains.kotlin.commonizer.stats.HEAP_STATS_NAME
+import org.jetbrains.kotlin.commonizer.stats.HeapStatsCollector
 import org.jetbrains.kotlin.commonizer.stats.StatsCollector
 import org.jetbrains.kotlin.commonizer.stats.StatsType
 import org.jetbrains.kotlin.commonizer.utils.ProgressLogger
@@ -51,6 +53,8 @@ internal class NativeKlibCommonize(options: Collection<Option<*>>) : Task(option
         val outputCommonizerTarget = compatGetOutputTarget()
         val statsType = getOptional<StatsType, StatsTypeOptionType> { it == "log-stats" } ?: StatsType.NONE
         val logLevel = getOptional<CommonizerLogLevel, LogLevelOptionType>() ?: CommonizerLogLevel.Quiet
+        val parallelism = getOptional<Int, ParallelismOptionType>() ?: 1
+        val resultsCache = getOptional<File, ResultsCacheOptionType>()?.let(::CommonizerResultsCache)
 
 
         val konanTargets = outputCommonizerTarget.konanTargets
@@ -59,6 +63,7 @@ internal class NativeKlibCommonize(options: Collection<Option<*>>) : Task(option
         val logger = ProgressLogger(CliLoggerAdapter(logLevel, 2))
         val libraryLoader = DefaultNativeLibraryLoader(logger)
         val statsCollector = StatsCollector(statsType, commonizerTargets)
+        val heapStatsCollector = HeapStatsCollector(statsType)
         val repository = FilesRepository(targetLibraries.toSet(), libraryLoader)
 
         val resultsConsumer = buildResultsConsumer {
@@ -69,17 +74,32 @@ internal class NativeKlibCommonize(options: Collection<Option<*>>) : Task(option
             this add LoggingResultsConsumer(outputCommonizerTarget)
         }
 
-        LibraryCommonizer(
-            outputTarget = outputCommonizerTarget,
-            repository = repository,
-            dependencies = StdlibRepository(distribution, libraryLoader) +
-                    CommonizerDependencyRepository(dependencyLibraries.toSet(), libraryLoader),
-            resultsConsumer = resultsConsumer,
-            statsCollector = statsCollector,
-            progressLogger = logger
-        ).run()
-
-        statsCollector?.writeTo(FileStatsOutput(destination, statsType.name.lowercase()))
+        val dependencies = StdlibRepository(distribution, libraryLoader) +
+                CommonizerDependencyRepository(dependencyLibraries.toSet(), libraryLoader)
+
+        val cacheKey: CommonizerResultsCache.KeyBuilder.() -> Unit = {
+            add(TaskType.NATIVE_KLIB_COMMONIZE.alias)
+            add(outputCommonizerTarget.identityString)
+            add(statsType.name)
+            addLibraries(repository, outputCommonizerTarget.allLeaves())
+            addLibraries(dependencies, outputCommonizerTarget.withAllAncestors())
+        }
+
+        resultsCache.runCached(cacheKey, destination, logger) {
+            LibraryCommonizer(
+                outputTarget = outputCommonizerTarget,
+                repository = repository,
+                dependencies = dependencies,
+                resultsConsumer = resultsConsumer,
+                statsCollector = statsCollector,
+                heapStatsCollector = heapStatsCollector,
+                progressLogger = logger,
+                parallelism = parallelism
+            ).run()
+
+            statsCollector?.writeTo(FileStatsOutput(destination, statsType.name.lowercase()))
+            heapStatsCollector?.writeTo(FileStatsOutput(destination, HEAP_STATS_NAME))
+        }
     }
 }
 
@@ -100,11 +120,14 @@ internal class NativeDistributionCommonize(options: Collection<Option<*>>) : Tas
         val copyEndorsedLibs = getOptional<Boolean, BooleanOptionType> { it == "copy-endorsed-libs" } ?: false
         val statsType = getOptional<StatsType, StatsTypeOptionType> { it == "log-stats" } ?: StatsType.NONE
         val logLevel = getOptional<CommonizerLogLevel, LogLevelOptionType>() ?: CommonizerLogLevel.Quiet
+        val parallelism = getOptional<Int, ParallelismOptionType>() ?: 1
+        val resultsCache = getOptional<File, ResultsCacheOptionType>()?.let(::CommonizerResultsCache)
 
         val logger = ProgressLogger(CliLoggerAdapter(logLevel, 2))
         val libraryLoader = DefaultNativeLibraryLoader(logger)
         val repository = KonanDistributionRepository(distribution, outputTarget.konanTargets, libraryLoader)
         val statsCollector = StatsCollector(statsType, outputTarget.withAllAncestors().toList())
+        val heapStatsCollector = HeapStatsCollector(statsType)
 
         val resultsConsumer = buildResultsConsumer {
             this add ModuleSerializer(destination, outputLayout)
@@ -117,16 +140,34 @@ internal class NativeDistributionCommonize(options: Collection<Option<*>>) : Tas
         val descriptionSuffix = estimateLibrariesCount(repository, outputTarget.allLeaves()).let { " ($it items)" }
         logger.log("${logPrefix}Preparing commonized Kotlin/Native libraries for $outputTarget$descriptionSuffix")
 
-        LibraryCommonizer(
-            outputTarget = outputTarget,
-            repository = repository,
-            dependencies = StdlibRepository(distribution, libraryLoader),
-            resultsConsumer = resultsConsumer,
-            statsCollector = statsCollector,
-            progressLogger = logger
-        ).run()
+        val dependencies = StdlibRepository(distribution, libraryLoader)
+
+        val cacheKey: CommonizerResultsCache.KeyBuilder.() -> Unit = {
+            add(TaskType.NATIVE_DIST_COMMONIZE.alias)
+            add(outputTarget.identityString)
+            add(outputLayout.javaClass.name)
+            add("$copyStdlib:$copyEndorsedLibs")
+            add(statsType.name)
+            addLibraries(repository, outputTarget.allLeaves())
+            addLibraries(dependencies, outputTarget.withAllAncestors())
+            if (copyStdlib || copyEndorsedLibs) addLibraries(listOf(distribution.konanCommonLibraries))
+        }
 
-        statsCollector?.writeTo(FileStatsOutput(destination, statsType.name.lowercase()))
+        resultsCache.runCached(cacheKey, destination, logger) {
+            LibraryCommonizer(
+                outputTarget = outputTarget,
+                repository = repository,
+                dependencies = dependencies,
+                resultsConsumer = resultsConsumer,
+                statsCollector = statsCollector,
+                heapStatsCollector = heapStatsCollector,
+                progressLogger = logger,
+                parallelism = parallelism
+            ).run()
+
+            statsCollector?.writeTo(FileStatsOutput(destination, statsType.name.lowercase()))
+            heapStatsCollector?.writeTo(FileStatsOutput(destination, HEAP_STATS_NAME))
+        }
     }
 
     companion object {
@@ -143,3 +184,19 @@ private fun Task.compatGetOutputTarget(): SharedCommonizerTarget {
     )
     return SharedCommonizerTarget(konanTargets)
 }
+
+private fun CommonizerResultsCache?.runCached(
+    key: CommonizerResultsCache.KeyBuilder.() -> Unit,
+    destination: File,
+    logger: ProgressLogger,
+    commonize: () -> Unit
+) {
+    if (this == null) commonize() else runCached(CommonizerResultsCache.key(key), destination, logger, commonize)
+}
+
+private fun CommonizerResultsCache.KeyBuilder.addLibraries(repository: Repository, targets: Iterable<CommonizerTarget>) {
+    for (target in targets) {
+        add(target.identityString)
+        addLibraries(repository.getLibraries(target).map { File(it.library.libraryFile.path) })
+    }
+}
@@ -14,7 +14,7 @@ class ExtensionReceiverCommonizer(classifiers: CirKnownClassifiers) :
         wrappedCommonizerFactory = { TypeCommonizer(classifiers) },
         extractor = { it.type },
         builder = { receiverType ->
-            CirExtensionReceiver.create(
+            CirExtensionReceiver.createInterned(
                 annotations = emptyList(),
                 type = receiverType
             )
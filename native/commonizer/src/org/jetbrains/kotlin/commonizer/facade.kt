@@ -16,6 +16,7 @@ import org.jetbrains.kotlin.commonizer.mergedtree.CirNode.Companion.indexOfCommo
 import org.jetbrains.kotlin.commonizer.mergedtree.CirNode.Companion.targetIndices
 import org.jetbrains.kotlin.commonizer.mergedtree.CirRootNode
 import org.jetbrains.kotlin.commonizer.metadata.CirTreeSerializer.serializeSingleTarget
+import org.jetbrains.kotlin.commonizer.stats.synchronized
 import org.jetbrains.kotlin.commonizer.tree.CirTreeRoot
 import org.jetbrains.kotlin.commonizer.tree.assembleCirTree
 import org.jetbrains.kotlin.commonizer.tree.deserializeCirTree
@@ -23,6 +24,9 @@ import org.jetbrains.kotlin.commonizer.tree.mergeCirTree
 import org.jetbrains.kotlin.library.SerializedMetadata
 import org.jetbrains.kotlin.storage.LockBasedStorageManager
 import org.jetbrains.kotlin.storage.StorageManager
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
 
 fun runCommonization(parameters: CommonizerParameters) {
     if (!parameters.containsCommonModuleNames()) {
@@ -30,8 +34,17 @@ fun runCommonization(parameters: CommonizerParameters) {
         return
     }
 
-    val storageManager = LockBasedStorageManager("Declarations commonization")
-    commonize(parameters, storageManager, parameters.outputTarget)
+    if (parameters.parallelism > 1) {
+        val synchronizedParameters = parameters.copy(
+            resultsConsumer = parameters.resultsConsumer.synchronized(),
+            statsCollector = parameters.statsCollector?.synchronized()
+        )
+        runInParallel(parameters.parallelism) {
+            commonize(synchronizedParameters, createStorageManager(), parameters.outputTarget)
+        }
+    } else {
+        commonize(parameters, createStorageManager(), parameters.outputTarget)
+    }
     parameters.resultsConsumer.allConsumed(parameters, Status.DONE)
 }
 
@@ -61,12 +74,28 @@ private fun commonize(
 private fun getCirTree(
     parameters: CommonizerParameters, storageManager: StorageManager, target: SharedCommonizerTarget
 ): TargetDependent<CirTreeRoot?> {
-    return EagerTargetDependent(target.targets) { childTarget ->
-        when (childTarget) {
-            is LeafCommonizerTarget -> deserialize(parameters, childTarget)
-            is SharedCommonizerTarget -> commonize(parameters.fork(), storageManager, childTarget)?.assembleCirTree().also {
-                parameters.logProgress("Commonized target $childTarget")
-            }
+    if (parameters.parallelism > 1 && ForkJoinTask.inForkJoinPool()) {
+        /*
+         * Declarations of different packages and modules of a target may refer to each other's classifiers,
+         * so the unit of parallel work is a child target. Each one gets its own storage manager to not contend for a single lock.
+         */
+        val childTasks = target.targets.associateWith { childTarget ->
+            ForkJoinTask.adapt(Callable { commonizeOrDeserialize(parameters, createStorageManager(), childTarget) })
+        }
+        ForkJoinTask.invokeAll(childTasks.values)
+        return EagerTargetDependent(target.targets) { childTarget -> childTasks.getValue(childTarget).join() }
+    }
+
+    return EagerTargetDependent(target.targets) { childTarget -> commonizeOrDeserialize(parameters, storageManager, childTarget) }
+}
+
+private fun commonizeOrDeserialize(
+    parameters: CommonizerParameters, storageManager: StorageManager, target: CommonizerTarget
+): CirTreeRoot? {
+    return when (target) {
+        is LeafCommonizerTarget -> deserialize(parameters, target)
+        is SharedCommonizerTarget -> commonize(parameters.fork(), storageManager, target)?.assembleCirTree().also {
+            parameters.logProgress("Commonized target $target")
         }
     }
 }
@@ -120,9 +149,23 @@ private fun serializeMissingModules(parameters: CommonizerParameters, requestedT
         }
 }
 
+private fun createStorageManager(): StorageManager = LockBasedStorageManager("Declarations commonization")
+
+private fun <T> runInParallel(parallelism: Int, action: () -> T): T {
+    val pool = ForkJoinPool(parallelism)
+    try {
+        return pool.invoke(ForkJoinTask.adapt(Callable(action)))
+    } finally {
+        pool.shutdown()
+    }
+}
+
 private fun CommonizerParameters.fork(): CommonizerParameters = with(logger?.fork())
 
-private fun CommonizerParameters.logProgress(message: String) = logger?.progress(message)
+private fun CommonizerParameters.logProgress(message: String) {
+    logger?.progress(message)
+    heapStatsCollector?.logPhase(message)
+}
 
 private val KLIB_FRAGMENT_WRITE_STRATEGY = ChunkedKlibModuleFragmentWriteStrategy()
 
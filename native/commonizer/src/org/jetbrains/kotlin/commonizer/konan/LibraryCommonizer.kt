@@ -7,6 +7,7 @@ package org.jetbrains.kotlin.commonizer.konan
 
 import org.jetbrains.kotlin.commonizer.*
 import org.jetbrains.kotlin.commonizer.repository.Repository
+import org.jetbrains.kotlin.commonizer.stats.HeapStatsCollector
 import org.jetbrains.kotlin.commonizer.stats.StatsCollector
 import org.jetbrains.kotlin.commonizer.utils.ProgressLogger
 import org.jetbrains.kotlin.utils.addToStdlib.ifNotEmpty
@@ -17,7 +18,9 @@ internal class LibraryCommonizer internal constructor(
     private val dependencies: Repository,
     private val resultsConsumer: ResultsConsumer,
     private val statsCollector: StatsCollector?,
-    private val progressLogger: ProgressLogger
+    private val heapStatsCollector: HeapStatsCollector?,
+    private val progressLogger: ProgressLogger,
+    private val parallelism: Int = 1
 ) {
 
     fun run() {
@@ -40,6 +43,7 @@ internal class LibraryCommonizer internal constructor(
         }
 
         progressLogger.progress("Resolved libraries to be commonized")
+        heapStatsCollector?.logPhase("Resolved libraries to be commonized")
         return libraries
     }
 
@@ -51,7 +55,9 @@ internal class LibraryCommonizer internal constructor(
             dependenciesProvider = createDependenciesProvider(),
             resultsConsumer = resultsConsumer,
             statsCollector = statsCollector,
-            logger = progressLogger
+            heapStatsCollector = heapStatsCollector,
+            logger = progressLogger,
+            parallelism = parallelism
         )
         runCommonization(parameters)
     }
@@ -73,7 +73,7 @@ object CirDeserializers {
 
     private val ALWAYS_HAS_ANNOTATIONS: Flags = flagsOf(Flag.Common.HAS_ANNOTATIONS)
 
-    private fun typeParameter(source: KmTypeParameter, typeResolver: CirTypeResolver): CirTypeParameter = CirTypeParameter.create(
+    private fun typeParameter(source: KmTypeParameter, typeResolver: CirTypeResolver): CirTypeParameter = CirTypeParameter.createInterned(
         annotations = annotations(ALWAYS_HAS_ANNOTATIONS, typeResolver, source::annotations),
         name = CirName.create(source.name),
         isReified = Flag.TypeParameter.IS_REIFIED(source.flags),
@@ -84,7 +84,7 @@ object CirDeserializers {
     private fun extensionReceiver(
         receiverParameterType: KmType,
         typeResolver: CirTypeResolver
-    ): CirExtensionReceiver = CirExtensionReceiver.create(
+    ): CirExtensionReceiver = CirExtensionReceiver.createInterned(
         annotations = emptyList(), // TODO nowhere to read receiver annotations from, see KT-42490
         type = type(receiverParameterType, typeResolver)
     )
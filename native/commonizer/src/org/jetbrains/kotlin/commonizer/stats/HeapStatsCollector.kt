@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer.stats
+
+import org.jetbrains.kotlin.commonizer.stats.StatsOutput.StatsHeader
+import org.jetbrains.kotlin.commonizer.stats.StatsOutput.StatsRow
+import java.lang.management.ManagementFactory
+
+/**
+ * Collects heap usage of the commonizer at the end of its phases, so that memory can be tracked from run to run.
+ * Heap is measured without forcing a garbage collection, so the used heap is an upper bound of the live data.
+ *
+ * Output format is defined in [StatsOutput].
+ *
+ * Example of output:
+
+Phase|Time, ms|Used heap, MB|Committed heap, MB|Max heap, MB|GC count|GC time, ms
+Built declaration tree for (ios_arm64, ios_x64)|5120|1480|2048|4096|31|1210
+Commonized declarations for (ios_arm64, ios_x64)|7310|2210|3072|4096|40|1650
+
+ */
+class HeapStatsCollector {
+    private val startNanos = System.nanoTime()
+    private val rows = mutableListOf<HeapStatsRow>()
+
+    @Synchronized
+    fun logPhase(phase: String) {
+        val heap = ManagementFactory.getMemoryMXBean().heapMemoryUsage
+        val garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans()
+
+        rows += HeapStatsRow(
+            phase = phase,
+            timeMillis = (System.nanoTime() - startNanos) / 1_000_000,
+            used = heap.used,
+            committed = heap.committed,
+            max = heap.max,
+            gcCount = garbageCollectors.sumOf { it.collectionCount.coerceAtLeast(0) },
+            gcTimeMillis = garbageCollectors.sumOf { it.collectionTime.coerceAtLeast(0) }
+        )
+    }
+
+    @Synchronized
+    fun writeTo(statsOutput: StatsOutput) {
+        statsOutput.use {
+            statsOutput.writeHeader(HeapStatsHeader)
+            rows.forEach(statsOutput::writeRow)
+        }
+    }
+
+    object HeapStatsHeader : StatsHeader {
+        override fun toList(): List<String> = listOf(
+            "Phase",
+            "Time, ms",
+            "Used heap, MB",
+            "Committed heap, MB",
+            "Max heap, MB",
+            "GC count",
+            "GC time, ms"
+        )
+    }
+
+    private class HeapStatsRow(
+        val phase: String,
+        val timeMillis: Long,
+        val used: Long,
+        val committed: Long,
+        val max: Long,
+        val gcCount: Long,
+        val gcTimeMillis: Long
+    ) : StatsRow {
+        override fun toList(): List<String> = listOf(
+            phase,
+            timeMillis.toString(),
+            used.toMBs(),
+            committed.toMBs(),
+            if (max < 0) "-" else max.toMBs(),
+            gcCount.toString(),
+            gcTimeMillis.toString()
+        )
+
+        private fun Long.toMBs() = (this / 1024 / 1024).toString()
+    }
+}
@@ -15,6 +15,15 @@ fun StatsCollector(type: StatsType, targets: List<CommonizerTarget>): StatsColle
     }
 }
 
+/**
+ * Heap usage is collected together with declaration stats of any type.
+ */
+fun HeapStatsCollector(type: StatsType): HeapStatsCollector? {
+    return if (type != StatsType.NONE) HeapStatsCollector() else null
+}
+
+const val HEAP_STATS_NAME = "heap"
+
 enum class StatsType {
     RAW, AGGREGATED, NONE;
 }
@@ -33,3 +42,17 @@ interface StatsCollector {
     fun logDeclaration(targetIndex: Int, lazyStatsKey: () -> StatsKey)
     fun writeTo(statsOutput: StatsOutput)
 }
+
+internal fun StatsCollector.synchronized(): StatsCollector = SynchronizedStatsCollector(this)
+
+private class SynchronizedStatsCollector(private val delegate: StatsCollector) : StatsCollector {
+    @Synchronized
+    override fun logDeclaration(targetIndex: Int, lazyStatsKey: () -> StatsCollector.StatsKey) {
+        delegate.logDeclaration(targetIndex, lazyStatsKey)
+    }
+
+    @Synchronized
+    override fun writeTo(statsOutput: StatsOutput) {
+        delegate.writeTo(statsOutput)
+    }
+}
@@ -7,8 +7,20 @@ package org.jetbrains.kotlin.commonizer.utils
 
 import com.intellij.util.containers.OpenTHashSet
 
+/**
+ * Thread-safe pool of canonical instances. The pool is split into segments by hash code, each one is guarded by its own lock,
+ * so that targets commonized in parallel rarely wait for each other.
+ */
 class Interner<T : Any> {
-    private val pool = OpenTHashSet<T>()
+    private val segments = Array(SEGMENTS_COUNT) { OpenTHashSet<T>() }
+
+    fun intern(value: T): T {
+        val hash = value.hashCode()
+        val segment = segments[(hash xor (hash ushr 16)) and (SEGMENTS_COUNT - 1)]
+        return synchronized(segment) { segment.getOrAdd(value) }
+    }
 
-    fun intern(value: T): T = pool.getOrAdd(value)
+    private companion object {
+        const val SEGMENTS_COUNT = 16
+    }
 }
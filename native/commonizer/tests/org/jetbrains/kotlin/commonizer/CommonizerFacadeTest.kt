@@ -63,10 +63,21 @@ class CommonizerFacadeTest {
         )
     )
 
+    @Test
+    fun commonizedInParallel() = doTestSuccessfulCommonization(
+        mapOf(
+            "target1" to listOf("foo", "bar", "baz"),
+            "target2" to listOf("bar", "foo", "qix"),
+            "target3" to listOf("foo", "bar")
+        ),
+        parallelism = 3
+    )
+
     companion object {
 
         private fun Map<String, List<String>>.toCommonizerParameters(
             resultsConsumer: ResultsConsumer,
+            parallelism: Int = 1,
             manifestDataProvider: (CommonizerTarget) -> NativeManifestDataProvider = { MockNativeManifestDataProvider(it) }
         ): CommonizerParameters {
             val targetDependentModuleNames = mapKeys { (targetName, _) -> LeafCommonizerTarget(targetName) }.toTargetDependent()
@@ -83,6 +94,7 @@ class CommonizerFacadeTest {
                     )
                 },
                 resultsConsumer = resultsConsumer,
+                parallelism = parallelism,
             )
         }
 
@@ -93,9 +105,9 @@ class CommonizerFacadeTest {
             assertTrue(results.modulesByTargets.isEmpty())
         }
 
-        private fun doTestSuccessfulCommonization(originalModules: Map<String, List<String>>) {
+        private fun doTestSuccessfulCommonization(originalModules: Map<String, List<String>>, parallelism: Int = 1) {
             val results = MockResultsConsumer()
-            runCommonization(originalModules.toCommonizerParameters(results))
+            runCommonization(originalModules.toCommonizerParameters(results, parallelism))
             assertEquals(Status.DONE, results.status)
 
             val expectedCommonModuleNames = mutableSetOf<String>()
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer
+
+import org.jetbrains.kotlin.util.DummyLogger
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import kotlin.test.assertEquals
+import kotlin.test.assertNotEquals
+
+class CommonizerResultsCacheTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun reusesResultsOfSameInputs() {
+        val cache = CommonizerResultsCache(temporaryFolder.newFolder("cache"))
+        val library = temporaryFolder.newFolder("lib").apply { resolve("manifest").writeText("unique_name=lib") }
+        val key = CommonizerResultsCache.key {
+            add("(a, b)")
+            addLibraries(listOf(library))
+        }
+
+        var runs = 0
+        fun runCached(destination: File) = cache.runCached(key, destination, DummyLogger) {
+            runs++
+            destination.resolve("common/lib/manifest").apply { parentFile.mkdirs() }.writeText("common")
+        }
+
+        runCached(temporaryFolder.newFolder("first"))
+        val secondDestination = temporaryFolder.newFolder("second")
+        runCached(secondDestination)
+
+        assertEquals(1, runs)
+        assertEquals("common", secondDestination.resolve("common/lib/manifest").readText())
+    }
+
+    @Test
+    fun keyDependsOnTargetsAndLibraries() {
+        val library = temporaryFolder.newFolder("lib").apply { resolve("manifest").writeText("unique_name=lib") }
+        fun key(target: String) = CommonizerResultsCache.key {
+            add(target)
+            addLibraries(listOf(library))
+        }.value
+
+        val original = key("(a, b)")
+        assertEquals(original, key("(a, b)"))
+        assertNotEquals(original, key("(a, b, c)"))
+
+        library.resolve("manifest").writeText("unique_name=lib\nshort_name=lib")
+        assertNotEquals(original, key("(a, b)"))
+    }
+
+    @Test
+    fun keepsMostRecentlyUsedEntries() {
+        val cacheDirectory = temporaryFolder.newFolder("cache")
+        val cache = CommonizerResultsCache(cacheDirectory, maxEntries = 2)
+
+        for (target in listOf("(a, b)", "(a, c)", "(b, c)")) {
+            val destination = temporaryFolder.newFolder().apply { resolve("result").writeText(target) }
+            cache.runCached(CommonizerResultsCache.key { add(target) }, destination, DummyLogger) {}
+        }
+
+        assertEquals(2, cacheDirectory.listFiles()!!.size)
+    }
+}
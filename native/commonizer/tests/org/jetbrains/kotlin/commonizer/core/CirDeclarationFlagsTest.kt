@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.commonizer.core
+
+import org.jetbrains.kotlin.commonizer.cir.*
+import org.jetbrains.kotlin.descriptors.ClassKind
+import org.jetbrains.kotlin.descriptors.Modality
+import org.jetbrains.kotlin.descriptors.Visibilities
+import org.jetbrains.kotlin.types.Variance
+import org.junit.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class CirDeclarationFlagsTest {
+    @Test
+    fun classFlags() {
+        for (modality in Modality.values()) {
+            for (kind in ClassKind.values()) {
+                for (flags in 0 until (1 shl 5)) {
+                    val clazz = CirClass.create(
+                        annotations = emptyList(),
+                        name = CirName.create("Foo"),
+                        typeParameters = emptyList(),
+                        visibility = Visibilities.Public,
+                        modality = modality,
+                        kind = kind,
+                        companion = null,
+                        isCompanion = flags.bit(0),
+                        isData = flags.bit(1),
+                        isValue = flags.bit(2),
+                        isInner = flags.bit(3),
+                        isExternal = flags.bit(4)
+                    )
+
+                    assertEquals(modality, clazz.modality)
+                    assertEquals(kind, clazz.kind)
+                    assertEquals(
+                        listOf(flags.bit(0), flags.bit(1), flags.bit(2), flags.bit(3), flags.bit(4)),
+                        listOf(clazz.isCompanion, clazz.isData, clazz.isValue, clazz.isInner, clazz.isExternal)
+                    )
+                }
+            }
+        }
+    }
+
+    @Test
+    fun functionModifiersAreCanonical() {
+        for (flags in 0 until (1 shl 6)) {
+            val modifiers = functionModifiers(flags)
+            assertSame(modifiers, functionModifiers(flags))
+            assertEquals(
+                listOf(flags.bit(0), flags.bit(1), flags.bit(2), flags.bit(3), flags.bit(4), flags.bit(5)),
+                listOf(
+                    modifiers.isOperator, modifiers.isInfix, modifiers.isInline,
+                    modifiers.isTailrec, modifiers.isSuspend, modifiers.isExternal
+                )
+            )
+        }
+    }
+
+    @Test
+    fun typeParametersAreInterned() {
+        fun typeParameter(name: String, isReified: Boolean) = CirTypeParameter.createInterned(
+            annotations = emptyList(),
+            name = CirName.create(name),
+            isReified = isReified,
+            variance = Variance.INVARIANT,
+            upperBounds = emptyList()
+        )
+
+        assertSame(typeParameter("T", isReified = false), typeParameter("T", isReified = false))
+        assertNotSame(typeParameter("T", isReified = false), typeParameter("T", isReified = true))
+        assertNotSame(typeParameter("T", isReified = false), typeParameter("R", isReified = false))
+    }
+
+    private fun functionModifiers(flags: Int) = CirFunctionModifiers.createInterned(
+        isOperator = flags.bit(0),
+        isInfix = flags.bit(1),
+        isInline = flags.bit(2),
+        isTailrec = flags.bit(3),
+        isSuspend = flags.bit(4),
+        isExternal = flags.bit(5)
+    )
+
+    private fun Int.bit(index: Int): Boolean = this and (1 shl index) != 0
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.jvm.abi
+
+import com.intellij.openapi.util.io.FileUtil
+import org.jetbrains.kotlin.cli.jvm.compiler.CompileEnvironmentUtil
+import org.jetbrains.kotlin.compilerRunner.OutputItemsCollector
+import java.io.Closeable
+import java.io.File
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+/**
+ * Writes generated ABI files either to a directory or straight to a jar.
+ *
+ * The files are passed one by one after code generation, without collecting them into another list. The classes themselves are
+ * still kept in memory by `ClassFileFactory` until the whole module is generated.
+ */
+internal abstract class AbiOutputSink(protected val outputItemsCollector: OutputItemsCollector?) : Closeable {
+    abstract fun write(relativePath: String, sources: List<File>, bytes: ByteArray)
+
+    private class Directory(private val outputDir: File, outputItemsCollector: OutputItemsCollector?) : AbiOutputSink(outputItemsCollector) {
+        override fun write(relativePath: String, sources: List<File>, bytes: ByteArray) {
+            val file = File(outputDir, relativePath)
+            FileUtil.writeToFile(file, bytes)
+            outputItemsCollector?.add(sources, file)
+        }
+
+        override fun close() {}
+    }
+
+    private class Jar(private val outputJar: File, outputItemsCollector: OutputItemsCollector?) : AbiOutputSink(outputItemsCollector) {
+        private val stream = run {
+            outputJar.parentFile?.mkdirs()
+            JarOutputStream(outputJar.outputStream().buffered())
+        }
+        private val sources = LinkedHashSet<File>()
+
+        override fun write(relativePath: String, sources: List<File>, bytes: ByteArray) {
+            // timestamps are reset, so that unchanged ABI produces an identical jar
+            val entry = JarEntry(relativePath).apply { time = CompileEnvironmentUtil.DOS_EPOCH }
+            stream.putNextEntry(entry)
+            stream.write(bytes)
+            stream.closeEntry()
+            this.sources.addAll(sources)
+        }
+
+        override fun close() {
+            stream.close()
+            outputItemsCollector?.add(sources, outputJar)
+        }
+    }
+
+    companion object {
+        fun create(output: File, outputItemsCollector: OutputItemsCollector?): AbiOutputSink =
+            if (output.path.endsWith(".jar")) Jar(output, outputItemsCollector) else Directory(output, outputItemsCollector)
+    }
+}
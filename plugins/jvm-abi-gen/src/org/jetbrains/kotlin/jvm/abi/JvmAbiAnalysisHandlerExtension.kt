@@ -6,7 +6,6 @@
 package org.jetbrains.kotlin.jvm.abi
 
 import com.intellij.openapi.project.Project
-import com.intellij.openapi.util.io.FileUtil
 import org.jetbrains.kotlin.analyzer.AnalysisResult
 import org.jetbrains.kotlin.cli.common.CLIConfigurationKeys
 import org.jetbrains.kotlin.cli.common.messages.CompilerMessageSeverity
@@ -78,20 +77,6 @@ class JvmAbiAnalysisHandlerExtension(
         ).targetId(targetId).build()
         KotlinCodegenFacade.compileCorrectFiles(generationState)
 
-        val outputDir = compilerConfiguration.get(JVMConfigurationKeys.OUTPUT_DIRECTORY)!!
-        val outputs = ArrayList<AbiOutput>()
-
-        for (outputFile in generationState.factory.asList()) {
-            val file = File(outputDir, outputFile.relativePath)
-            outputs.add(AbiOutput(file, outputFile.sourceFiles, outputFile.asByteArray()))
-        }
-
-        // private/local/synthetic class removal is temporarily turned off, because the implementation
-        // was not correct: it was not taking into account that private/local classes could be used
-        // from inline functions
-        // todo: implement correct removal
-        //removeUnneededClasses(outputs)
-
         val messageCollector = compilerConfiguration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY)
             ?: PrintingMessageCollector(System.err, MessageRenderer.PLAIN_FULL_PATHS, false)
         val reportOutputFiles = generationState.configuration.getBoolean(CommonConfigurationKeys.REPORT_OUTPUT_FILES)
@@ -99,7 +84,18 @@ class JvmAbiAnalysisHandlerExtension(
             OutputItemsCollector { sourceFiles, outputFile ->
                 messageCollector.report(CompilerMessageSeverity.OUTPUT, OutputMessageUtil.formatOutputMessage(sourceFiles, outputFile))
             }.takeIf { reportOutputFiles }
-        outputs.forEach { it.flush(outputItemsCollector) }
+
+        // private/local/synthetic class removal is temporarily turned off, because the implementation
+        // was not correct: it was not taking into account that private/local classes could be used
+        // from inline functions
+        // todo: implement correct removal, outputs have to be collected into AbiOutput for removeUnneededClasses
+        val output = File(compilerConfiguration.getNotNull(JvmAbiConfigurationKeys.OUTPUT_DIR))
+        AbiOutputSink.create(output, outputItemsCollector).use { sink ->
+            for (outputFile in generationState.factory.asList()) {
+                sink.write(outputFile.relativePath, outputFile.sourceFiles, outputFile.asByteArray())
+            }
+        }
+        generationState.factory.releaseGeneratedOutput()
         return null
     }
 
@@ -111,22 +107,22 @@ class JvmAbiAnalysisHandlerExtension(
     private fun removeUnneededClasses(outputs: Iterable<AbiOutput>) {
         // maps internal names of classes: class -> inner classes
         val innerClasses = HashMap<String, Collection<String>>()
-        val internalNameToFile = HashMap<String, File>()
+        val internalNameToFile = HashMap<String, String>()
 
         for (output in outputs) {
-            if (!output.file.isClassFile()) continue
+            if (!output.isClassFile()) continue
 
             val visitor = InnerClassesCollectingVisitor()
             output.accept(visitor)
             val outputInternalName = visitor.ownInternalName
-            internalNameToFile[outputInternalName] = output.file
+            internalNameToFile[outputInternalName] = output.relativePath
             innerClasses[outputInternalName] = visitor.innerClasses
         }
 
         // internal names of removed files
         val classesToRemoveQueue = ArrayDeque<String>()
         for (output in outputs) {
-            if (!output.file.isClassFile()) continue
+            if (!output.isClassFile()) continue
 
             val classData = output.classData() ?: continue
             val header = classData.classHeader
@@ -160,9 +156,9 @@ class JvmAbiAnalysisHandlerExtension(
 
         val classFilesToRemove = classesToRemove.mapTo(HashSet()) { internalNameToFile[it] }
         for (output in outputs) {
-            if (!output.file.isClassFile()) continue
+            if (!output.isClassFile()) continue
 
-            if (output.file in classFilesToRemove) {
+            if (output.relativePath in classFilesToRemove) {
                 output.delete()
             } else {
                 output.transform { writer ->
@@ -197,7 +193,7 @@ class JvmAbiAnalysisHandlerExtension(
     )
 
     private class AbiOutput(
-        val file: File,
+        val relativePath: String,
         val sources: List<File>,
         // null bytes means that file should not be written
         private var bytes: ByteArray?
@@ -205,7 +201,7 @@ class JvmAbiAnalysisHandlerExtension(
         fun classData(): ClassData? =
             when {
                 bytes == null -> null
-                !file.isClassFile() -> null
+                !isClassFile() -> null
                 else -> FileBasedKotlinClass.create(bytes!!) { classId, classVersion, classHeader, _ ->
                     ClassData(classId, classVersion, classHeader)
                 }
@@ -230,10 +226,7 @@ class JvmAbiAnalysisHandlerExtension(
             cr.accept(visitor, 0)
         }
 
-        fun flush(outputItemsCollector: OutputItemsCollector?) {
-            val bytes = bytes ?: return
-            FileUtil.writeToFile(file, bytes)
-            outputItemsCollector?.add(sources, file)
-        }
+        fun isClassFile(): Boolean =
+            File(relativePath).isClassFile()
     }
 }
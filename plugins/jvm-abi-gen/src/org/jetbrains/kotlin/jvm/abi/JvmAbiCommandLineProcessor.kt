@@ -16,7 +16,7 @@ class JvmAbiCommandLineProcessor : CommandLineProcessor {
         const val COMPILER_PLUGIN_ID: String = "org.jetbrains.kotlin.jvm.abi"
 
         val OUTPUT_DIR_OPTION: CliOption =
-            CliOption("outputDir", "<path>", "Output path for the generated files", required = true)
+            CliOption("outputDir", "<path>", "Output directory or .jar file for the generated files", required = true)
     }
 
     override val pluginId: String
@@ -40,14 +40,7 @@ internal class AbiClassBuilder(private val cv: ClassVisitor) : AbstractClassBuil
         // but non-inline functions can be thrown out
         if (isInlineOrContainingInline(descriptor)) return mv
 
-        return ReplaceWithEmptyMethodVisitor(
-            delegate = mv,
-            access = access,
-            name = name,
-            desc = desc,
-            signature = signature,
-            exceptions = exceptions
-        )
+        return ReplaceWithEmptyMethodVisitor(delegate = mv)
     }
 
     override fun newField(
@@ -5,21 +5,38 @@
 
 package org.jetbrains.kotlin.jvm.abi.asm
 
-import org.jetbrains.kotlin.codegen.TransformationMethodVisitor
 import org.jetbrains.org.objectweb.asm.*
-import org.jetbrains.org.objectweb.asm.tree.MethodNode
-
-internal class ReplaceWithEmptyMethodVisitor(
-    delegate: MethodVisitor,
-    access: Int,
-    name: String,
-    desc: String,
-    signature: String?,
-    exceptions: Array<out String>?
-) : TransformationMethodVisitor(delegate, access, name, desc, signature, exceptions, api = Opcodes.API_VERSION) {
-    override fun performTransformations(methodNode: MethodNode) {
-        methodNode.instructions.clear()
-        methodNode.localVariables.clear()
-        methodNode.tryCatchBlocks.clear()
+
+/**
+ * Passes the declaration of a method to [delegate] and drops its code as it is visited,
+ * so that method bodies are not buffered only to be thrown out.
+ */
+internal class ReplaceWithEmptyMethodVisitor(private val delegate: MethodVisitor) : MethodVisitor(Opcodes.API_VERSION) {
+    override fun visitParameter(name: String?, access: Int) {
+        delegate.visitParameter(name, access)
+    }
+
+    override fun visitAnnotationDefault(): AnnotationVisitor? =
+        delegate.visitAnnotationDefault()
+
+    override fun visitAnnotation(descriptor: String, visible: Boolean): AnnotationVisitor? =
+        delegate.visitAnnotation(descriptor, visible)
+
+    override fun visitTypeAnnotation(typeRef: Int, typePath: TypePath?, descriptor: String, visible: Boolean): AnnotationVisitor? =
+        delegate.visitTypeAnnotation(typeRef, typePath, descriptor, visible)
+
+    override fun visitAnnotableParameterCount(parameterCount: Int, visible: Boolean) {
+        delegate.visitAnnotableParameterCount(parameterCount, visible)
+    }
+
+    override fun visitParameterAnnotation(parameter: Int, descriptor: String, visible: Boolean): AnnotationVisitor? =
+        delegate.visitParameterAnnotation(parameter, descriptor, visible)
+
+    override fun visitAttribute(attribute: Attribute) {
+        delegate.visitAttribute(attribute)
+    }
+
+    override fun visitEnd() {
+        delegate.visitEnd()
     }
-}
\ No newline at end of file
+}
@@ -45,11 +45,14 @@ abstract class BaseJvmAbiTest : TestCase() {
         val abiDir: File
             get() = if (name == null) workingDir.resolve("abi") else workingDir.resolve("$name/abi")
 
+        val abiJar: File
+            get() = if (name == null) workingDir.resolve("abi.jar") else workingDir.resolve("$name/abi.jar")
+
         override fun toString(): String =
             "compilation '$name'"
     }
 
-    fun make(compilation: Compilation) {
+    fun make(compilation: Compilation, abiOutput: File = compilation.abiDir) {
         check(abiPluginJar.exists()) { "Plugin jar '$abiPluginJar' does not exist" }
         check(compilation.srcDir.exists()) { "Source dir '${compilation.srcDir}' does not exist" }
 
@@ -64,7 +67,7 @@ abstract class BaseJvmAbiTest : TestCase() {
             freeArgs = listOf(compilation.srcDir.canonicalPath)
             classpath = (abiDependencies + kotlinJvmStdlib).joinToString(File.pathSeparator) { it.canonicalPath }
             pluginClasspaths = arrayOf(abiPluginJar.canonicalPath)
-            pluginOptions = arrayOf(abiOption("outputDir", compilation.abiDir.canonicalPath))
+            pluginOptions = arrayOf(abiOption("outputDir", abiOutput.canonicalPath))
             destination = compilation.destinationDir.canonicalPath
         }
         val exitCode = compiler.exec(messageCollector, Services.EMPTY, args)
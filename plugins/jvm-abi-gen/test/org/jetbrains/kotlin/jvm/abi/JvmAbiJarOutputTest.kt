@@ -0,0 +1,29 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.jvm.abi
+
+import com.intellij.openapi.util.io.systemIndependentPath
+import org.jetbrains.kotlin.incremental.isClassFile
+import java.io.File
+import java.util.zip.ZipFile
+
+class JvmAbiJarOutputTest : BaseJvmAbiTest() {
+    fun testJarHasSameClassesAsDirectory() {
+        val compilation = Compilation(File("plugins/jvm-abi-gen/testData/content/class"), name = null)
+        make(compilation)
+        make(compilation, abiOutput = compilation.abiJar)
+
+        val directoryClasses = compilation.abiDir.walk().filter { it.isFile && it.isClassFile() }
+            .associate { it.relativeTo(compilation.abiDir).systemIndependentPath to it.readBytes().toList() }
+        val jarClasses = ZipFile(compilation.abiJar).use { zip ->
+            zip.entries().asSequence().filter { it.name.endsWith(".class") }
+                .associate { it.name to zip.getInputStream(it).use { input -> input.readBytes().toList() } }
+        }
+
+        assertTrue(directoryClasses.isNotEmpty())
+        assertEquals(directoryClasses, jarClasses)
+    }
+}
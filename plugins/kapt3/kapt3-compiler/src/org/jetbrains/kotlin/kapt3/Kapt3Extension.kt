@@ -57,6 +57,7 @@ import org.jetbrains.kotlin.kapt3.diagnostic.KaptError
 import org.jetbrains.kotlin.kapt3.stubs.ClassFileToSourceStubConverter
 import org.jetbrains.kotlin.kapt3.stubs.ClassFileToSourceStubConverter.KaptStub
 import org.jetbrains.kotlin.kapt3.util.MessageCollectorBackedKaptLogger
+import org.jetbrains.kotlin.kapt3.util.writeBytesIfChanged
 import org.jetbrains.kotlin.modules.TargetId
 import org.jetbrains.kotlin.psi.KtFile
 import org.jetbrains.kotlin.resolve.BindingContext
@@ -305,19 +306,28 @@ abstract class AbstractKapt3Extension(
     }
 
     protected open fun saveStubs(kaptContext: KaptContext, stubs: List<KaptStub>) {
-        for (kaptStub in stubs) {
-            val stub = kaptStub.file
-            val className = (stub.defs.first { it is JCTree.JCClassDecl } as JCTree.JCClassDecl).simpleName.toString()
+        val unchangedStubs = stubs.count { !saveStub(it, getStubFile(it), it.file.prettyPrint(kaptContext.context)) }
+        logger.info { "Unchanged stubs: $unchangedStubs of ${stubs.size}" }
+    }
+
+    private fun getStubFile(kaptStub: KaptStub): File {
+        val stub = kaptStub.file
+        val className = (stub.defs.first { it is JCTree.JCClassDecl } as JCTree.JCClassDecl).simpleName.toString()
 
-            val packageName = stub.getPackageNameJava9Aware()?.toString() ?: ""
-            val packageDir = if (packageName.isEmpty()) options.stubsOutputDir else File(options.stubsOutputDir, packageName.replace('.', '/'))
-            packageDir.mkdirs()
+        val packageName = stub.getPackageNameJava9Aware()?.toString() ?: ""
+        val packageDir = if (packageName.isEmpty()) options.stubsOutputDir else File(options.stubsOutputDir, packageName.replace('.', '/'))
+        return File(packageDir, "$className.java")
+    }
 
-            val sourceFile = File(packageDir, "$className.java")
-            sourceFile.writeText(stub.prettyPrint(kaptContext.context))
+    /**
+     * Returns false if the stub file already had the same content and has not been rewritten.
+     */
+    private fun saveStub(kaptStub: KaptStub, sourceFile: File, text: String): Boolean {
+        sourceFile.parentFile.mkdirs()
+        val isChanged = sourceFile.writeBytesIfChanged(text.toByteArray())
 
-            kaptStub.writeMetadataIfNeeded(forSource = sourceFile)
-        }
+        kaptStub.writeMetadataIfNeeded(forSource = sourceFile)
+        return isChanged
     }
 
     protected open fun saveIncrementalData(
@@ -182,7 +182,7 @@ class ClassFileToSourceStubConverter(val kaptContext: KaptContextForStubGenerati
                 forSource.nameWithoutExtension + KaptStubLineInformation.KAPT_METADATA_EXTENSION
             )
 
-            metadataFile.writeBytes(kaptMetadata)
+            metadataFile.writeBytesIfChanged(kaptMetadata)
         }
     }
 
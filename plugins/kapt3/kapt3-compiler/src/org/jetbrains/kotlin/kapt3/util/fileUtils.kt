@@ -0,0 +1,23 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.kapt3.util
+
+import java.io.File
+
+/**
+ * Writes [bytes] to the file only if its current content differs, so that files with the same content keep their timestamps.
+ * This is a plain content comparison: any difference in the printed stub rewrites it, whether or not it affects the ABI.
+ *
+ * Returns `true` if the file was (re)written.
+ */
+internal fun File.writeBytesIfChanged(bytes: ByteArray): Boolean {
+    if (isFile && length() == bytes.size.toLong() && readBytes().contentEquals(bytes)) {
+        return false
+    }
+
+    writeBytes(bytes)
+    return true
+}
@@ -103,6 +103,22 @@ class KotlinKapt3IntegrationTests : AbstractKotlinKapt3IntegrationTest(), Custom
         }
     }
 
+    @Test
+    fun testStubFilesAreWritten() {
+        test("NestedClasses", "test.MyAnnotation") { _, _, _ ->
+            val kaptExtension = AnalysisHandlerExtension.getInstances(myEnvironment.project).firstIsInstance<Kapt3ExtensionForTests>()
+
+            val writtenStubs = kaptExtension.options.stubsOutputDir.walkTopDown()
+                .filter { it.isFile && it.extension == "java" }
+                .map { it.readText() }
+                .sorted()
+                .joinToString(AbstractKotlinKapt3Test.FILE_SEPARATOR)
+
+            assertEquals(kaptExtension.savedStubs, writtenStubs)
+            assertTrue(File(kaptExtension.options.stubsOutputDir, "test/Simple.kapt_metadata").exists())
+        }
+    }
+
     private fun bindingsTest(name: String, test: (File, File, Map<String, KaptJavaFileObject>) -> Unit) {
         test(name, "test.MyAnnotation") { _, _, _ ->
             val kaptExtension = AnalysisHandlerExtension.getInstances(myEnvironment.project).firstIsInstance<Kapt3ExtensionForTests>()
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2010-2021 JetBrains s.r.o. and Kotlin Programming Language contributors.
+ * Use of this source code is governed by the Apache 2.0 license that can be found in the license/LICENSE.txt file.
+ */
+
+package org.jetbrains.kotlin.kapt3.test
+
+import org.jetbrains.kotlin.kapt3.util.writeBytesIfChanged
+import org.junit.Assert.*
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+class WriteBytesIfChangedTest {
+    @get:Rule
+    val tmpDir = TemporaryFolder()
+
+    private fun stubFile(content: String? = null): File =
+        File(tmpDir.root, "Stub.java").apply {
+            if (content != null) {
+                writeText(content)
+                setLastModified(OLD_TIMESTAMP)
+            }
+        }
+
+    @Test
+    fun testNewFile() {
+        val file = stubFile()
+        assertTrue(file.writeBytesIfChanged("class A {}".toByteArray()))
+        assertEquals("class A {}", file.readText())
+    }
+
+    @Test
+    fun testSameContent() {
+        val file = stubFile("class A {}")
+        assertFalse(file.writeBytesIfChanged("class A {}".toByteArray()))
+        assertEquals(OLD_TIMESTAMP, file.lastModified())
+    }
+
+    @Test
+    fun testChangedContentOfSameLength() {
+        val file = stubFile("class A {}")
+        assertTrue(file.writeBytesIfChanged("class B {}".toByteArray()))
+        assertEquals("class B {}", file.readText())
+        assertNotEquals(OLD_TIMESTAMP, file.lastModified())
+    }
+
+    @Test
+    fun testChangedLength() {
+        val file = stubFile("class A {}")
+        assertTrue(file.writeBytesIfChanged("class A { int x; }".toByteArray()))
+        assertEquals("class A { int x; }", file.readText())
+
+        assertTrue(file.writeBytesIfChanged(ByteArray(0)))
+        assertEquals(0L, file.length())
+    }
+
+    private companion object {
+        const val OLD_TIMESTAMP = 1_000_000_000L
+    }
+}